@@ -0,0 +1,71 @@
+package com.bnz.soccer.controllers;
+
+import com.bnz.soccer.resources.record.FlightRecordingStatus;
+import com.bnz.soccer.services.FlightRecordingService;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * {@code /actuator/flightrecording}: a bounded JFR recording of the running application.
+ * <ul>
+ *     <li>{@code POST} with an optional {@code {"duration": "PT1M"}} starts one, 409 while one runs</li>
+ *     <li>{@code GET} reports it, with the summary once it stopped</li>
+ *     <li>{@code DELETE} stops it early</li>
+ *     <li>{@code GET /actuator/flightrecording/{name}} downloads the {@code .jfr} file, for JDK Mission Control</li>
+ * </ul>
+ * Authenticated in {@code SecurityConfig}, unlike the other actuator endpoints.
+ */
+@Component
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private final FlightRecordingService flightRecordingService;
+
+    public FlightRecordingEndpoint(FlightRecordingService flightRecordingService) {
+        this.flightRecordingService = flightRecordingService;
+    }
+
+    @ReadOperation
+    public FlightRecordingStatus status() {
+        return flightRecordingService.status();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<FlightRecordingStatus> start(@Nullable Duration duration) {
+        try {
+            return new WebEndpointResponse<>(flightRecordingService.start(duration));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        } catch (IllegalStateException ex) {
+            return new WebEndpointResponse<>(flightRecordingService.status(), HttpStatus.CONFLICT.value());
+        }
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<FlightRecordingStatus> stop() {
+        try {
+            return new WebEndpointResponse<>(flightRecordingService.stop());
+        } catch (IllegalStateException ex) {
+            return new WebEndpointResponse<>(flightRecordingService.status(), HttpStatus.CONFLICT.value());
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector String name) {
+        return flightRecordingService.recording(name)
+                .map(file -> new WebEndpointResponse<Resource>(new FileSystemResource(file)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
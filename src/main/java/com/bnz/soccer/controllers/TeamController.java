@@ -1,9 +1,22 @@
 package com.bnz.soccer.controllers;
 
+import com.bnz.soccer.controllers.validation.TeamRequestValidator;
+import com.bnz.soccer.data.config.StatementBudget;
 import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.resources.record.PageResponse;
+import com.bnz.soccer.resources.record.TeamBatchRequest;
+import com.bnz.soccer.resources.record.TeamBatchResponse;
+import com.bnz.soccer.resources.record.TeamChangesResponse;
+import com.bnz.soccer.resources.record.TeamFieldSelection;
+import com.bnz.soccer.resources.record.TeamIngestTicket;
+import com.bnz.soccer.resources.record.TeamOperationResult;
 import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
 import com.bnz.soccer.resources.record.TeamRequest;
 import com.bnz.soccer.resources.record.TeamResponse;
+import com.bnz.soccer.services.IdempotencyStore;
+import com.bnz.soccer.services.TeamBatchService;
+import com.bnz.soccer.services.TeamChangeFeed;
+import com.bnz.soccer.services.TeamIngestService;
 import com.bnz.soccer.services.TeamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,15 +25,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/teams")
@@ -29,67 +50,252 @@ public class TeamController {
 
     private static final Logger log = LoggerFactory.getLogger(TeamController.class);
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final TeamService teamService;
+    private final TeamIngestService teamIngestService;
+    private final TeamChangeFeed teamChangeFeed;
+    private final IdempotencyStore idempotencyStore;
+    private final TeamRequestValidator teamRequestValidator;
+    private final TeamBatchService teamBatchService;
 
-    public TeamController(TeamService teamService) {
+    public TeamController(TeamService teamService,
+                          TeamIngestService teamIngestService,
+                          TeamChangeFeed teamChangeFeed,
+                          IdempotencyStore idempotencyStore,
+                          TeamRequestValidator teamRequestValidator,
+                          TeamBatchService teamBatchService) {
         this.teamService = teamService;
+        this.teamIngestService = teamIngestService;
+        this.teamChangeFeed = teamChangeFeed;
+        this.idempotencyStore = idempotencyStore;
+        this.teamRequestValidator = teamRequestValidator;
+        this.teamBatchService = teamBatchService;
+    }
+
+    // Every @Valid team request body goes through the same single-pass validator instead of Bean Validation
+    @InitBinder({"teamRequest", "teamPartialUpdateRequest"})
+    void initBinder(WebDataBinder binder) {
+        binder.setValidator(teamRequestValidator);
     }
 
     @Operation(
             summary = "Get all teams with their players",
-            description = "Returns a paginated list of all teams including their players",
+            description = "Returns a page of teams including their players, with the fields of a Spring Data "
+                    + "page (content, pageable, totalPages, totalElements, last, size, number, sort, first, "
+                    + "numberOfElements, empty). With fields and/or "
+                    + "include only the requested columns are queried, and players are loaded only for "
+                    + "include=players",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "List of teams",
-                            content = @Content(mediaType = "application/json"))
+                    @ApiResponse(responseCode = "200", description = "List of teams", content = {
+                            @Content(mediaType = "application/json"),
+                            @Content(mediaType = "application/cbor"),
+                            @Content(mediaType = "application/x-jackson-smile")
+                    }),
+                    @ApiResponse(responseCode = "400", description = "Unknown sort field, field or include")
             }
     )
     @GetMapping
-    public ResponseEntity<Page<Team>> getAllTeamsWithPlayers(
+    @StatementBudget(3)
+    public ResponseEntity<PageResponse<?>> getAllTeamsWithPlayers(
             @Parameter(description = "Page number (zero-based)") @RequestParam(defaultValue = "0") @Min(0) int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") @Min(1) int size,
-            @Parameter(description = "Field to sort by") @RequestParam(defaultValue = "name") String sortBy,
-            @Parameter(description = "Sort direction: asc or desc") @RequestParam(defaultValue = "asc") String direction
+            @Parameter(description = "Field to sort by: name, acronym, budget or playerCount. Ties are ordered by ID") @RequestParam(defaultValue = "name") String sortBy,
+            @Parameter(description = "Sort direction: asc or desc") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Comma-separated team fields to return: id, name, acronym, budget")
+            @RequestParam(required = false) List<String> fields,
+            @Parameter(description = "Associations to embed: players") @RequestParam(required = false) List<String> include
     ) {
+        if (fields != null || include != null) {
+            log.info("Fetching teams - fields={}, include={}, page={}, size={}", fields, include, page, size);
+            Page<Map<String, Object>> teams = teamService.findTeamFields(page, size, sortBy, direction,
+                    TeamFieldSelection.of(fields, include));
+            log.info("Returned {} teams", teams.getTotalElements());
+            return ResponseEntity.ok(PageResponse.of(teams));
+        }
+
         log.info("Fetching all teams with players - page={}, size={}, sortBy={}, direction={}", page, size, sortBy, direction);
-        Page<Team> teams = teamService.findWithAllPlayers(page, size, sortBy, direction);
+        Page<TeamResponse> teams = teamService.findWithAllPlayers(page, size, sortBy, direction);
         log.info("Returned {} teams", teams.getTotalElements());
+        return ResponseEntity.ok(PageResponse.of(teams));
+    }
+
+    @Operation(
+            summary = "Get a team by ID",
+            description = "Returns a single team including its players",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The team"),
+                    @ApiResponse(responseCode = "404", description = "Team not found")
+            }
+    )
+    @GetMapping("/{id}")
+    @StatementBudget(2)
+    public ResponseEntity<TeamResponse> getTeam(
+            @Parameter(description = "ID of the team") @PathVariable Long id
+    ) {
+        log.info("Fetching team ID={}", id);
+        return ResponseEntity.ok(teamService.findTeam(id));
+    }
+
+    @Operation(
+            summary = "Get several teams by ID",
+            description = "Returns up to 500 teams with their players in the requested order, using one query "
+                    + "for the teams and one for their players. Unknown IDs are skipped",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Teams found"),
+                    @ApiResponse(responseCode = "400", description = "No IDs or too many IDs")
+            }
+    )
+    @GetMapping(params = "ids")
+    @StatementBudget(2)
+    public ResponseEntity<List<TeamResponse>> getTeamsByIds(
+            @Parameter(description = "Comma-separated team IDs") @RequestParam List<Long> ids
+    ) {
+        log.info("Fetching teams IDs={}", ids);
+        List<TeamResponse> teams = teamService.findTeams(ids);
+        log.info("Returned {} teams", teams.size());
         return ResponseEntity.ok(teams);
     }
 
     @Operation(
             summary = "Filter teams",
-            description = "Returns teams filtered by name and/or minimum budget",
+            description = "Returns teams filtered by name and/or minimum budget. Accepts the same fields and "
+                    + "include parameters as the team list",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Filtered list of teams")
             }
     )
     @GetMapping("/filter")
-    public ResponseEntity<Page<Team>> filterTeams(
+    @StatementBudget(3)
+    public ResponseEntity<PageResponse<?>> filterTeams(
             @Parameter(description = "Partial or full team name (case-insensitive)") @RequestParam(required = false) String name,
-            @Parameter(description = "Minimum budget") @RequestParam(required = false) BigDecimal minBudget
+            @Parameter(description = "Minimum budget") @RequestParam(required = false) BigDecimal minBudget,
+            @Parameter(description = "Comma-separated team fields to return: id, name, acronym, budget")
+            @RequestParam(required = false) List<String> fields,
+            @Parameter(description = "Associations to embed: players") @RequestParam(required = false) List<String> include
     ) {
+        if (fields != null || include != null) {
+            log.info("Filtering teams - name={}, minBudget={}, fields={}, include={}", name, minBudget, fields, include);
+            Page<Map<String, Object>> teams = teamService.filterTeamFields(name, minBudget,
+                    TeamFieldSelection.of(fields, include));
+            log.info("Returned {} teams after filtering", teams.getTotalElements());
+            return ResponseEntity.ok(PageResponse.of(teams));
+        }
+
         log.info("Filtering teams - name={}, minBudget={}", name, minBudget);
-        Page<Team> teams = teamService.filterTeams(name, minBudget);
+        Page<TeamResponse> teams = teamService.filterTeams(name, minBudget);
         log.info("Returned {} teams after filtering", teams.getTotalElements());
-        return ResponseEntity.ok(teams);
+        return ResponseEntity.ok(PageResponse.of(teams));
+    }
+
+    @Operation(
+            summary = "List team changes since a revision",
+            description = "Returns created, updated and deleted teams in revision order. Pass the returned "
+                    + "nextSince as the next since to page through changes; hasMore tells whether to continue. "
+                    + "Revisions are assigned as writes commit, in commit order, so resuming from nextSince "
+                    + "never skips a change committed later",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Changes in revision order")
+            }
+    )
+    @GetMapping("/changes")
+    @StatementBudget(3)
+    public ResponseEntity<TeamChangesResponse> getTeamChanges(
+            @Parameter(description = "Last revision already known by the client (0 for everything)")
+            @RequestParam(defaultValue = "0") @Min(0) long since,
+            @Parameter(description = "Maximum number of changes to return")
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit
+    ) {
+        log.info("Fetching team changes - since={}, limit={}", since, limit);
+        TeamChangesResponse changes = teamService.findChangesSince(since, limit);
+        log.info("Returned {} team changes", changes.changes().size());
+        return ResponseEntity.ok(changes);
+    }
+
+    @Operation(
+            summary = "Stream team changes",
+            description = "Server-Sent Events stream of committed team creations, updates and deletions. "
+                    + "Resumes after the given sequence (or the Last-Event-ID header); a 'reset' event means "
+                    + "the requested sequence is no longer buffered, or was issued before a restart, and the "
+                    + "client must resynchronise",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream",
+                            content = @Content(mediaType = "text/event-stream"))
+            }
+    )
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTeamChanges(
+            @Parameter(description = "Last sequence already processed; omit to receive only new changes")
+            @RequestParam(required = false) Long since,
+            @Parameter(hidden = true) @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        long from = lastEventId != null ? lastEventId : since != null ? since : -1;
+        log.info("Subscribing to team changes from sequence {}", from);
+        return teamChangeFeed.subscribe(from);
     }
 
     @Operation(
             summary = "Create a new team",
-            description = "Persists a new team with provided name, acronym, and budget",
+            description = "Persists a new team with provided name, acronym, and budget. Retries sent with the "
+                    + "same Idempotency-Key get the original response back without creating the team again",
             responses = {
                     @ApiResponse(responseCode = "201", description = "Team created successfully",
                             content = @Content(mediaType = "application/json")),
-                    @ApiResponse(responseCode = "400", description = "Invalid request")
+                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                    @ApiResponse(responseCode = "409", description = "A team with this acronym already exists"),
+                    @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different request")
             }
     )
     @PostMapping
     @SecurityRequirement(name = "basicAuth")
-    public ResponseEntity<TeamResponse> createTeam(@Valid @RequestBody TeamRequest request) {
-        log.info("Creating new team: {}", request);
-        TeamResponse created = teamService.addTeam(request);
-        log.info("Team created with ID={}", created.id());
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    public ResponseEntity<TeamResponse> createTeam(
+            @Valid @RequestBody TeamRequest request,
+            @Parameter(description = "Client-chosen key identifying this creation across retries")
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Principal principal
+    ) {
+        return idempotent(principal, idempotencyKey, "POST /api/teams", request.normalized(), HttpStatus.CREATED, () -> {
+            log.info("Creating new team: {}", request);
+            TeamResponse created = teamService.addTeam(request);
+            log.info("Team created with ID={}", created.id());
+            return created;
+        });
+    }
+
+    @Operation(
+            summary = "Create a new team asynchronously",
+            description = "Validates and queues the team for batched persistence, returning a tracking ID",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Team accepted for creation",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                    @ApiResponse(responseCode = "503", description = "Ingest queue is full")
+            }
+    )
+    @PostMapping(params = "async=true")
+    @SecurityRequirement(name = "basicAuth")
+    public ResponseEntity<TeamIngestTicket> createTeamAsync(@Valid @RequestBody TeamRequest request) {
+        log.info("Queuing new team: {}", request);
+        TeamIngestTicket ticket = teamIngestService.submit(request);
+        log.info("Team queued with trackingId={}", ticket.trackingId());
+        return ResponseEntity.accepted().body(ticket);
+    }
+
+    @Operation(
+            summary = "Get the status of an asynchronous team creation",
+            description = "Reports whether a queued team has been persisted, and its ID once completed",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Current ingest status"),
+                    @ApiResponse(responseCode = "404", description = "Unknown or expired tracking ID")
+            }
+    )
+    @GetMapping("/ingest/{trackingId}")
+    @SecurityRequirement(name = "basicAuth")
+    public ResponseEntity<TeamIngestTicket> getIngestStatus(
+            @Parameter(description = "Tracking ID returned by the asynchronous creation") @PathVariable String trackingId
+    ) {
+        return ResponseEntity.ok(teamIngestService.getStatus(trackingId));
     }
 
     @Operation(
@@ -101,6 +307,7 @@ public class TeamController {
             }
     )
     @PatchMapping("/{id}")
+    @StatementBudget(5)
     @SecurityRequirement(name = "basicAuth")
     public ResponseEntity<Team> updateTeamPartially(
             @Parameter(description = "ID of the team to update") @PathVariable Long id,
@@ -117,37 +324,127 @@ public class TeamController {
             description = "Replaces all data of an existing team with new values",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Team fully updated"),
-                    @ApiResponse(responseCode = "404", description = "Team not found")
+                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                    @ApiResponse(responseCode = "404", description = "Team not found"),
+                    @ApiResponse(responseCode = "409", description = "Another team already uses this acronym"),
+                    @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different request")
             }
     )
     @PutMapping("/{id}")
     @SecurityRequirement(name = "basicAuth")
-    public ResponseEntity<Team> updateTeamFully(
+    public ResponseEntity<TeamResponse> updateTeamFully(
             @Parameter(description = "ID of the team to update") @PathVariable Long id,
-            @RequestBody TeamRequest team
+            @Valid @RequestBody TeamRequest team,
+            @Parameter(description = "Client-chosen key identifying this update across retries")
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Principal principal
     ) {
-        log.info("Fully updating team ID={} with data: {}", id, team);
-        Team updated = teamService.updateTeamFully(id, team);
-        log.info("Team ID={} fully updated", id);
-        return ResponseEntity.ok(updated);
+        return idempotent(principal, idempotencyKey, "PUT /api/teams/" + id, team.normalized(), HttpStatus.OK, () -> {
+            log.info("Fully updating team ID={} with data: {}", id, team);
+            TeamResponse updated = teamService.updateTeamFully(id, team);
+            log.info("Team ID={} fully updated", id);
+            return updated;
+        });
     }
 
     @Operation(
             summary = "Delete a team",
-            description = "Deletes a team by its ID",
+            description = "Soft-deletes a team by its ID; the tombstone stays visible to the changes feed until purged. "
+                    + "With hard=true the team and its players are removed immediately with set-based deletes, and "
+                    + "the changes feed reports the deletion from a deletion record until it is purged",
             responses = {
                     @ApiResponse(responseCode = "204", description = "Team deleted successfully"),
                     @ApiResponse(responseCode = "404", description = "Team not found")
             }
     )
     @DeleteMapping("/{id}")
+    @StatementBudget(6)
     @SecurityRequirement(name = "basicAuth")
     public ResponseEntity<Void> deleteTeam(
-            @Parameter(description = "ID of the team to delete") @PathVariable Long id
+            @Parameter(description = "ID of the team to delete") @PathVariable Long id,
+            @Parameter(description = "Remove the rows immediately instead of leaving a tombstone")
+            @RequestParam(defaultValue = "false") boolean hard
     ) {
-        log.info("Deleting team ID={}", id);
-        teamService.deleteTeam(id);
+        log.info("Deleting team ID={} (hard={})", id, hard);
+        if (hard) {
+            teamService.deleteTeams(List.of(id), true);
+        } else {
+            teamService.deleteTeam(id);
+        }
         log.info("Team ID={} deleted", id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(
+            summary = "Delete several teams",
+            description = "Deletes up to 500 teams in one transaction: a single UPDATE for soft deletes, "
+                    + "or one DELETE for players and one for teams with hard=true, after recording the deletions for "
+                    + "the changes feed. Fails as a whole if any ID is missing",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Teams deleted successfully"),
+                    @ApiResponse(responseCode = "400", description = "No IDs or too many IDs"),
+                    @ApiResponse(responseCode = "404", description = "At least one team not found, nothing deleted")
+            }
+    )
+    @DeleteMapping(params = "ids")
+    @StatementBudget(6)
+    @SecurityRequirement(name = "basicAuth")
+    public ResponseEntity<Void> deleteTeams(
+            @Parameter(description = "Comma-separated IDs of the teams to delete") @RequestParam List<Long> ids,
+            @Parameter(description = "Remove the rows immediately instead of leaving tombstones")
+            @RequestParam(defaultValue = "false") boolean hard
+    ) {
+        log.info("Deleting teams IDs={} (hard={})", ids, hard);
+        teamService.deleteTeams(ids, hard);
+        log.info("{} teams deleted", ids.size());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Apply several team operations",
+            description = "Applies up to 500 creations, patches, replacements and deletions in order, in one "
+                    + "transaction, with same-type statements sent as JDBC batches. Each operation is answered with "
+                    + "the status its single-team endpoint would give; a patch or replacement of a team deleted later in "
+                    + "the batch is skipped with 410. ATOMIC (default) applies all of them or none; "
+                    + "BEST_EFFORT skips the failing ones and applies the rest",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch applied, per-operation results in request order"),
+                    @ApiResponse(responseCode = "400", description = "No operations or too many, or an invalid operation "
+                            + "in an atomic batch, nothing applied"),
+                    @ApiResponse(responseCode = "404", description = "A team not found in an atomic batch, nothing applied"),
+                    @ApiResponse(responseCode = "409", description = "An acronym conflict in an atomic batch, nothing applied")
+            }
+    )
+    @PostMapping("/batch")
+    @SecurityRequirement(name = "basicAuth")
+    public ResponseEntity<TeamBatchResponse> applyBatch(@Valid @RequestBody TeamBatchRequest request) {
+        log.info("Applying {} team operations ({})", request.operations().size(), request.modeOrDefault());
+        TeamBatchResponse response = teamBatchService.apply(request.modeOrDefault(), request.operations());
+        log.info("Team batch: {} operations succeeded, {} skipped, {} failed",
+                response.succeeded(), response.skipped(), response.failed());
+        if (response.applied()) {
+            return ResponseEntity.ok(response);
+        }
+        // A rejected atomic batch answers with the status of the operation that stopped it
+        int status = response.results().stream()
+                .mapToInt(TeamOperationResult::status)
+                .filter(code -> code != HttpStatus.FAILED_DEPENDENCY.value())
+                .findFirst()
+                .orElse(HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(status).body(response);
+    }
+
+    // Without a key the action simply runs; with one, the caller's retries are answered from the store
+    private <T> ResponseEntity<T> idempotent(Principal principal, String key, String scope, Object request,
+                                             HttpStatus status, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return ResponseEntity.status(status).body(action.get());
+        }
+        IdempotencyStore.Key storeKey = new IdempotencyStore.Key(
+                principal != null ? principal.getName() : null, scope, key);
+        IdempotencyStore.IdempotentResult<T> result = idempotencyStore.execute(storeKey, request, action);
+        return ResponseEntity.status(status)
+                .header(IDEMPOTENT_REPLAYED, Boolean.toString(result.replayed()))
+                .body(result.value());
+    }
 }
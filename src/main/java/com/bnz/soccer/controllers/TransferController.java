@@ -0,0 +1,101 @@
+package com.bnz.soccer.controllers;
+
+import com.bnz.soccer.data.config.StatementBudget;
+import com.bnz.soccer.data.config.StatementBudgetInspector;
+import com.bnz.soccer.resources.record.TransferBatchRequest;
+import com.bnz.soccer.resources.record.TransferRequest;
+import com.bnz.soccer.resources.record.TransferResponse;
+import com.bnz.soccer.services.TransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/transfers")
+@Tag(name = "Transfers", description = "Player moves between teams")
+public class TransferController {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferController.class);
+
+    static final int TRANSFER_BUDGET = 7;
+    // Team updates go out in JDBC batches of this size (hibernate.jdbc.batch_size), each prepared once
+    private static final int UPDATE_BATCH = 50;
+
+    private final TransferService transferService;
+    private final StatementBudgetInspector statementBudget;
+
+    public TransferController(TransferService transferService, StatementBudgetInspector statementBudget) {
+        this.transferService = transferService;
+        this.statementBudget = statementBudget;
+    }
+
+    @Operation(
+            summary = "Transfer a player",
+            description = "Moves a player from one team to another and pays the fee from the buying team's "
+                    + "budget to the selling team's, atomically. Neither roster is rewritten",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Transfer applied, with both new budgets"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                    @ApiResponse(responseCode = "404", description = "Player or team not found"),
+                    @ApiResponse(responseCode = "409", description = "Player no longer at the selling team, or fee not affordable")
+            }
+    )
+    @PostMapping
+    @StatementBudget(TRANSFER_BUDGET)
+    @SecurityRequirement(name = "basicAuth")
+    public ResponseEntity<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
+        log.info("Transferring player ID={} from team ID={} to team ID={} for {}",
+                request.playerId(), request.fromTeamId(), request.toTeamId(), request.fee());
+        TransferResponse response = transferService.transfer(request);
+        log.info("Player ID={} transferred", request.playerId());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Apply several transfers",
+            description = "Applies up to 500 transfers in order, in one transaction: all of them or none. "
+                    + "Each team involved is locked and written once",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Transfers applied, in request order"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request, no transfers or too many"),
+                    @ApiResponse(responseCode = "404", description = "A player or team not found, nothing applied"),
+                    @ApiResponse(responseCode = "409", description = "A transfer was rejected, nothing applied")
+            }
+    )
+    @PostMapping("/batch")
+    @SecurityRequirement(name = "basicAuth")
+    public ResponseEntity<List<TransferResponse>> transferAll(@Valid @RequestBody TransferBatchRequest request) {
+        log.info("Applying {} transfers", request.transfers().size());
+        List<TransferResponse> responses;
+        try (StatementBudgetInspector.Scope ignored = statementBudget.open("TransferController.transferAll",
+                batchBudget(request.transfers()))) {
+            responses = transferService.transferAll(request.transfers());
+        }
+        log.info("{} transfers applied", responses.size());
+        return ResponseEntity.ok(responses);
+    }
+
+    // Sized by the batch, so no annotation: a single transfer's budget, plus one player UPDATE per further
+    // transfer and one more statement per further batch of team updates
+    static int batchBudget(List<TransferRequest> transfers) {
+        Set<Long> teams = new HashSet<>();
+        for (TransferRequest transfer : transfers) {
+            teams.add(transfer.fromTeamId());
+            teams.add(transfer.toTeamId());
+        }
+        return TRANSFER_BUDGET + transfers.size() - 1 + Math.max(teams.size() - 1, 0) / UPDATE_BATCH;
+    }
+}
@@ -18,14 +18,17 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/flightrecording", "/actuator/flightrecording/**").authenticated()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**", "/actuator/**").permitAll()
 
-                        .requestMatchers(HttpMethod.GET, "/api/teams", "/api/teams/filter").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/teams", "/api/teams/*").permitAll()
 
-                        .requestMatchers(HttpMethod.POST, "/api/teams").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/teams/ingest/**").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/teams", "/api/teams/batch").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/teams/**").authenticated()
                         .requestMatchers(HttpMethod.PATCH, "/api/teams/**").authenticated()
-                        .requestMatchers(HttpMethod.DELETE, "/api/teams/**").authenticated()
+                        .requestMatchers(HttpMethod.DELETE, "/api/teams", "/api/teams/**").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/transfers", "/api/transfers/batch").authenticated()
 
                         .anyRequest().denyAll()
                 )
@@ -0,0 +1,51 @@
+package com.bnz.soccer.controllers.config;
+
+import com.bnz.soccer.data.config.StatementBudget;
+import com.bnz.soccer.data.config.StatementBudgetInspector;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Opens a statement budget scope around every request to a {@link StatementBudget} endpoint.
+ */
+@Configuration
+public class StatementBudgetInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    private static final String SCOPE = StatementBudgetInterceptor.class.getName() + ".scope";
+
+    private final StatementBudgetInspector inspector;
+
+    public StatementBudgetInterceptor(StatementBudgetInspector inspector) {
+        this.inspector = inspector;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            StatementBudget budget = method.getMethodAnnotation(StatementBudget.class);
+            if (budget != null) {
+                // Named after the handler, not the URL, to keep metric tags bounded
+                String endpoint = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+                request.setAttribute(SCOPE, inspector.open(endpoint, budget.value()));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(SCOPE) instanceof StatementBudgetInspector.Scope scope) {
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.bnz.soccer.controllers.config;
+
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.record.PageResponse;
+import com.bnz.soccer.resources.record.PlayerResponse;
+import com.bnz.soccer.resources.record.TeamResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Hand-written serializers for the team read models and their pages. Field names and enum values are
+ * encoded once up front and every value is written straight to the generator, skipping
+ * the reflective bean serializer. The JSON matches what Jackson produces for the records.
+ */
+@JsonComponent
+public class TeamJsonSerializers {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString ACRONYM = new SerializedString("acronym");
+    private static final SerializedString BUDGET = new SerializedString("budget");
+    private static final SerializedString PLAYERS = new SerializedString("players");
+    private static final SerializedString POSITION = new SerializedString("position");
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString PAGEABLE = new SerializedString("pageable");
+    private static final SerializedString PAGE_NUMBER = new SerializedString("pageNumber");
+    private static final SerializedString PAGE_SIZE = new SerializedString("pageSize");
+    private static final SerializedString OFFSET = new SerializedString("offset");
+    private static final SerializedString PAGED = new SerializedString("paged");
+    private static final SerializedString UNPAGED = new SerializedString("unpaged");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString LAST = new SerializedString("last");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString NUMBER = new SerializedString("number");
+    private static final SerializedString SORT = new SerializedString("sort");
+    private static final SerializedString FIRST = new SerializedString("first");
+    private static final SerializedString NUMBER_OF_ELEMENTS = new SerializedString("numberOfElements");
+    private static final SerializedString EMPTY = new SerializedString("empty");
+    private static final SerializedString SORTED = new SerializedString("sorted");
+    private static final SerializedString UNSORTED = new SerializedString("unsorted");
+
+    private static final SerializedString[] POSITIONS = new SerializedString[Position.values().length];
+
+    static {
+        for (Position position : Position.values()) {
+            POSITIONS[position.ordinal()] = new SerializedString(position.name());
+        }
+    }
+
+    public static class TeamResponseSerializer extends JsonSerializer<TeamResponse> {
+
+        @Override
+        public void serialize(TeamResponse team, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeTeam(gen, team);
+        }
+    }
+
+    // Teams are written in place; the rows of a field selection go through their own serializer
+    public static class PageResponseSerializer extends StdSerializer<PageResponse<?>> {
+
+        public PageResponseSerializer() {
+            super(PageResponse.class, false);
+        }
+
+        @Override
+        public void serialize(PageResponse<?> page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(CONTENT);
+            List<?> content = page.content();
+            if (content == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(content, content.size());
+                for (int i = 0; i < content.size(); i++) {
+                    if (content.get(i) instanceof TeamResponse team) {
+                        writeTeam(gen, team);
+                    } else {
+                        provider.defaultSerializeValue(content.get(i), gen);
+                    }
+                }
+                gen.writeEndArray();
+            }
+            gen.writeFieldName(PAGEABLE);
+            writePageable(gen, page.pageable(), provider);
+            gen.writeFieldName(TOTAL_PAGES);
+            gen.writeNumber(page.totalPages());
+            gen.writeFieldName(TOTAL_ELEMENTS);
+            gen.writeNumber(page.totalElements());
+            gen.writeFieldName(LAST);
+            gen.writeBoolean(page.last());
+            gen.writeFieldName(SIZE);
+            gen.writeNumber(page.size());
+            gen.writeFieldName(NUMBER);
+            gen.writeNumber(page.number());
+            gen.writeFieldName(SORT);
+            writeSort(gen, page.sort());
+            gen.writeFieldName(FIRST);
+            gen.writeBoolean(page.first());
+            gen.writeFieldName(NUMBER_OF_ELEMENTS);
+            gen.writeNumber(page.numberOfElements());
+            gen.writeFieldName(EMPTY);
+            gen.writeBoolean(page.empty());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class PlayerResponseSerializer extends JsonSerializer<PlayerResponse> {
+
+        @Override
+        public void serialize(PlayerResponse player, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writePlayer(gen, player);
+        }
+    }
+
+    private static void writeTeam(JsonGenerator gen, TeamResponse team) throws IOException {
+        gen.writeStartObject();
+        writeNumber(gen, ID, team.id());
+        writeString(gen, NAME, team.name());
+        writeString(gen, ACRONYM, team.acronym());
+        gen.writeFieldName(BUDGET);
+        BigDecimal budget = team.budget();
+        if (budget == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(budget);
+        }
+        gen.writeFieldName(PLAYERS);
+        List<PlayerResponse> players = team.players();
+        if (players == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray(players, players.size());
+            // Indexed loop: no iterator allocated per team
+            for (int i = 0; i < players.size(); i++) {
+                writePlayer(gen, players.get(i));
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    // The list endpoints always page; anything else is left to the bean serializer
+    private static void writePageable(JsonGenerator gen, Pageable pageable, SerializerProvider provider) throws IOException {
+        if (pageable == null || pageable.isUnpaged()) {
+            provider.defaultSerializeValue(pageable, gen);
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(PAGE_NUMBER);
+        gen.writeNumber(pageable.getPageNumber());
+        gen.writeFieldName(PAGE_SIZE);
+        gen.writeNumber(pageable.getPageSize());
+        gen.writeFieldName(SORT);
+        writeSort(gen, pageable.getSort());
+        gen.writeFieldName(OFFSET);
+        gen.writeNumber(pageable.getOffset());
+        gen.writeFieldName(PAGED);
+        gen.writeBoolean(true);
+        gen.writeFieldName(UNPAGED);
+        gen.writeBoolean(false);
+        gen.writeEndObject();
+    }
+
+    private static void writeSort(JsonGenerator gen, Sort sort) throws IOException {
+        if (sort == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(EMPTY);
+        gen.writeBoolean(sort.isEmpty());
+        gen.writeFieldName(SORTED);
+        gen.writeBoolean(sort.isSorted());
+        gen.writeFieldName(UNSORTED);
+        gen.writeBoolean(sort.isUnsorted());
+        gen.writeEndObject();
+    }
+
+    private static void writePlayer(JsonGenerator gen, PlayerResponse player) throws IOException {
+        gen.writeStartObject();
+        writeNumber(gen, ID, player.id());
+        writeString(gen, NAME, player.name());
+        gen.writeFieldName(POSITION);
+        if (player.position() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(POSITIONS[player.position().ordinal()]);
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString field, Long value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString field, String value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.bnz.soccer.controllers.validation;
+
+import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
+import com.bnz.soccer.resources.record.TeamRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Single validation stage for team write requests, applied by {@code TeamController} before the
+ * service (and its transaction) is reached. Checks the same rules as the Bean Validation annotations
+ * on the request records, which stay as the API documentation, but in one pass over the roster and
+ * without reflective metadata lookups. Errors carry the same codes and messages as Hibernate Validator.
+ */
+@Component
+public class TeamRequestValidator implements Validator {
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return TeamRequest.class.equals(clazz) || TeamPartialUpdateRequest.class.equals(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        if (target instanceof TeamRequest team) {
+            validateTeam(team, errors);
+        } else if (target instanceof TeamPartialUpdateRequest update) {
+            validatePartialUpdate(update, errors);
+        }
+    }
+
+    private static void validateTeam(TeamRequest team, Errors errors) {
+        if (isBlank(team.name())) {
+            reject(errors, "name", team.name(), "NotBlank", "must not be blank");
+        }
+        if (isBlank(team.acronym())) {
+            reject(errors, "acronym", team.acronym(), "NotBlank", "must not be blank");
+        }
+        BigDecimal budget = team.budget();
+        if (budget == null) {
+            reject(errors, "budget", null, "NotNull", "must not be null");
+        } else if (budget.signum() <= 0) {
+            reject(errors, "budget", budget, "Positive", "must be greater than 0");
+        }
+
+        List<PlayerRequest> players = team.players();
+        if (players == null) {
+            return;
+        }
+        for (int i = 0; i < players.size(); i++) {
+            PlayerRequest player = players.get(i);
+            if (player == null) {
+                reject(errors, "players[" + i + "]", null, "NotNull", "must not be null");
+                continue;
+            }
+            if (isBlank(player.name())) {
+                reject(errors, "players[" + i + "].name", player.name(), "NotBlank", "must not be blank");
+            }
+            if (player.position() == null) {
+                reject(errors, "players[" + i + "].position", null, "NotNull", "must not be null");
+            }
+        }
+    }
+
+    private static void validatePartialUpdate(TeamPartialUpdateRequest update, Errors errors) {
+        if (update.name() != null && update.name().length() < 2) {
+            reject(errors, "name", update.name(), "Size", "Le nom doit contenir au moins 2 caractères");
+        }
+        if (update.budget() != null && update.budget().signum() < 0) {
+            reject(errors, "budget", update.budget(), "Min", "Le budget doit être positif");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // Records have no JavaBean getters, so the rejected value is passed in rather than read back
+    private static void reject(Errors errors, String field, Object value, String code, String message) {
+        if (errors instanceof BindingResult result) {
+            result.addError(new FieldError(result.getObjectName(), field, value, false,
+                    result.resolveMessageCodes(code, field), null, message));
+        } else {
+            errors.reject(code, field + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.bnz.soccer.data.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Emits Flight Recorder events for the JDBC work Hibernate does: one per statement or batch executed
+ * and one per connection taken from the pool, timed and with the calling stack, so a recording shows
+ * which code waits on the database and on the pool. Enabled by the {@code jfr/soccer.jfc} preset;
+ * outside a recording each hook is a flag check.
+ */
+@Component
+public class JdbcFlightRecorderEvents implements HibernatePropertiesCustomizer {
+
+    public static final String EXECUTION = "com.bnz.soccer.JdbcExecution";
+    public static final String CONNECTION_ACQUISITION = "com.bnz.soccer.JdbcConnectionAcquisition";
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, Listener.class.getName());
+    }
+
+    @Name(EXECUTION)
+    @Label("JDBC Execution")
+    @Description("A statement or batch executed by Hibernate")
+    @Category({"Soccer API", "JDBC"})
+    @StackTrace
+    static class JdbcExecution extends Event {
+        static final EventType TYPE = EventType.getEventType(JdbcExecution.class);
+
+        @Label("Batch")
+        boolean batch;
+    }
+
+    @Name(CONNECTION_ACQUISITION)
+    @Label("JDBC Connection Acquisition")
+    @Description("Time spent waiting for a pooled connection")
+    @Category({"Soccer API", "JDBC"})
+    @StackTrace
+    static class JdbcConnectionAcquisition extends Event {
+        static final EventType TYPE = EventType.getEventType(JdbcConnectionAcquisition.class);
+    }
+
+    /**
+     * Created by Hibernate for each session, which runs one statement at a time.
+     */
+    public static class Listener implements SessionEventListener {
+
+        private JdbcExecution execution;
+        private JdbcConnectionAcquisition acquisition;
+
+        @Override
+        public void jdbcConnectionAcquisitionStart() {
+            if (JdbcConnectionAcquisition.TYPE.isEnabled()) {
+                acquisition = new JdbcConnectionAcquisition();
+                acquisition.begin();
+            }
+        }
+
+        @Override
+        public void jdbcConnectionAcquisitionEnd() {
+            if (acquisition != null) {
+                acquisition.commit();
+                acquisition = null;
+            }
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            beginExecution(false);
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            commitExecution();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            beginExecution(true);
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            commitExecution();
+        }
+
+        private void beginExecution(boolean batch) {
+            if (JdbcExecution.TYPE.isEnabled()) {
+                execution = new JdbcExecution();
+                execution.batch = batch;
+                execution.begin();
+            }
+        }
+
+        private void commitExecution() {
+            if (execution != null) {
+                execution.commit();
+                execution = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.bnz.soccer.data.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to a replica when {@code soccer.datasource.replica.url} is set.
+ * <p>
+ * The {@link LazyConnectionDataSourceProxy} defers fetching a physical connection until the first
+ * statement, by which time a {@code @Transactional(readOnly = true)} method has flagged the
+ * connection read-only; such connections come from the replica pool, all others from the primary.
+ * Without the property Spring Boot's single auto-configured pool is used.
+ * <p>
+ * A replica may lag the primary, so read-only transactions run with {@link CacheMode#IGNORE}: nothing
+ * they load from the replica is put in the second-level or query caches and served to later
+ * transactions as current. {@link CacheMode#GET} would not do, as Hibernate still puts the results
+ * of a cacheable query it missed. Read-only traffic then scales out on replicas instead of the cache.
+ */
+@Configuration
+@ConditionalOnProperty("soccer.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("soccer.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getRequiredProperty("soccer.datasource.replica.url"))
+                .username(environment.getProperty("soccer.datasource.replica.username"))
+                .password(environment.getProperty("soccer.datasource.replica.password"))
+                .build();
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(replica);
+        return routing;
+    }
+
+    // Replaces Spring Boot's JpaTransactionManager, which it backs off from when one is defined
+    @Bean
+    public JpaTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager() {
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+                super.doBegin(transaction, definition);
+                if (definition.isReadOnly()) {
+                    session().setCacheMode(CacheMode.IGNORE);
+                }
+            }
+
+            // A pre-bound EntityManager outlives the transaction; a new one is closed anyway
+            @Override
+            protected void doCleanupAfterCompletion(Object transaction) {
+                Session session = session();
+                if (session.isOpen()) {
+                    session.setCacheMode(CacheMode.NORMAL);
+                }
+                super.doCleanupAfterCompletion(transaction);
+            }
+
+            private Session session() {
+                EntityManagerHolder holder = (EntityManagerHolder)
+                        TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+                return holder.getEntityManager().unwrap(Session.class);
+            }
+        };
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+}
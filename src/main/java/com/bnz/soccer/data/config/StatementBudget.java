@@ -0,0 +1,20 @@
+package com.bnz.soccer.data.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements Hibernate may prepare while serving one request to the annotated
+ * endpoint, enforced by {@link StatementBudgetInspector}. A budget is declared only where the count
+ * does not grow with the data, so exceeding it points at an N+1 select.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    int value();
+}
@@ -0,0 +1,134 @@
+package com.bnz.soccer.data.config;
+
+import com.bnz.soccer.exceptions.StatementBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares inside a budget scope, one scope per request to an
+ * endpoint annotated with {@link StatementBudget}. Selected with {@code soccer.sql.budget.mode}:
+ * <ul>
+ *     <li>{@code log} (default): an exceeded budget is logged with the statement shapes seen and counted
+ *     in the {@code soccer.sql.budget.violations} metric, tagged by endpoint;</li>
+ *     <li>{@code fail} (tests): the statement over budget throws {@link StatementBudgetExceededException};</li>
+ *     <li>{@code off}: nothing is counted.</li>
+ * </ul>
+ * Statements run through {@code JdbcTemplate} bypass Hibernate and are not counted.
+ */
+@Component
+public class StatementBudgetInspector implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementBudgetInspector.class);
+
+    // Possessive, so a list of thousands of bind parameters is matched without one stack frame per element
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*+,\\s*+\\?)++");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public enum Mode { LOG, FAIL, OFF }
+
+    private final Mode mode;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    public StatementBudgetInspector(@Value("${soccer.sql.budget.mode:log}") Mode mode,
+                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        this.mode = mode;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    /**
+     * Starts counting the statements of the current thread against {@code budget}, until the scope is closed.
+     * Scopes do not nest: the innermost one counts.
+     */
+    public Scope open(String endpoint, int budget) {
+        Scope scope = new Scope(endpoint, budget, current.get());
+        if (mode != Mode.OFF) {
+            current.set(scope);
+        }
+        return scope;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = current.get();
+        if (scope != null) {
+            scope.shapes.merge(shape(sql), 1, Integer::sum);
+            if (++scope.count > scope.budget && mode == Mode.FAIL) {
+                throw new StatementBudgetExceededException(scope.endpoint, scope.budget, scope.shapes);
+            }
+        }
+        return sql;
+    }
+
+    // Parameter lists and literals collapsed, so one N+1 loop shows up as a single shape with a count
+    static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("?...");
+        return NUMBER.matcher(shape).replaceAll("?");
+    }
+
+    private void report(Scope scope) {
+        if (scope.count <= scope.budget) {
+            return;
+        }
+        log.warn("Endpoint {} executed {} SQL statements, budget {}: {}",
+                scope.endpoint, scope.count, scope.budget, scope.shapes);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Counter.builder("soccer.sql.budget.violations")
+                    .description("Requests that executed more SQL statements than their endpoint budget")
+                    .tag("endpoint", scope.endpoint)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    public final class Scope implements AutoCloseable {
+        private final String endpoint;
+        private final int budget;
+        private final Scope parent;
+        private final Map<String, Integer> shapes = new LinkedHashMap<>();
+        private int count;
+
+        private Scope(String endpoint, int budget, Scope parent) {
+            this.endpoint = endpoint;
+            this.budget = budget;
+            this.parent = parent;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            if (current.get() != this) {
+                return;
+            }
+            if (parent == null) {
+                current.remove();
+            } else {
+                current.set(parent);
+            }
+            report(this);
+        }
+    }
+}
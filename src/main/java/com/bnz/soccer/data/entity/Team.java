@@ -1,15 +1,23 @@
 package com.bnz.soccer.data.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
+@SQLRestriction("deleted = false")
 public class Team {
 
     @Id
@@ -25,6 +33,7 @@ public class Team {
     private String acronym;
 
     @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team.players")
     @JsonManagedReference
     private List<Player> players = new ArrayList<>();
 
@@ -32,6 +41,26 @@ public class Team {
     @Positive
     private BigDecimal budget;
 
+    // Bumped from team_revision_seq on every write, at commit (TeamRevisionRepository), drives
+    // GET /api/teams/changes; new rows take the column default until then
+    @Column(name = "revision", nullable = false, insertable = false)
+    private Long revision;
+
+    // Squad size, denormalized so listings can sort on it through an index; set by the services
+    // where a roster changes (countPlayers), so other writes never load the lazy roster
+    @Column(name = "player_count", nullable = false)
+    @JsonIgnore
+    private int playerCount;
+
+    // Tombstone: soft-deleted rows are hidden from every query and purged later in bulk
+    @Column(name = "deleted", nullable = false)
+    @JsonIgnore
+    private boolean deleted;
+
+    @Column(name = "deleted_at")
+    @JsonIgnore
+    private Instant deletedAt;
+
     // --- Getters / Setters ---
     public Long getId() {
         return id;
@@ -57,6 +86,15 @@ public class Team {
         this.acronym = acronym;
     }
 
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    // Call once the roster is final; it must be loaded
+    public void countPlayers() {
+        playerCount = players.size();
+    }
+
     public List<Player> getPlayers() {
         return players;
     }
@@ -72,4 +110,28 @@ public class Team {
     public void setBudget(BigDecimal budget) {
         this.budget = budget;
     }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
 }
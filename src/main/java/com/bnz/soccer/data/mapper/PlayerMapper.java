@@ -2,6 +2,7 @@ package com.bnz.soccer.data.mapper;
 
 import com.bnz.soccer.data.entity.Player;
 import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.PlayerResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -12,4 +13,6 @@ public interface PlayerMapper {
     @Mapping(target = "team", ignore = true)
     Player toEntity(PlayerRequest record);
 
+    PlayerResponse toResponse(Player entity);
+
 }
@@ -10,6 +10,9 @@ import org.mapstruct.Mapping;
 public interface TeamMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "revision", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
     @Mapping(target = "players", source = "players")
     Team toEntity(TeamRequest dto);
 
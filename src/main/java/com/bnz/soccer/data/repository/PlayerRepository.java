@@ -1,7 +1,25 @@
 package com.bnz.soccer.data.repository;
 
 import com.bnz.soccer.data.entity.Player;
+import com.bnz.soccer.data.entity.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface PlayerRepository extends JpaRepository<Player, Long> {
+
+    // Fetches the (eager) team in the same statement instead of one select per team. An inner join on
+    // purpose: the derived query's outer join made H2 read every player before matching the team IDs
+    @Query("SELECT p FROM Player p JOIN FETCH p.team t WHERE t.id IN :teamIds")
+    List<Player> findByTeamIdIn(@Param("teamIds") Collection<Long> teamIds);
+
+    // Reassigns the player only if it still belongs to the selling team. JPQL, so Hibernate
+    // invalidates the player and roster cache regions; neither roster has to be loaded to move it
+    @Modifying
+    @Query("UPDATE Player p SET p.team = :to WHERE p.id = :playerId AND p.team = :from")
+    int moveToTeam(@Param("playerId") Long playerId, @Param("from") Team from, @Param("to") Team to);
 }
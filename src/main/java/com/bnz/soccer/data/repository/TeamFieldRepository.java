@@ -0,0 +1,17 @@
+package com.bnz.soccer.data.repository;
+
+import com.bnz.soccer.data.entity.Team;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse reads: only the requested columns are put in the SELECT clause.
+ */
+public interface TeamFieldRepository {
+
+    Page<Map<String, Object>> findFields(Specification<Team> spec, List<String> fields, Pageable pageable);
+}
@@ -0,0 +1,82 @@
+package com.bnz.soccer.data.repository;
+
+import com.bnz.soccer.data.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+/**
+ * Criteria tuple queries over {@link Team}; no entity is loaded and no association is joined.
+ */
+public class TeamFieldRepositoryImpl implements TeamFieldRepository {
+
+    private final EntityManager entityManager;
+
+    public TeamFieldRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<Map<String, Object>> findFields(Specification<Team> spec, List<String> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Team> root = query.from(Team.class);
+        query.multiselect(fields.stream().<Selection<?>>map(field -> root.get(field).alias(field)).toList());
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(toOrders(pageable.getSort(), root, cb));
+
+        List<Map<String, Object>> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .setHint(HINT_CACHEABLE, true)
+                .setHint(HINT_CACHE_REGION, "team.queries")
+                .getResultStream()
+                .map(tuple -> toRow(tuple, fields))
+                .toList();
+
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Team> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Team> root = query.from(Team.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query)
+                .setHint(HINT_CACHEABLE, true)
+                .setHint(HINT_CACHE_REGION, "team.queries")
+                .getSingleResult();
+    }
+
+    private static Map<String, Object> toRow(Tuple tuple, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, tuple.get(field));
+        }
+        return row;
+    }
+}
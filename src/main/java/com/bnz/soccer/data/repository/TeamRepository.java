@@ -1,15 +1,110 @@
 package com.bnz.soccer.data.repository;
 
 import com.bnz.soccer.data.entity.Team;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
 
-public interface TeamRepository extends JpaRepository<Team, Long>, JpaSpecificationExecutor<Team> {
-    @EntityGraph(attributePaths = "players")
+
+public interface TeamRepository extends JpaRepository<Team, Long>, JpaSpecificationExecutor<Team>, TeamFieldRepository,
+        TeamRevisionRepository {
+    // Pages select teams only: a collection fetch here would make Hibernate page in memory (HHH90003004)
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "team.queries")
+    })
     Page<Team> findAll(Pageable pageable);
+
+    // Redeclared only to make filterTeams results cacheable
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "team.queries")
+    })
+    Page<Team> findAll(Specification<Team> spec, Pageable pageable);
+
+    // Loads the rosters of a page already read, into the same persistence context
+    @EntityGraph(attributePaths = "players")
+    @Query("SELECT t FROM Team t WHERE t.id IN :ids")
+    List<Team> findWithPlayersByIdIn(@Param("ids") Collection<Long> ids);
+
+    boolean existsByAcronym(String acronym);
+
+    List<Team> findAllByAcronymIn(Collection<String> acronyms);
+
+    // Native on purpose: the changes feed must also see tombstoned rows hidden by @SQLRestriction, and the
+    // records of hard-deleted teams. Each side reads at most :limit rows through its revision index
+    @Query(value = "SELECT id, revision, deleted FROM ("
+            + "(SELECT id, revision, deleted FROM team WHERE revision > :since ORDER BY revision LIMIT :limit) "
+            + "UNION ALL (SELECT team_id, revision, TRUE FROM team_deletion WHERE revision > :since "
+            + "ORDER BY revision LIMIT :limit)) ORDER BY revision LIMIT :limit",
+            nativeQuery = true)
+    List<TeamRevisionView> findRevisionsSince(@Param("since") long since, @Param("limit") int limit);
+
+    // Soft delete in a single statement; callers revise the rows on commit.
+    // Native statements name the tables they touch so Hibernate evicts only those cache regions.
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "team"))
+    @Query(value = "UPDATE team SET deleted = TRUE, deleted_at = :now WHERE id IN (:ids) AND deleted = FALSE",
+            nativeQuery = true)
+    int softDeleteAllById(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    // Left for the changes feed by a hard delete, before the rows go; callers revise them on commit
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "team_deletion"))
+    @Query(value = "INSERT INTO team_deletion (team_id, deleted_at) SELECT id, :now FROM team WHERE id IN (:ids)",
+            nativeQuery = true)
+    int recordDeletions(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    // Hard delete, players first; JPQL so Hibernate invalidates the affected cache regions
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Player p WHERE p.team.id IN :ids")
+    int deletePlayersByTeamIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Team t WHERE t.id IN :ids AND t.deleted = false")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Writes that move or remove players lock their teams first, always in ID order, so two of
+    // them never hold each other's rows and player rows are only touched under their team's lock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Team t WHERE t.id IN :ids ORDER BY t.id")
+    List<Team> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Team t WHERE t.id IN :ids ORDER BY t.id")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "player"))
+    @Query(value = "DELETE FROM player WHERE team_id IN "
+            + "(SELECT id FROM team WHERE deleted = TRUE AND deleted_at < :cutoff)", nativeQuery = true)
+    int purgePlayersOfDeletedTeams(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "team"))
+    @Query(value = "DELETE FROM team WHERE deleted = TRUE AND deleted_at < :cutoff", nativeQuery = true)
+    int purgeDeletedTeams(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "team_deletion"))
+    @Query(value = "DELETE FROM team_deletion WHERE deleted_at < :cutoff", nativeQuery = true)
+    int purgeDeletionRecords(@Param("cutoff") Instant cutoff);
 }
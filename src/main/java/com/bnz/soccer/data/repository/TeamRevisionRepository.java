@@ -0,0 +1,22 @@
+package com.bnz.soccer.data.repository;
+
+import com.bnz.soccer.data.entity.Team;
+
+import java.util.Collection;
+
+/**
+ * Revisions in commit order: the teams marked here get their new revision just before the surrounding
+ * transaction commits, drawn under a lock held until the commit, so a revision is never visible after a
+ * higher one and a client resuming from the last revision it saw misses nothing.
+ */
+public interface TeamRevisionRepository {
+
+    // A team written through the persistence context, new ones included
+    void reviseOnCommit(Team team);
+
+    // Rows written by bulk statements in this transaction, tombstones included
+    void reviseOnCommit(Collection<Long> teamIds);
+
+    // Deletion records of teams hard-deleted in this transaction
+    void reviseDeletionsOnCommit(Collection<Long> teamIds);
+}
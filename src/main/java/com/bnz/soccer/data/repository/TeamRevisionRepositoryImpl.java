@@ -0,0 +1,106 @@
+package com.bnz.soccer.data.repository;
+
+import com.bnz.soccer.data.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+/**
+ * Collects the teams written in a transaction and revises them in its before-commit phase: pending
+ * changes are flushed, which locks every written row, then the {@code team_revision_clock} row is locked
+ * and the revisions drawn. The clock is the last lock a writer takes and it is held only for the commit,
+ * so writers queue on it in commit order and never wait on each other while holding it.
+ */
+public class TeamRevisionRepositoryImpl implements TeamRevisionRepository {
+
+    private final EntityManager entityManager;
+
+    public TeamRevisionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void reviseOnCommit(Team team) {
+        pending().teams.put(team.getId(), team);
+    }
+
+    @Override
+    public void reviseOnCommit(Collection<Long> teamIds) {
+        pending().rows.addAll(teamIds);
+    }
+
+    @Override
+    public void reviseDeletionsOnCommit(Collection<Long> teamIds) {
+        pending().deletions.addAll(teamIds);
+    }
+
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                throw new IllegalStateException("Team revisions are assigned at commit: a transaction is required");
+            }
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private final class Pending implements TransactionSynchronization {
+
+        private final Map<Long, Team> teams = new TreeMap<>();
+        private final Set<Long> rows = new TreeSet<>();
+        private final Set<Long> deletions = new TreeSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            rows.removeAll(teams.keySet());
+            entityManager.flush();
+            if (teams.isEmpty()) {
+                entityManager.createNativeQuery("SELECT id FROM team_revision_clock FOR UPDATE")
+                        .setHint(HINT_NATIVE_SPACES, "team_revision_clock")
+                        .getResultList();
+            } else {
+                // Written again by the commit flush, on rows this transaction already holds
+                @SuppressWarnings("unchecked")
+                List<Number> revisions = entityManager.createNativeQuery("SELECT NEXT VALUE FOR team_revision_seq "
+                                + "FROM team_revision_clock CROSS JOIN SYSTEM_RANGE(1, :count) FOR UPDATE")
+                        .setParameter("count", teams.size())
+                        .setHint(HINT_NATIVE_SPACES, "team_revision_clock")
+                        .getResultList();
+                Iterator<Long> ordered = revisions.stream().map(Number::longValue).sorted().iterator();
+                teams.values().forEach(team -> team.setRevision(ordered.next()));
+            }
+            if (!rows.isEmpty()) {
+                entityManager.createNativeQuery("UPDATE team SET revision = NEXT VALUE FOR team_revision_seq "
+                                + "WHERE id IN (:ids)")
+                        .setParameter("ids", rows)
+                        .setHint(HINT_NATIVE_SPACES, "team")
+                        .executeUpdate();
+            }
+            if (!deletions.isEmpty()) {
+                entityManager.createNativeQuery("UPDATE team_deletion SET revision = NEXT VALUE FOR team_revision_seq "
+                                + "WHERE team_id IN (:ids)")
+                        .setParameter("ids", deletions)
+                        .setHint(HINT_NATIVE_SPACES, "team_deletion")
+                        .executeUpdate();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TeamRevisionRepositoryImpl.this);
+        }
+    }
+}
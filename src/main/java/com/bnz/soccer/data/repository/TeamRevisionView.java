@@ -0,0 +1,13 @@
+package com.bnz.soccer.data.repository;
+
+/**
+ * Revision of a team row, including soft-deleted ones.
+ */
+public interface TeamRevisionView {
+
+    Long getId();
+
+    Long getRevision();
+
+    Boolean getDeleted();
+}
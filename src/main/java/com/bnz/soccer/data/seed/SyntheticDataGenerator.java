@@ -0,0 +1,134 @@
+package com.bnz.soccer.data.seed;
+
+import com.bnz.soccer.resources.enums.Position;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Bulk-loads synthetic teams and players at startup, straight into the schema with JDBC batches,
+ * so paging and filtering can be exercised on realistic volumes (see {@code application-loadtest.properties}).
+ * The same seed always produces the same rows.
+ */
+@Component
+@ConditionalOnProperty("soccer.seed.teams")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    /** Acronym prefix of generated teams; it keeps them apart from hand-made ones. */
+    public static final String ACRONYM_PREFIX = "SYN";
+
+    /** Name stems of generated teams, also used as filter terms by the load test. */
+    public static final List<String> CITIES = List.of(
+            "Paris", "Marseille", "Lyon", "Lille", "Nantes", "Rennes", "Nice", "Lens", "Brest", "Reims",
+            "Metz", "Toulouse", "Bordeaux", "Monaco", "Angers", "Auxerre", "Lorient", "Strasbourg");
+    private static final List<String> SUFFIXES = List.of(
+            "FC", "Athletic", "United", "Olympique", "Racing", "Stade", "Sporting", "AS");
+    private static final List<String> FIRST_NAMES = List.of(
+            "Hugo", "Lucas", "Theo", "Jules", "Adam", "Nathan", "Karim", "Moussa", "Yann", "Enzo");
+    private static final List<String> LAST_NAMES = List.of(
+            "Martin", "Bernard", "Dubois", "Durand", "Lefebvre", "Moreau", "Diallo", "Traore", "Petit", "Garcia");
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int teams;
+    private final int playersPerTeam;
+    private final long seed;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  EntityManagerFactory entityManagerFactory,
+                                  @Value("${soccer.seed.teams}") int teams,
+                                  @Value("${soccer.seed.players-per-team:25}") int playersPerTeam,
+                                  @Value("${soccer.seed.random-seed:42}") long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.teams = teams;
+        this.playersPerTeam = playersPerTeam;
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        int players = generate(teams, playersPerTeam, seed);
+        log.info("Generated {} teams and {} players in {} ms", teams, players, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Inserts {@code teams} teams of {@code playersPerTeam} players each and returns the number of players.
+     * Generated teams that already exist are skipped, so running twice with the same seed is a no-op.
+     */
+    public int generate(int teams, int playersPerTeam, long seed) {
+        Random random = new Random(seed);
+        Position[] positions = Position.values();
+        int existing = countGenerated();
+        int players = 0;
+
+        List<Object[]> teamRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> playerRows = new ArrayList<>(BATCH_SIZE * playersPerTeam);
+        for (int t = 0; t < teams; t++) {
+            // Draw for every team, including skipped ones, so a resumed run yields the same rows
+            String name = CITIES.get(random.nextInt(CITIES.size())) + " " + SUFFIXES.get(random.nextInt(SUFFIXES.size())) + " " + t;
+            BigDecimal budget = BigDecimal.valueOf(1_000_000L + random.nextInt(900) * 1_000_000L);
+            List<Object[]> roster = new ArrayList<>(playersPerTeam);
+            for (int p = 0; p < playersPerTeam; p++) {
+                roster.add(new Object[]{
+                        FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size())) + " " + LAST_NAMES.get(random.nextInt(LAST_NAMES.size())),
+                        positions[random.nextInt(positions.length)].name(),
+                        acronym(t)});
+            }
+            if (t < existing) {
+                continue;
+            }
+
+            teamRows.add(new Object[]{name, acronym(t), budget, playersPerTeam});
+            playerRows.addAll(roster);
+            if (teamRows.size() == BATCH_SIZE) {
+                players += flush(teamRows, playerRows);
+            }
+        }
+        players += flush(teamRows, playerRows);
+
+        // Rows written behind Hibernate's back: drop whatever the second-level and query caches hold
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        return players;
+    }
+
+    private int flush(List<Object[]> teamRows, List<Object[]> playerRows) {
+        if (teamRows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO team (name, acronym, budget, player_count) VALUES (?, ?, ?, ?)", teamRows);
+        jdbcTemplate.batchUpdate("INSERT INTO player (name, position, team_id) "
+                + "SELECT ?, ?, id FROM team WHERE live_acronym = ?", playerRows);
+        int players = playerRows.size();
+        teamRows.clear();
+        playerRows.clear();
+        return players;
+    }
+
+    private int countGenerated() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM team WHERE acronym LIKE '" + ACRONYM_PREFIX + "%'", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    private static String acronym(int index) {
+        return ACRONYM_PREFIX + index;
+    }
+}
@@ -0,0 +1,221 @@
+package com.bnz.soccer.data.snapshot;
+
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.enums.TeamSortField;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable copy of every live team and its roster. Teams are kept in ID order behind a
+ * {@code long[]} key array, names are interned and positions stored as bytes. Changes never
+ * modify an instance: {@link #with} returns a new snapshot sharing the untouched entries.
+ * <p>
+ * Sort orders are computed on first use and memoized; the race between two readers computing
+ * the same order is benign, both produce the same array.
+ */
+public final class LeagueSnapshot {
+
+    private static final Position[] POSITIONS = Position.values();
+    private static final TeamSortField[] SORT_FIELDS = TeamSortField.values();
+
+    private final long[] ids;
+    private final Entry[] teams;
+    private final AtomicReferenceArray<int[]> orders = new AtomicReferenceArray<>(SORT_FIELDS.length);
+    private volatile long footprint = -1;
+
+    private LeagueSnapshot(Entry[] teams) {
+        this.teams = teams;
+        this.ids = new long[teams.length];
+        for (int i = 0; i < teams.length; i++) {
+            ids[i] = teams[i].id;
+        }
+    }
+
+    public static LeagueSnapshot of(Collection<Entry> teams) {
+        Entry[] sorted = teams.toArray(Entry[]::new);
+        Arrays.sort(sorted, Comparator.comparingLong(Entry::id));
+        return new LeagueSnapshot(sorted);
+    }
+
+    public int size() {
+        return teams.length;
+    }
+
+    public Entry find(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? teams[index] : null;
+    }
+
+    /**
+     * Copy-on-write: replaces or adds {@code upserts} and drops {@code removed} in one merge pass.
+     */
+    public LeagueSnapshot with(Collection<Entry> upserts, Collection<Long> removed) {
+        Entry[] changes = upserts.toArray(Entry[]::new);
+        Arrays.sort(changes, Comparator.comparingLong(Entry::id));
+        long[] gone = removed.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        Entry[] merged = new Entry[teams.length + changes.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < teams.length || j < changes.length) {
+            if (j == changes.length || (i < teams.length && teams[i].id < changes[j].id)) {
+                if (Arrays.binarySearch(gone, teams[i].id) < 0) {
+                    merged[n++] = teams[i];
+                }
+                i++;
+            } else {
+                if (i < teams.length && teams[i].id == changes[j].id) {
+                    i++;
+                }
+                merged[n++] = changes[j++];
+            }
+        }
+        return new LeagueSnapshot(Arrays.copyOf(merged, n));
+    }
+
+    /**
+     * One page in the same order as the SQL listing: the field, then the ID in the same direction.
+     */
+    public List<Entry> page(TeamSortField field, boolean descending, long offset, int limit) {
+        int[] order = order(field);
+        List<Entry> page = new ArrayList<>(limit);
+        for (long k = offset; k < order.length && page.size() < limit; k++) {
+            int position = descending ? order.length - 1 - (int) k : (int) k;
+            page.add(teams[order[position]]);
+        }
+        return page;
+    }
+
+    /**
+     * Teams whose name contains {@code name} (case-insensitive) and whose budget is at least
+     * {@code minBudget}, in ID order. Either filter may be {@code null}. All matches are counted,
+     * only the first {@code limit} are returned.
+     */
+    public Matches filter(String name, BigDecimal minBudget, int limit) {
+        boolean byName = name != null && !name.isBlank();
+        List<Entry> found = new ArrayList<>(limit);
+        int total = 0;
+        for (Entry team : teams) {
+            if (byName && !containsIgnoreCase(team.name, name)) {
+                continue;
+            }
+            if (minBudget != null && (team.budget == null || team.budget.compareTo(minBudget) < 0)) {
+                continue;
+            }
+            if (found.size() < limit) {
+                found.add(team);
+            }
+            total++;
+        }
+        return new Matches(Collections.unmodifiableList(found), total);
+    }
+
+    /**
+     * Estimated retained size in bytes, assuming compressed references and Latin-1 compact strings.
+     * Interned strings shared by several players are counted once.
+     */
+    public long footprintBytes() {
+        long bytes = footprint;
+        if (bytes < 0) {
+            bytes = estimateFootprint();
+            footprint = bytes;
+        }
+        return bytes;
+    }
+
+    private long estimateFootprint() {
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        long bytes = align(16 + 8L * ids.length) + align(16 + 4L * teams.length);
+        for (Entry team : teams) {
+            bytes += align(12 + 8 + 8 + 4 * 6);
+            bytes += stringBytes(team.name, seen) + stringBytes(team.acronym, seen);
+            if (team.budget != null && seen.add(team.budget)) {
+                bytes += 40;
+            }
+            bytes += align(16 + 8L * team.playerIds.length)
+                    + align(16 + 4L * team.playerNames.length)
+                    + align(16 + team.positions.length);
+            for (String playerName : team.playerNames) {
+                bytes += stringBytes(playerName, seen);
+            }
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value, Set<Object> seen) {
+        return value == null || !seen.add(value) ? 0 : align(24) + align(16 + value.length());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private int[] order(TeamSortField field) {
+        int[] order = orders.get(field.ordinal());
+        if (order == null) {
+            Comparator<Entry> comparator = comparator(field).thenComparingLong(Entry::id);
+            order = IntStream.range(0, teams.length)
+                    .boxed()
+                    .sorted((a, b) -> comparator.compare(teams[a], teams[b]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            orders.set(field.ordinal(), order);
+        }
+        return order;
+    }
+
+    // Nulls first, like H2 sorts them ascending; descending pages read the order backwards
+    private static Comparator<Entry> comparator(TeamSortField field) {
+        return switch (field) {
+            case NAME -> Comparator.comparing(Entry::name, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case ACRONYM -> Comparator.comparing(Entry::acronym, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case BUDGET -> Comparator.comparing(Entry::budget, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case PLAYER_COUNT -> Comparator.comparingInt(Entry::playerCount);
+        };
+    }
+
+    private static boolean containsIgnoreCase(String value, String part) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i + part.length() <= value.length(); i++) {
+            if (value.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One team of the snapshot. The roster is stored column-wise in three parallel arrays.
+     */
+    public record Entry(long id, String name, String acronym, BigDecimal budget, long revision,
+                        long[] playerIds, String[] playerNames, byte[] positions) {
+
+        public int playerCount() {
+            return playerIds.length;
+        }
+
+        public Position position(int player) {
+            return POSITIONS[positions[player]];
+        }
+
+        public static byte encode(Position position) {
+            return (byte) position.ordinal();
+        }
+    }
+
+    public record Matches(List<Entry> teams, int total) {
+    }
+}
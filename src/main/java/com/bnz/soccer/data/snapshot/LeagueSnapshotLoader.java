@@ -0,0 +1,90 @@
+package com.bnz.soccer.data.snapshot;
+
+import com.bnz.soccer.resources.enums.Position;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads live teams and their rosters straight from JDBC into {@link LeagueSnapshot} entries:
+ * one query for the teams, one for their players, no entities and no persistence context.
+ * Runs outside any read-only transaction, so it always reads the primary.
+ */
+@Component
+public class LeagueSnapshotLoader {
+
+    private static final String TEAMS = "SELECT id, name, acronym, budget, revision FROM team WHERE deleted = FALSE";
+    private static final String PLAYERS = "SELECT p.id, p.name, p.position, p.team_id FROM player p "
+            + "JOIN team t ON t.id = p.team_id WHERE t.deleted = FALSE";
+    private static final String ORDER_PLAYERS = " ORDER BY p.team_id, p.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public LeagueSnapshotLoader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public List<LeagueSnapshot.Entry> loadAll() {
+        List<TeamRow> teams = jdbcTemplate.query(TEAMS, (rs, i) -> new TeamRow(rs.getLong(1), rs.getString(2),
+                rs.getString(3), rs.getBigDecimal(4), rs.getLong(5)));
+        List<PlayerRow> players = jdbcTemplate.query(PLAYERS + ORDER_PLAYERS, (rs, i) -> new PlayerRow(
+                rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4)));
+        return assemble(teams, players);
+    }
+
+    /**
+     * The live teams among {@code ids}; deleted or unknown IDs are simply absent from the result.
+     */
+    public List<LeagueSnapshot.Entry> load(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Object> params = Map.of("ids", ids);
+        List<TeamRow> teams = namedJdbcTemplate.query(TEAMS + " AND id IN (:ids)", params,
+                (rs, i) -> new TeamRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getBigDecimal(4), rs.getLong(5)));
+        List<PlayerRow> players = namedJdbcTemplate.query(PLAYERS + " AND p.team_id IN (:ids)" + ORDER_PLAYERS, params,
+                (rs, i) -> new PlayerRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4)));
+        return assemble(teams, players);
+    }
+
+    private static List<LeagueSnapshot.Entry> assemble(List<TeamRow> teams, List<PlayerRow> players) {
+        Map<Long, List<PlayerRow>> rosters = new HashMap<>();
+        for (PlayerRow player : players) {
+            rosters.computeIfAbsent(player.teamId(), id -> new ArrayList<>()).add(player);
+        }
+
+        List<LeagueSnapshot.Entry> entries = new ArrayList<>(teams.size());
+        for (TeamRow team : teams) {
+            List<PlayerRow> roster = rosters.getOrDefault(team.id(), List.of());
+            long[] playerIds = new long[roster.size()];
+            String[] playerNames = new String[roster.size()];
+            byte[] positions = new byte[roster.size()];
+            for (int i = 0; i < roster.size(); i++) {
+                PlayerRow player = roster.get(i);
+                playerIds[i] = player.id();
+                // Squads share many names; interned, each distinct name is held once
+                playerNames[i] = player.name().intern();
+                positions[i] = LeagueSnapshot.Entry.encode(Position.valueOf(player.position()));
+            }
+            entries.add(new LeagueSnapshot.Entry(team.id(), team.name().intern(),
+                    team.acronym() == null ? null : team.acronym().intern(), team.budget(), team.revision(),
+                    playerIds, playerNames, positions));
+        }
+        return entries;
+    }
+
+    private record TeamRow(long id, String name, String acronym, BigDecimal budget, long revision) {
+    }
+
+    private record PlayerRow(long id, String name, String position, long teamId) {
+    }
+}
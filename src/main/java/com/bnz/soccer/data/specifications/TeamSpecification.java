@@ -1,7 +1,6 @@
 package com.bnz.soccer.data.specifications;
 
 import com.bnz.soccer.data.entity.Team;
-import jakarta.persistence.criteria.JoinType;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
@@ -21,12 +20,4 @@ public class TeamSpecification {
                         ? cb.conjunction()
                         : cb.greaterThanOrEqualTo(root.get("budget"), minBudget);
     }
-
-    public static Specification<Team> fetchPlayers() {
-        return (root, query, cb) -> {
-            root.fetch("players", JoinType.LEFT);
-            query.distinct(true);
-            return null;
-        };
-    }
 }
@@ -0,0 +1,13 @@
+package com.bnz.soccer.exceptions;
+
+/**
+ * Base of the exceptions raised for expected client errors (unknown team, duplicate, full queue...).
+ * {@link GlobalExceptionHandler} turns them into a status and never logs a trace, so they skip
+ * stack-trace capture, which is most of the cost of throwing.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
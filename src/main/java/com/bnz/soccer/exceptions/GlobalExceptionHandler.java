@@ -1,63 +1,88 @@
 package com.bnz.soccer.exceptions;
 
 import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
-import java.time.Instant;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Maps exceptions to RFC 7807 {@code application/problem+json} responses. Plain errors are rendered
+ * by {@link ProblemBodies}; validation errors carry their field list as a {@link ProblemDetail} property.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    // Build a standard error response body
-    private Map<String, Object> buildBody(HttpStatus status, String message) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", Instant.now());
-        body.put("status", status.value());
-        body.put("error", status.getReasonPhrase());
-        body.put("message", message);
-        return body;
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private static final byte[] SERVER_ERROR = ProblemBodies.render(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected server error");
+    private static final byte[] CONFLICT = ProblemBodies.render(HttpStatus.CONFLICT, "The request conflicts with an existing team");
+    // Unique index on the acronym of live teams, see schema.sql
+    private static final String LIVE_ACRONYM_INDEX = "idx_team_live_acronym";
+
+    private static ProblemDetail validationFailed() {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Validation failed");
     }
 
     // ⚠️ Validation errors on @RequestBody with @Valid
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<?> handleValidationErrors(MethodArgumentNotValidException ex) {
-        Map<String, Object> body = buildBody(HttpStatus.BAD_REQUEST, "Validation failed");
+    public ResponseEntity<ProblemDetail> handleValidationErrors(MethodArgumentNotValidException ex) {
+        return ResponseEntity.badRequest().body(validationProblem(ex.getBindingResult()));
+    }
 
-        List<Map<String, Object>> fields = ex.getBindingResult()
+    /**
+     * The 400 body of a failed request validation, one entry per field error. Also used by the
+     * reactive variant, which validates outside of Spring MVC.
+     */
+    public static ProblemDetail validationProblem(BindingResult result) {
+        ProblemDetail body = validationFailed();
+
+        List<Map<String, Object>> fields = result
                 .getFieldErrors()
                 .stream()
-                .map(err -> Map.of(
-                        "field", err.getField(),
-                        "rejectedValue", err.getRejectedValue(),
-                        "message", err.getDefaultMessage()
-                ))
+                .map(err -> {
+                    // Map.of rejects the null value of a missing field
+                    Map<String, Object> field = new LinkedHashMap<>();
+                    field.put("field", err.getField());
+                    field.put("rejectedValue", err.getRejectedValue());
+                    field.put("message", err.getDefaultMessage());
+                    return field;
+                })
                 .toList();
 
-        body.put("fields", fields);
-        return ResponseEntity.badRequest().body(body);
+        body.setProperty("fields", fields);
+        return body;
     }
 
     // ⚠️ Validation errors on @RequestParam, @PathVariable, etc.
     @ExceptionHandler(ConstraintViolationException.class)
-    public ResponseEntity<?> handleConstraintViolation(ConstraintViolationException ex) {
-        Map<String, Object> body = buildBody(HttpStatus.BAD_REQUEST, "Validation failed");
-        body.put("violations", ex.getConstraintViolations()
+    public ResponseEntity<ProblemDetail> handleConstraintViolation(ConstraintViolationException ex) {
+        ProblemDetail body = validationFailed();
+        body.setProperty("violations", ex.getConstraintViolations()
                 .stream()
-                .map(v -> Map.of(
-                        "property", v.getPropertyPath().toString(),
-                        "invalidValue", v.getInvalidValue(),
-                        "message", v.getMessage()
-                ))
+                .map(v -> {
+                    Map<String, Object> violation = new LinkedHashMap<>();
+                    violation.put("property", v.getPropertyPath().toString());
+                    violation.put("invalidValue", v.getInvalidValue());
+                    violation.put("message", v.getMessage());
+                    return violation;
+                })
                 .toList());
         return ResponseEntity.badRequest().body(body);
     }
@@ -68,33 +93,83 @@ public class GlobalExceptionHandler {
             HttpMessageNotReadableException.class,
             MissingServletRequestParameterException.class
     })
-    public ResponseEntity<?> handleBadRequest(Exception ex) {
-        return ResponseEntity
-                .badRequest()
-                .body(buildBody(HttpStatus.BAD_REQUEST, ex.getMessage()));
+    public ResponseEntity<byte[]> handleBadRequest(Exception ex) {
+        return ProblemBodies.response(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
     // Entity not found
     @ExceptionHandler(TeamNotFoundException.class)
-    public ResponseEntity<?> handleTeamNotFound(TeamNotFoundException ex) {
+    public ResponseEntity<byte[]> handleTeamNotFound(TeamNotFoundException ex) {
+        return ProblemBodies.response(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(PlayerNotFoundException.class)
+    public ResponseEntity<byte[]> handlePlayerNotFound(PlayerNotFoundException ex) {
+        return ProblemBodies.response(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    // Unknown or expired async ingest ticket
+    @ExceptionHandler(IngestTicketNotFoundException.class)
+    public ResponseEntity<byte[]> handleIngestTicketNotFound(IngestTicketNotFoundException ex) {
+        return ProblemBodies.response(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    // Async ingest queue saturated → ask the client to back off
+    @ExceptionHandler(IngestQueueFullException.class)
+    public ResponseEntity<byte[]> handleIngestQueueFull(IngestQueueFullException ex) {
         return ResponseEntity
-                .status(HttpStatus.NOT_FOUND)
-                .body(buildBody(HttpStatus.NOT_FOUND, ex.getMessage()));
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(ProblemBodies.render(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    // Duplicate team, detected up front
+    @ExceptionHandler(TeamAlreadyExistsException.class)
+    public ResponseEntity<byte[]> handleConflict(TeamAlreadyExistsException ex) {
+        return ProblemBodies.response(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    // Duplicate team caught by the unique acronym index under a race; any other violation is a bug
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<byte[]> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        return isDuplicateAcronym(ex)
+                ? ProblemBodies.response(HttpStatus.CONFLICT, CONFLICT)
+                : handleGeneric(ex);
+    }
+
+    /**
+     * Whether {@code ex} was raised by the unique index on live acronyms. Drivers name the violated
+     * index in their message; also used by the reactive variant, whose R2DBC exceptions carry no
+     * parsed constraint name.
+     */
+    public static boolean isDuplicateAcronym(DataIntegrityViolationException ex) {
+        String message = ex.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(LIVE_ACRONYM_INDEX);
+    }
+
+    // Transfer no longer consistent with the rosters or budgets
+    @ExceptionHandler(TransferRejectedException.class)
+    public ResponseEntity<byte[]> handleTransferRejected(TransferRejectedException ex) {
+        return ProblemBodies.response(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    // Same Idempotency-Key sent with a different payload
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<byte[]> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return ProblemBodies.response(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
     }
 
     // Simple business logic errors (IllegalArgument, etc.)
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<?> handleIllegalArgument(IllegalArgumentException ex) {
-        return ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .body(buildBody(HttpStatus.BAD_REQUEST, ex.getMessage()));
+    public ResponseEntity<byte[]> handleIllegalArgument(IllegalArgumentException ex) {
+        return ProblemBodies.response(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
     // Catch-all → Internal Server Error
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<?> handleGeneric(Exception ex) {
-        return ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(buildBody(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected server error"));
+    public ResponseEntity<byte[]> handleGeneric(Exception ex) {
+        log.error("Unexpected error", ex);
+        return ProblemBodies.response(HttpStatus.INTERNAL_SERVER_ERROR, SERVER_ERROR);
     }
 }
@@ -0,0 +1,7 @@
+package com.bnz.soccer.exceptions;
+
+public class IdempotencyKeyReusedException extends DomainException {
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency-Key " + key + " was already used with a different request");
+    }
+}
@@ -0,0 +1,7 @@
+package com.bnz.soccer.exceptions;
+
+public class IngestQueueFullException extends DomainException {
+    public IngestQueueFullException(int capacity) {
+        super("Ingest queue is full (capacity " + capacity + "), retry later");
+    }
+}
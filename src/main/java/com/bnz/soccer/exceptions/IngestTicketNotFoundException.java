@@ -0,0 +1,7 @@
+package com.bnz.soccer.exceptions;
+
+public class IngestTicketNotFoundException extends DomainException {
+    public IngestTicketNotFoundException(String trackingId) {
+        super("Ingest ticket not found with id " + trackingId);
+    }
+}
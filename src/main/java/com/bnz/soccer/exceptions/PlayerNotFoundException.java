@@ -0,0 +1,7 @@
+package com.bnz.soccer.exceptions;
+
+public class PlayerNotFoundException extends DomainException {
+    public PlayerNotFoundException(Long id) {
+        super("Player not found with id " + id);
+    }
+}
@@ -0,0 +1,52 @@
+package com.bnz.soccer.exceptions;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * RFC 7807 error bodies assembled from bytes rendered once per status:
+ * {@code {"type":"about:blank","title":...,"status":...,"detail":...}}.
+ * An error response costs one escaped string and one array copy, with no map, timestamp or Jackson pass.
+ */
+public final class ProblemBodies {
+
+    private static final Map<HttpStatus, byte[]> PREFIXES = new EnumMap<>(HttpStatus.class);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    static {
+        for (HttpStatus status : HttpStatus.values()) {
+            PREFIXES.put(status, ("{\"type\":\"about:blank\",\"title\":\"" + status.getReasonPhrase()
+                    + "\",\"status\":" + status.value() + ",\"detail\":\"").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private ProblemBodies() {
+    }
+
+    public static byte[] render(HttpStatus status, String detail) {
+        byte[] prefix = PREFIXES.get(status);
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(detail == null ? "" : detail);
+        byte[] body = new byte[prefix.length + escaped.length + SUFFIX.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(escaped, 0, body, prefix.length, escaped.length);
+        System.arraycopy(SUFFIX, 0, body, prefix.length + escaped.length, SUFFIX.length);
+        return body;
+    }
+
+    public static ResponseEntity<byte[]> response(HttpStatus status, String detail) {
+        return response(status, render(status, detail));
+    }
+
+    // For constant details: render once, then share the array across responses
+    static ResponseEntity<byte[]> response(HttpStatus status, byte[] body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,8 @@
+package com.bnz.soccer.exceptions;
+
+// Keeps its stack trace on purpose: it shows which call issued the statement over budget
+public class StatementBudgetExceededException extends RuntimeException {
+    public StatementBudgetExceededException(String endpoint, int budget, Object statements) {
+        super("Statement budget of " + budget + " exceeded by " + endpoint + ", statements so far: " + statements);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bnz.soccer.exceptions;
+
+public class TeamAlreadyExistsException extends DomainException {
+    public TeamAlreadyExistsException(String acronym) {
+        super("A team with acronym " + acronym + " already exists");
+    }
+}
@@ -1,7 +1,13 @@
 package com.bnz.soccer.exceptions;
 
-public class TeamNotFoundException extends RuntimeException {
+import java.util.Collection;
+
+public class TeamNotFoundException extends DomainException {
     public TeamNotFoundException(Long id) {
         super("Team not found with id " + id);
     }
+
+    public TeamNotFoundException(Collection<Long> ids) {
+        super("Teams not found with ids " + ids);
+    }
 }
@@ -0,0 +1,11 @@
+package com.bnz.soccer.exceptions;
+
+/**
+ * A transfer that contradicts the current state: the player has already left the selling
+ * team, or the buying team cannot pay the fee. Nothing of the request is applied.
+ */
+public class TransferRejectedException extends DomainException {
+    public TransferRejectedException(String message) {
+        super(message);
+    }
+}
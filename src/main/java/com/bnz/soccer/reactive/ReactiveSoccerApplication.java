@@ -0,0 +1,30 @@
+package com.bnz.soccer.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Non-blocking variant of the team API: WebFlux on Netty over R2DBC, configured by
+ * {@code reactive.properties} instead of {@code application.properties}. It serves the same
+ * {@code /api/teams} reads and writes as {@code SoccerApiApplication}, against the same schema,
+ * so either one can be deployed.
+ * <p>
+ * Only this package is scanned. The condition keeps the class, and so its scan, out of the
+ * servlet application, whose component scan covers this package too.
+ */
+@SpringBootApplication
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSoccerApplication {
+
+    public static void main(String[] args) {
+        application().run(args);
+    }
+
+    public static SpringApplicationBuilder application() {
+        return new SpringApplicationBuilder(ReactiveSoccerApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=reactive");
+    }
+}
@@ -0,0 +1,122 @@
+package com.bnz.soccer.reactive;
+
+import com.bnz.soccer.controllers.validation.TeamRequestValidator;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Option;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTeamConfig {
+
+    // Tomcat is on the classpath for the servlet application and would otherwise be picked first
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // H2 only makes a whole connection read-only, from the URL, and warns each time a transaction asks for
+    // it; R2dbcTransactionManager asks for every transaction, read-only or not, so only pass it when true
+    @Bean
+    public R2dbcTransactionManager transactionManager(ConnectionFactory connectionFactory) {
+        return new R2dbcTransactionManager(connectionFactory) {
+            @Override
+            protected io.r2dbc.spi.TransactionDefinition createTransactionDefinition(TransactionDefinition definition) {
+                io.r2dbc.spi.TransactionDefinition transaction = super.createTransactionDefinition(definition);
+                if (definition.isReadOnly()) {
+                    return transaction;
+                }
+                return new io.r2dbc.spi.TransactionDefinition() {
+                    @Override
+                    public <T> T getAttribute(Option<T> option) {
+                        return option.equals(READ_ONLY) ? null : transaction.getAttribute(option);
+                    }
+                };
+            }
+        };
+    }
+
+    // The outbox is written only when servlet nodes sharing the database poll it
+    @Bean
+    public ReactiveTeamRepository reactiveTeamRepository(ConnectionFactory connectionFactory,
+                                                         TransactionalOperator transactionalOperator,
+                                                         @Value("${soccer.cluster.invalidation:none}") String invalidation,
+                                                         @Value("${soccer.cluster.node-id:}") String nodeId) {
+        String outboxNodeId = !"outbox".equals(invalidation) ? null
+                : nodeId.isBlank() ? "reactive-" + UUID.randomUUID() : nodeId;
+        return new ReactiveTeamRepository(DatabaseClient.create(connectionFactory), transactionalOperator, outboxNodeId);
+    }
+
+    @Bean
+    public ReactiveTeamHandler reactiveTeamHandler(ReactiveTeamRepository reactiveTeamRepository) {
+        return new ReactiveTeamHandler(reactiveTeamRepository, new TeamRequestValidator());
+    }
+
+    // Order matters: the stream and the ID lookup are narrower than the paged list
+    @Bean
+    public RouterFunction<ServerResponse> teamRoutes(ReactiveTeamHandler handler) {
+        return RouterFunctions.route()
+                .GET("/api/teams", acceptsNdjson(), handler::stream)
+                .GET("/api/teams", RequestPredicates.queryParam("ids", ids -> true), handler::getByIds)
+                .GET("/api/teams", handler::list)
+                .GET("/api/teams/filter", handler::filter)
+                .GET("/api/teams/{id}", handler::get)
+                .POST("/api/teams", handler::create)
+                .PUT("/api/teams/{id}", handler::replace)
+                .PATCH("/api/teams/{id}", handler::update)
+                .DELETE("/api/teams/{id}", handler::delete)
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(ReactiveTeamHandler::problem))
+                .build();
+    }
+
+    // Same rules as SecurityConfig for the routes served here
+    @Bean
+    @Profile({"dev", "test"})
+    public SecurityWebFilterChain reactiveFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/actuator/**").permitAll()
+
+                        .pathMatchers(HttpMethod.GET, "/api/teams", "/api/teams/*").permitAll()
+
+                        .pathMatchers(HttpMethod.POST, "/api/teams").authenticated()
+                        .pathMatchers(HttpMethod.PUT, "/api/teams/**").authenticated()
+                        .pathMatchers(HttpMethod.PATCH, "/api/teams/**").authenticated()
+                        .pathMatchers(HttpMethod.DELETE, "/api/teams/**").authenticated()
+
+                        .anyExchange().denyAll()
+                )
+                .httpBasic(Customizer.withDefaults())
+                .build();
+    }
+
+    // Explicitly asked for: */* from a browser still gets a page
+    private static RequestPredicate acceptsNdjson() {
+        return request -> request.headers().accept().stream()
+                .anyMatch(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+    }
+}
@@ -0,0 +1,224 @@
+package com.bnz.soccer.reactive;
+
+import com.bnz.soccer.controllers.validation.TeamRequestValidator;
+import com.bnz.soccer.exceptions.GlobalExceptionHandler;
+import com.bnz.soccer.exceptions.ProblemBodies;
+import com.bnz.soccer.exceptions.TeamAlreadyExistsException;
+import com.bnz.soccer.exceptions.TeamNotFoundException;
+import com.bnz.soccer.resources.enums.TeamSortField;
+import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
+import com.bnz.soccer.resources.record.TeamRequest;
+import com.bnz.soccer.resources.record.TeamResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.codec.CodecException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Handlers of the reactive {@code /api/teams} routes, with the parameters, defaults, status codes
+ * and error bodies of {@code TeamController}. Lists and lookups answer {@link TeamResponse}s;
+ * {@code Accept: application/x-ndjson} on the list streams every team instead of a page.
+ * <p>
+ * Field selection, idempotency keys, asynchronous creation, hard and bulk deletes and the change
+ * feeds are only served by the servlet application.
+ */
+public class ReactiveTeamHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTeamHandler.class);
+
+    static final int MAX_BULK_IDS = 500;
+    static final int FILTER_PAGE_SIZE = 10;
+
+    private final ReactiveTeamRepository teams;
+    private final TeamRequestValidator validator;
+
+    public ReactiveTeamHandler(ReactiveTeamRepository teams, TeamRequestValidator validator) {
+        this.teams = teams;
+        this.validator = validator;
+    }
+
+    public Mono<ServerResponse> list(ServerRequest request) {
+        rejectProjections(request);
+        int page = intParam(request, "page", 0, 0);
+        int size = intParam(request, "size", 10, 1);
+        TeamSortField field = TeamSortField.fromProperty(request.queryParam("sortBy").orElse("name"));
+        Sort.Direction direction = Sort.Direction.fromString(request.queryParam("direction").orElse("asc"));
+        log.info("Fetching all teams with players - page={}, size={}, sortBy={}, direction={}",
+                page, size, field.property(), direction);
+
+        // Page and count run concurrently, each on its own connection
+        PageRequest pageable = PageRequest.of(page, size, Sort.by(direction, field.property(), "id"));
+        return Mono.zip(teams.findPage(field, direction.isDescending(), pageable.getOffset(), size), teams.count())
+                .flatMap(found -> ServerResponse.ok().bodyValue(new PageImpl<>(found.getT1(), pageable, found.getT2())));
+    }
+
+    // Flushed team by team; a slow client slows the database reads down instead of filling the heap
+    public Mono<ServerResponse> stream(ServerRequest request) {
+        log.info("Streaming all teams with players");
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(teams.streamAll(), TeamResponse.class);
+    }
+
+    public Mono<ServerResponse> get(ServerRequest request) {
+        long id = idOf(request);
+        log.info("Fetching team ID={}", id);
+        return teams.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TeamNotFoundException(id)))
+                .flatMap(team -> ServerResponse.ok().bodyValue(team));
+    }
+
+    public Mono<ServerResponse> getByIds(ServerRequest request) {
+        Set<Long> ids = request.queryParams().getOrDefault("ids", List.of()).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .filter(StringUtils::hasText)
+                .map(value -> Long.valueOf(value.trim()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty() || ids.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BULK_IDS + " team ids are required");
+        }
+        log.info("Fetching teams IDs={}", ids);
+        return teams.findAllById(ids)
+                .map(found -> {
+                    Map<Long, TeamResponse> byId = found.stream()
+                            .collect(Collectors.toMap(TeamResponse::id, Function.identity()));
+                    return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+                })
+                .flatMap(found -> ServerResponse.ok().bodyValue(found));
+    }
+
+    public Mono<ServerResponse> filter(ServerRequest request) {
+        rejectProjections(request);
+        String name = request.queryParam("name").orElse(null);
+        BigDecimal minBudget = request.queryParam("minBudget").map(BigDecimal::new).orElse(null);
+        log.info("Filtering teams - name={}, minBudget={}", name, minBudget);
+        return Mono.zip(teams.filter(name, minBudget, FILTER_PAGE_SIZE), teams.countFiltered(name, minBudget))
+                .flatMap(found -> ServerResponse.ok().bodyValue(
+                        new PageImpl<>(found.getT1(), PageRequest.of(0, FILTER_PAGE_SIZE), found.getT2())));
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        return validated(request, TeamRequest.class)
+                .doOnNext(team -> log.info("Creating new team: {}", team))
+                .flatMap(teams::insert)
+                .doOnNext(created -> log.info("Team created with ID={}", created.id()))
+                .flatMap(created -> ServerResponse.status(HttpStatus.CREATED).bodyValue(created));
+    }
+
+    public Mono<ServerResponse> replace(ServerRequest request) {
+        long id = idOf(request);
+        return validated(request, TeamRequest.class)
+                .doOnNext(team -> log.info("Fully updating team ID={} with data: {}", id, team))
+                .flatMap(team -> teams.replace(id, team))
+                .flatMap(updated -> ServerResponse.ok().bodyValue(updated));
+    }
+
+    public Mono<ServerResponse> update(ServerRequest request) {
+        long id = idOf(request);
+        return validated(request, TeamPartialUpdateRequest.class)
+                .doOnNext(team -> log.info("Partially updating team ID={} with data: {}", id, team))
+                .flatMap(team -> teams.update(id, team))
+                .flatMap(updated -> ServerResponse.ok().bodyValue(updated));
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+        long id = idOf(request);
+        if (Boolean.parseBoolean(request.queryParam("hard").orElse("false"))) {
+            throw new IllegalArgumentException("Hard deletes are only served by the servlet application");
+        }
+        log.info("Deleting team ID={}", id);
+        return teams.softDelete(id)
+                .then(ServerResponse.noContent().build());
+    }
+
+    /**
+     * The same {@code application/problem+json} bodies as {@code GlobalExceptionHandler}.
+     */
+    static Mono<ServerResponse> problem(Throwable ex) {
+        if (ex instanceof BindException invalid) {
+            return ServerResponse.badRequest()
+                    .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                    .bodyValue(GlobalExceptionHandler.validationProblem(invalid.getBindingResult()));
+        }
+        HttpStatus status;
+        String detail = ex.getMessage();
+        switch (ex) {
+            case TeamNotFoundException notFound -> status = HttpStatus.NOT_FOUND;
+            case TeamAlreadyExistsException conflict -> status = HttpStatus.CONFLICT;
+            case DataIntegrityViolationException conflict when GlobalExceptionHandler.isDuplicateAcronym(conflict) -> {
+                status = HttpStatus.CONFLICT;
+                detail = "The request conflicts with an existing team";
+            }
+            case ResponseStatusException web -> {
+                status = HttpStatus.valueOf(web.getStatusCode().value());
+                detail = web.getReason();
+            }
+            case IllegalArgumentException badRequest -> status = HttpStatus.BAD_REQUEST;
+            case CodecException unreadable -> status = HttpStatus.BAD_REQUEST;
+            default -> {
+                log.error("Unexpected error on the reactive team API", ex);
+                status = HttpStatus.INTERNAL_SERVER_ERROR;
+                detail = "Unexpected server error";
+            }
+        }
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .bodyValue(ProblemBodies.render(status, detail));
+    }
+
+    // Same single-pass validator as the servlet controller, errors reported as a BindException
+    private <T> Mono<T> validated(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Required request body is missing")))
+                .handle((body, sink) -> {
+                    BindingResult errors = new BeanPropertyBindingResult(body, StringUtils.uncapitalize(type.getSimpleName()));
+                    validator.validate(body, errors);
+                    if (errors.hasErrors()) {
+                        sink.error(new BindException(errors));
+                    } else {
+                        sink.next(body);
+                    }
+                });
+    }
+
+    private static void rejectProjections(ServerRequest request) {
+        if (request.queryParam("fields").isPresent() || request.queryParam("include").isPresent()) {
+            throw new IllegalArgumentException("fields and include are only served by the servlet application");
+        }
+    }
+
+    private static long idOf(ServerRequest request) {
+        return Long.parseLong(request.pathVariable("id"));
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue, int min) {
+        int value = request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+        if (value < min) {
+            throw new IllegalArgumentException(name + " must be greater than or equal to " + min);
+        }
+        return value;
+    }
+}
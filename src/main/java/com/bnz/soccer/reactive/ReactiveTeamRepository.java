@@ -0,0 +1,325 @@
+package com.bnz.soccer.reactive;
+
+import com.bnz.soccer.exceptions.GlobalExceptionHandler;
+import com.bnz.soccer.exceptions.TeamAlreadyExistsException;
+import com.bnz.soccer.exceptions.TeamNotFoundException;
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.enums.TeamSortField;
+import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.PlayerResponse;
+import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
+import com.bnz.soccer.resources.record.TeamRequest;
+import com.bnz.soccer.resources.record.TeamResponse;
+import io.r2dbc.spi.Readable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Team reads and writes over R2DBC, with the SQL the JPA side generates written out: a page of teams
+ * then one {@code IN} query for their players, a revision from {@code team_revision_seq} drawn at the end
+ * of every write under the {@code team_revision_clock} lock, soft deletes. Writes run in one R2DBC
+ * transaction each.
+ * <p>
+ * No change events are published: the change feed, the second-level cache and the league snapshot
+ * belong to the servlet application. With a node ID, every write also inserts its
+ * {@code team_invalidation} row in the same transaction, so servlet nodes polling the outbox of a
+ * shared database evict the team from their caches.
+ */
+public class ReactiveTeamRepository {
+
+    private static final String TEAM_COLUMNS = "SELECT id, name, acronym, budget FROM team";
+
+    private final DatabaseClient db;
+    private final TransactionalOperator transactions;
+    // Null when no servlet node shares the database
+    private final String outboxNodeId;
+
+    public ReactiveTeamRepository(DatabaseClient db, TransactionalOperator transactions, String outboxNodeId) {
+        this.db = db;
+        this.transactions = transactions;
+        this.outboxNodeId = outboxNodeId;
+    }
+
+    public Mono<Long> count() {
+        return db.sql("SELECT COUNT(*) FROM team WHERE deleted = FALSE")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * One page in the same order as the JPA listing: the field, then the ID in the same direction.
+     */
+    public Mono<List<TeamResponse>> findPage(TeamSortField field, boolean descending, long offset, int limit) {
+        String direction = descending ? " DESC" : " ASC";
+        return db.sql(TEAM_COLUMNS + " WHERE deleted = FALSE ORDER BY " + columnOf(field) + direction
+                        + ", id" + direction + " LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveTeamRepository::teamRow)
+                .all()
+                .collectList()
+                .flatMap(this::withPlayers);
+    }
+
+    public Mono<TeamResponse> findById(long id) {
+        return db.sql(TEAM_COLUMNS + " WHERE id = :id AND deleted = FALSE")
+                .bind("id", id)
+                .map(ReactiveTeamRepository::teamRow)
+                .all()
+                .collectList()
+                .flatMap(this::withPlayers)
+                .flatMap(teams -> Mono.justOrEmpty(teams.stream().findFirst()));
+    }
+
+    // Unknown IDs are skipped; the caller restores the requested order
+    public Mono<List<TeamResponse>> findAllById(Collection<Long> ids) {
+        return db.sql(TEAM_COLUMNS + " WHERE id IN (:ids) AND deleted = FALSE")
+                .bind("ids", ids)
+                .map(ReactiveTeamRepository::teamRow)
+                .all()
+                .collectList()
+                .flatMap(this::withPlayers);
+    }
+
+    /**
+     * Teams whose name contains {@code name} (case-insensitive) and whose budget is at least
+     * {@code minBudget}, in ID order. Either filter may be {@code null}.
+     */
+    public Mono<List<TeamResponse>> filter(String name, BigDecimal minBudget, int limit) {
+        return bindFilter(db.sql(TEAM_COLUMNS + where(name, minBudget) + " ORDER BY id LIMIT :limit"), name, minBudget)
+                .bind("limit", limit)
+                .map(ReactiveTeamRepository::teamRow)
+                .all()
+                .collectList()
+                .flatMap(this::withPlayers);
+    }
+
+    public Mono<Long> countFiltered(String name, BigDecimal minBudget) {
+        return bindFilter(db.sql("SELECT COUNT(*) FROM team" + where(name, minBudget)), name, minBudget)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Every live team in ID order, read from one join as the subscriber requests more. Rows arrive
+     * team by team, so each team is emitted as soon as its last player has been read and only one
+     * roster is held in memory at a time.
+     */
+    public Flux<TeamResponse> streamAll() {
+        return db.sql("SELECT t.id, t.name, t.acronym, t.budget, p.id AS player_id, p.name AS player_name, p.position "
+                        + "FROM team t LEFT JOIN player p ON p.team_id = t.id "
+                        + "WHERE t.deleted = FALSE ORDER BY t.id, p.id")
+                .map(row -> new JoinedRow(teamRow(row), row.get("player_id", Long.class) == null ? null
+                        : new PlayerResponse(row.get("player_id", Long.class), row.get("player_name", String.class),
+                        Position.valueOf(row.get("position", String.class)))))
+                .all()
+                .bufferUntilChanged(joined -> joined.team().id())
+                .map(rows -> rows.get(0).team().toResponse(rows.stream()
+                        .map(JoinedRow::player)
+                        .filter(Objects::nonNull)
+                        .toList()));
+    }
+
+    public Mono<TeamResponse> insert(TeamRequest request) {
+        List<PlayerRequest> players = rosterOf(request);
+        return db.sql("INSERT INTO team (name, acronym, budget, player_count) VALUES (:name, :acronym, :budget, :players)")
+                .bind("name", request.name())
+                .bind("acronym", request.acronym())
+                .bind("budget", request.budget())
+                .bind("players", players.size())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(id -> insertPlayers(id, players).then(recordWrite(id)).then(findById(id)))
+                .onErrorMap(ReactiveTeamRepository::isDuplicateAcronym, ex -> new TeamAlreadyExistsException(request.acronym()))
+                .as(transactions::transactional);
+    }
+
+    /**
+     * Replaces the team's attributes and roster. The {@code UPDATE} comes first, so the team row
+     * is locked before its players are touched, as in the JPA path.
+     */
+    public Mono<TeamResponse> replace(long id, TeamRequest request) {
+        List<PlayerRequest> players = rosterOf(request);
+        return db.sql("UPDATE team SET name = :name, acronym = :acronym, budget = :budget, player_count = :players "
+                        + "WHERE id = :id AND deleted = FALSE")
+                .bind("name", request.name())
+                .bind("acronym", request.acronym())
+                .bind("budget", request.budget())
+                .bind("players", players.size())
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rows -> rows == 0 ? Mono.<Void>error(new TeamNotFoundException(id))
+                        : db.sql("DELETE FROM player WHERE team_id = :id").bind("id", id).then())
+                .then(Mono.defer(() -> insertPlayers(id, players)))
+                .then(Mono.defer(() -> recordWrite(id)))
+                .then(Mono.defer(() -> findById(id)))
+                .onErrorMap(ReactiveTeamRepository::isDuplicateAcronym, ex -> new TeamAlreadyExistsException(request.acronym()))
+                .as(transactions::transactional);
+    }
+
+    // A blank name is ignored, like in the JPA path
+    public Mono<TeamResponse> update(long id, TeamPartialUpdateRequest update) {
+        boolean name = update.name() != null && !update.name().isBlank();
+        boolean budget = update.budget() != null;
+        if (!name && !budget) {
+            return findById(id).switchIfEmpty(Mono.error(() -> new TeamNotFoundException(id)));
+        }
+
+        List<String> assignments = new ArrayList<>();
+        List<String> changes = new ArrayList<>();
+        if (name) {
+            assignments.add("name = :name");
+            changes.add("name <> :name");
+        }
+        if (budget) {
+            assignments.add("budget = :budget");
+            changes.add("budget <> :budget");
+        }
+        // Only a row that actually changes is written: repeating the current values keeps the revision, as in the JPA path
+        String sql = "UPDATE team SET " + String.join(", ", assignments)
+                + " WHERE id = :id AND deleted = FALSE AND (" + String.join(" OR ", changes) + ")";
+        GenericExecuteSpec spec = db.sql(sql).bind("id", id);
+        if (name) {
+            spec = spec.bind("name", update.name());
+        }
+        if (budget) {
+            spec = spec.bind("budget", update.budget());
+        }
+        return spec.fetch()
+                .rowsUpdated()
+                .flatMap(rows -> rows == 0 ? findById(id).switchIfEmpty(Mono.error(() -> new TeamNotFoundException(id)))
+                        : recordWrite(id).then(findById(id)))
+                .as(transactions::transactional);
+    }
+
+    // Tombstone only; players are removed later by the purge job of the servlet application
+    public Mono<Void> softDelete(long id) {
+        return db.sql("UPDATE team SET deleted = TRUE, deleted_at = CURRENT_TIMESTAMP WHERE id = :id AND deleted = FALSE")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rows -> rows == 0 ? Mono.<Void>error(new TeamNotFoundException(id)) : recordWrite(id))
+                .as(transactions::transactional);
+    }
+
+    // Last statements of every write, as on the JPA side (TeamRevisionRepository and the outbox bus): the
+    // clock row is taken last and stays locked until the commit, so revisions become visible in increasing order
+    private Mono<Void> recordWrite(long id) {
+        Mono<Void> invalidation = outboxNodeId == null ? Mono.empty()
+                : db.sql("INSERT INTO team_invalidation (node_id, team_id) VALUES (:node, :id)")
+                        .bind("node", outboxNodeId)
+                        .bind("id", id)
+                        .then();
+        return invalidation
+                .then(db.sql("SELECT id FROM team_revision_clock FOR UPDATE").then())
+                .then(db.sql("UPDATE team SET revision = NEXT VALUE FOR team_revision_seq WHERE id = :id")
+                        .bind("id", id)
+                        .then());
+    }
+
+    // One multi-row INSERT for the whole roster
+    private Mono<Void> insertPlayers(long teamId, List<PlayerRequest> players) {
+        if (players.isEmpty()) {
+            return Mono.empty();
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO player (name, position, team_id) VALUES ");
+        for (int i = 0; i < players.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:name").append(i).append(", :position").append(i).append(", :team)");
+        }
+        GenericExecuteSpec spec = db.sql(sql.toString()).bind("team", teamId);
+        for (int i = 0; i < players.size(); i++) {
+            spec = spec.bind("name" + i, players.get(i).name()).bind("position" + i, players.get(i).position().name());
+        }
+        return spec.then();
+    }
+
+    // One query for the players of all the given teams, rosters in player ID order
+    private Mono<List<TeamResponse>> withPlayers(List<TeamRow> teams) {
+        if (teams.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return db.sql("SELECT id, name, position, team_id FROM player WHERE team_id IN (:ids) ORDER BY id")
+                .bind("ids", teams.stream().map(TeamRow::id).toList())
+                .map(row -> Map.entry(row.get("team_id", Long.class), new PlayerResponse(row.get("id", Long.class),
+                        row.get("name", String.class), Position.valueOf(row.get("position", String.class)))))
+                .all()
+                .collectMultimap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(players -> {
+                    List<TeamResponse> responses = new ArrayList<>(teams.size());
+                    for (TeamRow team : teams) {
+                        Collection<PlayerResponse> roster = players.get(team.id());
+                        responses.add(team.toResponse(roster == null ? List.of() : List.copyOf(roster)));
+                    }
+                    return responses;
+                });
+    }
+
+    // Only the live acronym index means a taken acronym; other violations stay server errors, as on the JPA side
+    private static boolean isDuplicateAcronym(Throwable ex) {
+        return ex instanceof DuplicateKeyException duplicate && GlobalExceptionHandler.isDuplicateAcronym(duplicate);
+    }
+
+    private static String where(String name, BigDecimal minBudget) {
+        StringBuilder sql = new StringBuilder(" WHERE deleted = FALSE");
+        if (name != null && !name.isBlank()) {
+            sql.append(" AND LOWER(name) LIKE :name");
+        }
+        if (minBudget != null) {
+            sql.append(" AND budget >= :minBudget");
+        }
+        return sql.toString();
+    }
+
+    private static GenericExecuteSpec bindFilter(GenericExecuteSpec spec, String name, BigDecimal minBudget) {
+        if (name != null && !name.isBlank()) {
+            spec = spec.bind("name", "%" + name.toLowerCase(Locale.ROOT) + "%");
+        }
+        if (minBudget != null) {
+            spec = spec.bind("minBudget", minBudget);
+        }
+        return spec;
+    }
+
+    // Whitelisted by TeamSortField, so safe to splice into ORDER BY; each has a (column, id) index
+    private static String columnOf(TeamSortField field) {
+        return switch (field) {
+            case NAME -> "name";
+            case ACRONYM -> "acronym";
+            case BUDGET -> "budget";
+            case PLAYER_COUNT -> "player_count";
+        };
+    }
+
+    private static List<PlayerRequest> rosterOf(TeamRequest request) {
+        return request.players() == null ? List.of() : request.players();
+    }
+
+    private static TeamRow teamRow(Readable row) {
+        return new TeamRow(row.get("id", Long.class), row.get("name", String.class),
+                row.get("acronym", String.class), row.get("budget", BigDecimal.class));
+    }
+
+    private record TeamRow(Long id, String name, String acronym, BigDecimal budget) {
+
+        TeamResponse toResponse(List<PlayerResponse> players) {
+            return new TeamResponse(id, name, acronym, budget, players);
+        }
+    }
+
+    private record JoinedRow(TeamRow team, PlayerResponse player) {
+    }
+}
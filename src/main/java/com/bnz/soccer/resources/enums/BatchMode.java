@@ -0,0 +1,11 @@
+package com.bnz.soccer.resources.enums;
+
+/**
+ * How a team batch reacts to a failing operation.
+ */
+public enum BatchMode {
+    // Nothing is applied unless every operation succeeds
+    ATOMIC,
+    // Failing operations are skipped, the others are applied
+    BEST_EFFORT
+}
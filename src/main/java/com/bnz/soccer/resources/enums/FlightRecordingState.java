@@ -0,0 +1,7 @@
+package com.bnz.soccer.resources.enums;
+
+public enum FlightRecordingState {
+    IDLE,
+    RUNNING,
+    STOPPED
+}
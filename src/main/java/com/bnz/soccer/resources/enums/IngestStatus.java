@@ -0,0 +1,7 @@
+package com.bnz.soccer.resources.enums;
+
+public enum IngestStatus {
+    QUEUED,
+    COMPLETED,
+    FAILED
+}
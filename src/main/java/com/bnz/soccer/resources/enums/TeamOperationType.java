@@ -0,0 +1,8 @@
+package com.bnz.soccer.resources.enums;
+
+public enum TeamOperationType {
+    CREATE,
+    PATCH,
+    REPLACE,
+    DELETE
+}
@@ -0,0 +1,35 @@
+package com.bnz.soccer.resources.enums;
+
+import java.util.Arrays;
+
+/**
+ * Fields the team listings can be sorted on. Each one has an index on {@code (column, id)} in
+ * {@code schema.sql}, so a page is read in index order and equal values are ordered by ID.
+ */
+public enum TeamSortField {
+    NAME("name"),
+    ACRONYM("acronym"),
+    BUDGET("budget"),
+    // Squad size, kept in team.player_count by the services wherever a roster changes
+    PLAYER_COUNT("playerCount");
+
+    private final String property;
+
+    TeamSortField(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public static TeamSortField fromProperty(String property) {
+        for (TeamSortField field : values()) {
+            if (field.property.equalsIgnoreCase(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Cannot sort on '" + property + "', expected one of "
+                + Arrays.stream(values()).map(TeamSortField::property).toList());
+    }
+}
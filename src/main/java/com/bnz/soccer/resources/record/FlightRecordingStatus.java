@@ -0,0 +1,23 @@
+package com.bnz.soccer.resources.record;
+
+import com.bnz.soccer.resources.enums.FlightRecordingState;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The current or last recording; {@code size} and {@code summary} once it is STOPPED.
+ */
+public record FlightRecordingStatus(
+        FlightRecordingState state,
+        String name,
+        Instant startedAt,
+        Duration duration,
+        Long size,
+        FlightRecordingSummary summary
+) {
+
+    public static FlightRecordingStatus idle() {
+        return new FlightRecordingStatus(FlightRecordingState.IDLE, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,26 @@
+package com.bnz.soccer.resources.record;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * What a recording says about this application's own code. Each sample or allocation is attributed
+ * to the innermost frame in a {@code com.bnz.soccer} class; {@code value} is a sample count for the
+ * hottest frames and sampled bytes for the allocating ones.
+ */
+public record FlightRecordingSummary(
+        long executionSamples,
+        List<Frame> hottestFrames,
+        List<Frame> topAllocatingFrames,
+        long jdbcExecutions,
+        Duration jdbcTime,
+        long connectionWaits,
+        Duration connectionWaitTime,
+        long contendedLocks,
+        Duration contendedLockTime,
+        long slowSocketOperations,
+        Duration slowSocketTime
+) {
+
+    public record Frame(String frame, long value) {}
+}
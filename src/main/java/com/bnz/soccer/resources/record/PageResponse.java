@@ -0,0 +1,32 @@
+package com.bnz.soccer.resources.record;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * One page of a team list, with the fields of a serialized {@code PageImpl} in the same order, so the list
+ * contract is unchanged while the page is written by the hand-written serializer.
+ */
+public record PageResponse<T>(
+        List<T> content,
+        Pageable pageable,
+        int totalPages,
+        long totalElements,
+        boolean last,
+        int size,
+        int number,
+        Sort sort,
+        boolean first,
+        int numberOfElements,
+        boolean empty
+) {
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(page.getContent(), page.getPageable(), page.getTotalPages(), page.getTotalElements(),
+                page.isLast(), page.getSize(), page.getNumber(), page.getSort(), page.isFirst(),
+                page.getNumberOfElements(), page.isEmpty());
+    }
+}
@@ -0,0 +1,18 @@
+package com.bnz.soccer.resources.record;
+
+import com.bnz.soccer.resources.enums.BatchMode;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// Operations are checked one by one by the batch itself, so a best-effort batch reports them individually
+public record TeamBatchRequest(
+        BatchMode mode,
+        @NotEmpty @Size(max = 500) List<TeamOperation> operations
+) {
+
+    public BatchMode modeOrDefault() {
+        return mode != null ? mode : BatchMode.ATOMIC;
+    }
+}
@@ -0,0 +1,18 @@
+package com.bnz.soccer.resources.record;
+
+import com.bnz.soccer.resources.enums.BatchMode;
+
+import java.util.List;
+
+/**
+ * Per-operation results, in request order. {@code applied} is false when an atomic batch was rolled back.
+ * {@code skipped} counts updates not written because a later operation of the batch deletes their team.
+ */
+public record TeamBatchResponse(
+        BatchMode mode,
+        boolean applied,
+        int succeeded,
+        int skipped,
+        int failed,
+        List<TeamOperationResult> results
+) {}
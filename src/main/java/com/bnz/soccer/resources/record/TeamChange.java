@@ -0,0 +1,8 @@
+package com.bnz.soccer.resources.record;
+
+public record TeamChange(
+        Long teamId,
+        long revision,
+        boolean deleted,
+        TeamResponse team
+) {}
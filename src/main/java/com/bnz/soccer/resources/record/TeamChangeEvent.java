@@ -0,0 +1,27 @@
+package com.bnz.soccer.resources.record;
+
+import com.bnz.soccer.resources.enums.ChangeType;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A committed mutation of a team. The sequence is assigned by the change feed
+ * when the event is appended, so published events carry {@code 0}.
+ */
+public record TeamChangeEvent(
+        long sequence,
+        ChangeType type,
+        Long teamId,
+        Map<String, Object> changes,
+        Instant occurredAt
+) {
+
+    public static TeamChangeEvent of(ChangeType type, Long teamId, Map<String, Object> changes) {
+        return new TeamChangeEvent(0, type, teamId, changes, Instant.now());
+    }
+
+    public TeamChangeEvent withSequence(long sequence) {
+        return new TeamChangeEvent(sequence, type, teamId, changes, occurredAt);
+    }
+}
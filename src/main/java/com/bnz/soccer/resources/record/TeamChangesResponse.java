@@ -0,0 +1,10 @@
+package com.bnz.soccer.resources.record;
+
+import java.util.List;
+
+public record TeamChangesResponse(
+        long since,
+        long nextSince,
+        boolean hasMore,
+        List<TeamChange> changes
+) {}
@@ -0,0 +1,43 @@
+package com.bnz.soccer.resources.record;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Columns and associations requested through {@code fields=} and {@code include=} on the
+ * team read endpoints. The id is always selected so players can be attached to their team.
+ */
+public record TeamFieldSelection(List<String> fields, boolean includePlayers) {
+
+    public static final List<String> SELECTABLE_FIELDS = List.of("id", "name", "acronym", "budget");
+    public static final String PLAYERS = "players";
+
+    public static TeamFieldSelection of(Collection<String> fields, Collection<String> include) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        if (fields == null || fields.isEmpty()) {
+            selected.addAll(SELECTABLE_FIELDS);
+        } else {
+            for (String field : fields) {
+                String trimmed = field.trim();
+                if (!SELECTABLE_FIELDS.contains(trimmed)) {
+                    throw new IllegalArgumentException("Unknown field '" + trimmed + "', expected one of " + SELECTABLE_FIELDS);
+                }
+                selected.add(trimmed);
+            }
+        }
+
+        boolean includePlayers = false;
+        if (include != null) {
+            for (String association : include) {
+                if (!PLAYERS.equals(association.trim())) {
+                    throw new IllegalArgumentException("Unknown include '" + association.trim() + "', expected " + PLAYERS);
+                }
+                includePlayers = true;
+            }
+        }
+        return new TeamFieldSelection(List.copyOf(selected), includePlayers);
+    }
+}
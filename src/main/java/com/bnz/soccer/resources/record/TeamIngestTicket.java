@@ -0,0 +1,23 @@
+package com.bnz.soccer.resources.record;
+
+import com.bnz.soccer.resources.enums.IngestStatus;
+
+public record TeamIngestTicket(
+        String trackingId,
+        IngestStatus status,
+        Long teamId,
+        String error
+) {
+
+    public static TeamIngestTicket queued(String trackingId) {
+        return new TeamIngestTicket(trackingId, IngestStatus.QUEUED, null, null);
+    }
+
+    public TeamIngestTicket completed(Long teamId) {
+        return new TeamIngestTicket(trackingId, IngestStatus.COMPLETED, teamId, null);
+    }
+
+    public TeamIngestTicket failed(String error) {
+        return new TeamIngestTicket(trackingId, IngestStatus.FAILED, null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package com.bnz.soccer.resources.record;
+
+import com.bnz.soccer.resources.enums.TeamOperationType;
+
+/**
+ * One step of a team batch: {@code team} for CREATE and REPLACE, {@code changes} for PATCH,
+ * {@code id} for everything but CREATE.
+ */
+public record TeamOperation(
+        TeamOperationType type,
+        Long id,
+        TeamRequest team,
+        TeamPartialUpdateRequest changes
+) {}
@@ -0,0 +1,16 @@
+package com.bnz.soccer.resources.record;
+
+import com.bnz.soccer.resources.enums.TeamOperationType;
+
+/**
+ * Outcome of one batch operation, with the HTTP status the single-team endpoint would have answered.
+ * {@code id} is the created team's for a CREATE; {@code detail} is only set on failure, or on a PATCH or
+ * REPLACE skipped with {@code 410 Gone} because a later operation deletes its team.
+ */
+public record TeamOperationResult(
+        int index,
+        TeamOperationType type,
+        Long id,
+        int status,
+        String detail
+) {}
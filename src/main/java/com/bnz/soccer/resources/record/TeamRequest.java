@@ -13,4 +13,13 @@ public record TeamRequest(
         @NotBlank String acronym,
         @NotNull @Positive BigDecimal budget,
         List< @Valid PlayerRequest> players
-) {}
+) {
+
+    /**
+     * This request with its budget at the smallest scale, so that {@code equals} holds between two
+     * requests for the same team whether they send {@code 100} or {@code 100.00}.
+     */
+    public TeamRequest normalized() {
+        return budget == null ? this : new TeamRequest(name, acronym, budget.stripTrailingZeros(), players);
+    }
+}
@@ -0,0 +1,11 @@
+package com.bnz.soccer.resources.record;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TransferBatchRequest(
+        @NotEmpty @Size(max = 500) List<@Valid TransferRequest> transfers
+) {}
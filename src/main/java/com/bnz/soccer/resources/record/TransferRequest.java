@@ -0,0 +1,13 @@
+package com.bnz.soccer.resources.record;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+
+public record TransferRequest(
+        @NotNull Long playerId,
+        @NotNull Long fromTeamId,
+        @NotNull Long toTeamId,
+        @NotNull @PositiveOrZero BigDecimal fee
+) {}
@@ -0,0 +1,15 @@
+package com.bnz.soccer.resources.record;
+
+import java.math.BigDecimal;
+
+/**
+ * A completed transfer, with both budgets as they stand right after it.
+ */
+public record TransferResponse(
+        Long playerId,
+        Long fromTeamId,
+        Long toTeamId,
+        BigDecimal fee,
+        BigDecimal fromTeamBudget,
+        BigDecimal toTeamBudget
+) {}
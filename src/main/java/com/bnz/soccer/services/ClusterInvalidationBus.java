@@ -0,0 +1,15 @@
+package com.bnz.soccer.services;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Carries the IDs of written teams to the other nodes of the cluster so they can drop
+ * their cached copies. Selected with {@code soccer.cluster.invalidation}.
+ */
+public interface ClusterInvalidationBus {
+
+    void broadcast(Collection<Long> teamIds);
+
+    void subscribe(Consumer<Collection<Long>> listener);
+}
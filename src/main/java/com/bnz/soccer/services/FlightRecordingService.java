@@ -0,0 +1,30 @@
+package com.bnz.soccer.services;
+
+import com.bnz.soccer.resources.record.FlightRecordingStatus;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * One bounded Flight Recorder recording at a time, with the application's preset. The last
+ * recording is kept on disk until the next one starts.
+ */
+public interface FlightRecordingService {
+
+    /**
+     * @throws IllegalStateException when a recording is already running
+     * @throws IllegalArgumentException when the duration is not positive or above the configured maximum
+     */
+    FlightRecordingStatus start(Duration duration);
+
+    /**
+     * @throws IllegalStateException when no recording is running
+     */
+    FlightRecordingStatus stop();
+
+    FlightRecordingStatus status();
+
+    /** The file of the last stopped recording, if it has this name. */
+    Optional<Path> recording(String name);
+}
@@ -0,0 +1,22 @@
+package com.bnz.soccer.services;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyStore {
+
+    /**
+     * Runs {@code action} once per key. A retry with the same key and request gets the stored
+     * result, or waits for the first attempt if it is still running, instead of running it again.
+     */
+    <T> IdempotentResult<T> execute(Key key, Object request, Supplier<T> action);
+
+    /**
+     * An {@code Idempotency-Key} as sent by {@code principal} to the endpoint named by {@code scope}:
+     * clients choose their keys, so the same value from two callers or two endpoints is two keys.
+     */
+    record Key(String principal, String scope, String value) {
+    }
+
+    record IdempotentResult<T>(T value, boolean replayed) {
+    }
+}
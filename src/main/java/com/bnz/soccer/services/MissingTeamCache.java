@@ -0,0 +1,16 @@
+package com.bnz.soccer.services;
+
+import java.util.Collection;
+
+/**
+ * Short-lived memory of team IDs that were looked up and not found, so repeated probes of
+ * the same unknown ID are answered without a query. Writes to a team forget its ID.
+ */
+public interface MissingTeamCache {
+
+    boolean isMissing(Long id);
+
+    void markMissing(Long id);
+
+    void forget(Collection<Long> ids);
+}
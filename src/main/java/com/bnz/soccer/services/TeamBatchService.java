@@ -0,0 +1,12 @@
+package com.bnz.soccer.services;
+
+import com.bnz.soccer.resources.enums.BatchMode;
+import com.bnz.soccer.resources.record.TeamBatchResponse;
+import com.bnz.soccer.resources.record.TeamOperation;
+
+import java.util.List;
+
+public interface TeamBatchService {
+
+    TeamBatchResponse apply(BatchMode mode, List<TeamOperation> operations);
+}
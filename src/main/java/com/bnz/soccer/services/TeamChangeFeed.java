@@ -0,0 +1,13 @@
+package com.bnz.soccer.services;
+
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+public interface TeamChangeFeed {
+
+    List<TeamChangeEvent> since(long sequence);
+
+    SseEmitter subscribe(long lastSequence);
+}
@@ -0,0 +1,13 @@
+package com.bnz.soccer.services;
+
+import com.bnz.soccer.resources.record.TeamIngestTicket;
+import com.bnz.soccer.resources.record.TeamRequest;
+
+public interface TeamIngestService {
+
+    TeamIngestTicket submit(TeamRequest teamRequested);
+
+    TeamIngestTicket getStatus(String trackingId);
+
+    int drain();
+}
@@ -1,27 +1,51 @@
 package com.bnz.soccer.services;
 
         import com.bnz.soccer.data.entity.Team;
+        import com.bnz.soccer.resources.record.TeamChangesResponse;
+        import com.bnz.soccer.resources.record.TeamFieldSelection;
         import com.bnz.soccer.resources.record.TeamRequest;
         import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
         import com.bnz.soccer.resources.record.TeamResponse;
         import org.springframework.data.domain.Page;
 
         import java.math.BigDecimal;
+        import java.time.Instant;
+        import java.util.Collection;
+        import java.util.List;
+        import java.util.Map;
 
 public interface TeamService {
 
-    Page<Team> findWithAllPlayers(Integer pageNumber,
-                                  Integer pageSize,
-                                  String sortBy,
-                                  String sortDirection);
+    Page<TeamResponse> findWithAllPlayers(Integer pageNumber,
+                                          Integer pageSize,
+                                          String sortBy,
+                                          String sortDirection);
+
+    Page<Map<String, Object>> findTeamFields(Integer pageNumber,
+                                             Integer pageSize,
+                                             String sortBy,
+                                             String sortDirection,
+                                             TeamFieldSelection selection);
+
+    TeamResponse findTeam(Long id);
+
+    List<TeamResponse> findTeams(Collection<Long> ids);
 
     TeamResponse addTeam(TeamRequest teamRequested);
 
-    Page<Team> filterTeams(String name, BigDecimal minBudget);
+    Page<TeamResponse> filterTeams(String name, BigDecimal minBudget);
+
+    Page<Map<String, Object>> filterTeamFields(String name, BigDecimal minBudget, TeamFieldSelection selection);
 
     Team updateTeamPartially(Long id, TeamPartialUpdateRequest partialUpdate);
 
-    Team updateTeamFully(Long id, TeamRequest teamRequest);
+    TeamResponse updateTeamFully(Long id, TeamRequest teamRequest);
 
     void deleteTeam(Long id);
+
+    void deleteTeams(Collection<Long> ids, boolean hard);
+
+    TeamChangesResponse findChangesSince(long since, int limit);
+
+    int purgeDeletedTeams(Instant deletedBefore);
 }
@@ -0,0 +1,13 @@
+package com.bnz.soccer.services;
+
+import com.bnz.soccer.resources.record.TransferRequest;
+import com.bnz.soccer.resources.record.TransferResponse;
+
+import java.util.List;
+
+public interface TransferService {
+
+    TransferResponse transfer(TransferRequest transfer);
+
+    List<TransferResponse> transferAll(List<TransferRequest> transfers);
+}
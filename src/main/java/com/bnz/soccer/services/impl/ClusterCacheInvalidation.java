@@ -0,0 +1,98 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.services.ClusterInvalidationBus;
+import com.bnz.soccer.services.MissingTeamCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the second-level cache of every node consistent with writes made on any node.
+ * <p>
+ * Local writes are already handled by Hibernate; their team IDs are collected per transaction
+ * and handed to the {@link ClusterInvalidationBus} once, just before commit. IDs received from
+ * other nodes are evicted from the team and roster regions and from the {@link MissingTeamCache},
+ * and the cached team queries are dropped.
+ * Without {@code soccer.cluster.invalidation} no bus is configured and the node runs standalone.
+ */
+@Component
+public class ClusterCacheInvalidation {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterCacheInvalidation.class);
+
+    private static final String PLAYERS_ROLE = Team.class.getName() + ".players";
+    private static final String QUERY_REGION = "team.queries";
+
+    private final ClusterInvalidationBus bus;
+    private final Cache cache;
+    private final MissingTeamCache missingTeams;
+
+    public ClusterCacheInvalidation(ObjectProvider<ClusterInvalidationBus> bus,
+                                    EntityManagerFactory entityManagerFactory,
+                                    MissingTeamCache missingTeams) {
+        this.bus = bus.getIfAvailable();
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.missingTeams = missingTeams;
+        if (this.bus != null) {
+            this.bus.subscribe(this::evict);
+        }
+    }
+
+    @EventListener
+    public void onTeamChange(TeamChangeEvent event) {
+        if (bus == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bus.broadcast(List.of(event.teamId()));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> ids = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    bus.broadcast(ids);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ClusterCacheInvalidation.this);
+                }
+            });
+            pending = ids;
+        }
+        pending.add(event.teamId());
+    }
+
+    // Player entries need no eviction: a roster change replaces the players, so stale
+    // player IDs are no longer referenced once the team's collection entry is gone
+    void evict(Collection<Long> teamIds) {
+        for (Long id : teamIds) {
+            cache.evictEntityData(Team.class, id);
+            cache.evictCollectionData(PLAYERS_ROLE, id);
+        }
+        cache.evictQueryRegion(QUERY_REGION);
+        // A team created on another node may have been probed here while it did not exist
+        missingTeams.forget(teamIds);
+        log.debug("Evicted {} teams changed on other nodes", teamIds.size());
+    }
+}
@@ -0,0 +1,252 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.SoccerApiApplication;
+import com.bnz.soccer.data.config.JdbcFlightRecorderEvents;
+import com.bnz.soccer.resources.enums.FlightRecordingState;
+import com.bnz.soccer.resources.record.FlightRecordingStatus;
+import com.bnz.soccer.resources.record.FlightRecordingSummary;
+import com.bnz.soccer.services.FlightRecordingService;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Records with the {@code jfr/soccer.jfc} preset into a temporary file, capped at
+ * {@code soccer.jfr.max-size} on disk and stopped by the JVM once its duration is over.
+ * The summary is read from the file on the first status request after the recording stopped.
+ */
+@Service
+public class FlightRecordingServiceImpl implements FlightRecordingService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecordingServiceImpl.class);
+
+    private static final String PRESET = "jfr/soccer.jfc";
+    private static final String APPLICATION_PACKAGE = SoccerApiApplication.class.getPackageName() + ".";
+    private static final int TOP_FRAMES = 10;
+
+    private final Configuration preset;
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    private Recording recording;
+    private String name;
+    private Path file;
+    private Instant startedAt;
+    private Duration duration;
+    private FlightRecordingSummary summary;
+
+    public FlightRecordingServiceImpl(@Value("${soccer.jfr.default-duration:PT30S}") Duration defaultDuration,
+                                      @Value("${soccer.jfr.max-duration:PT5M}") Duration maxDuration,
+                                      @Value("${soccer.jfr.max-size:100MB}") DataSize maxSize)
+            throws IOException, ParseException {
+        try (Reader reader = new InputStreamReader(new ClassPathResource(PRESET).getInputStream(), StandardCharsets.UTF_8)) {
+            this.preset = Configuration.create(reader);
+        }
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized FlightRecordingStatus start(Duration requested) {
+        Duration length = requested != null ? requested : defaultDuration;
+        if (length.isNegative() || length.isZero() || length.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("The recording duration must be positive and at most " + maxDuration);
+        }
+        if (state() == FlightRecordingState.RUNNING) {
+            throw new IllegalStateException("Recording " + name + " is already running");
+        }
+        discard();
+
+        startedAt = Instant.now();
+        name = "soccer-" + startedAt.toEpochMilli();
+        duration = length;
+        recording = new Recording(preset);
+        recording.setName(name);
+        recording.setToDisk(true);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setDuration(length);
+        try {
+            file = Files.createTempFile(name + "-", ".jfr");
+            recording.setDestination(file);
+        } catch (IOException ex) {
+            discard();
+            throw new UncheckedIOException(ex);
+        }
+        recording.start();
+        log.info("Flight recording {} started for {} into {}", name, length, file);
+        return status();
+    }
+
+    @Override
+    public synchronized FlightRecordingStatus stop() {
+        if (state() != FlightRecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        log.info("Flight recording {} stopped", name);
+        return status();
+    }
+
+    @Override
+    public synchronized FlightRecordingStatus status() {
+        FlightRecordingState state = state();
+        if (state == FlightRecordingState.IDLE) {
+            return FlightRecordingStatus.idle();
+        }
+        Long size = null;
+        if (state == FlightRecordingState.STOPPED) {
+            try {
+                size = Files.size(file);
+                if (summary == null) {
+                    summary = summarize(file);
+                }
+            } catch (IOException ex) {
+                // Not fully written yet: the next status request reads it again
+                log.warn("Flight recording {} could not be read: {}", name, ex.getMessage());
+            }
+        }
+        return new FlightRecordingStatus(state, name, startedAt, duration, size, summary);
+    }
+
+    @Override
+    public synchronized Optional<Path> recording(String name) {
+        if (state() != FlightRecordingState.STOPPED || !name.equals(this.name) || !Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        discard();
+    }
+
+    private FlightRecordingState state() {
+        if (recording == null) {
+            return FlightRecordingState.IDLE;
+        }
+        return switch (recording.getState()) {
+            case NEW, DELAYED, RUNNING -> FlightRecordingState.RUNNING;
+            case STOPPED, CLOSED -> FlightRecordingState.STOPPED;
+        };
+    }
+
+    private void discard() {
+        if (recording == null) {
+            return;
+        }
+        recording.close();
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("Flight recording {} could not be deleted: {}", file, ex.getMessage());
+            }
+        }
+        recording = null;
+        name = null;
+        file = null;
+        startedAt = null;
+        duration = null;
+        summary = null;
+    }
+
+    static FlightRecordingSummary summarize(Path file) throws IOException {
+        Map<String, Long> samplesByFrame = new HashMap<>();
+        Map<String, Long> bytesByFrame = new HashMap<>();
+        long executionSamples = 0;
+        long jdbcExecutions = 0;
+        long connectionWaits = 0;
+        long contendedLocks = 0;
+        long slowSocketOperations = 0;
+        Duration jdbcTime = Duration.ZERO;
+        Duration connectionWaitTime = Duration.ZERO;
+        Duration contendedLockTime = Duration.ZERO;
+        Duration slowSocketTime = Duration.ZERO;
+
+        try (RecordingFile events = new RecordingFile(file)) {
+            while (events.hasMoreEvents()) {
+                RecordedEvent event = events.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        executionSamples++;
+                        applicationFrame(event).ifPresent(frame -> samplesByFrame.merge(frame, 1L, Long::sum));
+                    }
+                    case "jdk.ObjectAllocationSample" -> applicationFrame(event)
+                            .ifPresent(frame -> bytesByFrame.merge(frame, event.getLong("weight"), Long::sum));
+                    case JdbcFlightRecorderEvents.EXECUTION -> {
+                        jdbcExecutions++;
+                        jdbcTime = jdbcTime.plus(event.getDuration());
+                    }
+                    case JdbcFlightRecorderEvents.CONNECTION_ACQUISITION -> {
+                        connectionWaits++;
+                        connectionWaitTime = connectionWaitTime.plus(event.getDuration());
+                    }
+                    case "jdk.JavaMonitorEnter" -> {
+                        contendedLocks++;
+                        contendedLockTime = contendedLockTime.plus(event.getDuration());
+                    }
+                    case "jdk.SocketRead", "jdk.SocketWrite" -> {
+                        slowSocketOperations++;
+                        slowSocketTime = slowSocketTime.plus(event.getDuration());
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        return new FlightRecordingSummary(executionSamples, top(samplesByFrame), top(bytesByFrame),
+                jdbcExecutions, jdbcTime, connectionWaits, connectionWaitTime,
+                contendedLocks, contendedLockTime, slowSocketOperations, slowSocketTime);
+    }
+
+    // Innermost frame of our own code: the JDK, Hibernate or Jackson frames above it are what it called
+    private static Optional<String> applicationFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return Optional.empty();
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return Optional.of(type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static List<FlightRecordingSummary.Frame> top(Map<String, Long> valueByFrame) {
+        return valueByFrame.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_FRAMES)
+                .map(entry -> new FlightRecordingSummary.Frame(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
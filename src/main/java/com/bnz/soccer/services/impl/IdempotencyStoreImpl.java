@@ -0,0 +1,91 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.exceptions.IdempotencyKeyReusedException;
+import com.bnz.soccer.services.IdempotencyStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory store of recent responses, keyed by caller, endpoint and {@code Idempotency-Key}.
+ * <p>
+ * Only successful results are kept: a failed attempt is forgotten so the client can retry it.
+ * Concurrent retries of an in-flight request wait for its outcome rather than running it again.
+ * Past {@code max-entries} the oldest key is dropped, in flight or not: retries already waiting on it
+ * still get its outcome, a later one runs again.
+ */
+@Service
+public class IdempotencyStoreImpl implements IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStoreImpl.class);
+
+    private final Duration ttl;
+
+    // Insertion order is the eviction order; guarded by itself
+    private final Map<Key, Entry> entries;
+
+    public IdempotencyStoreImpl(@Value("${soccer.idempotency.max-entries:10000}") int maxEntries,
+                                @Value("${soccer.idempotency.ttl:PT24H}") Duration ttl) {
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> IdempotentResult<T> execute(Key key, Object request, Supplier<T> action) {
+        Instant now = Instant.now();
+        Entry fresh = new Entry(request, new CompletableFuture<>(), now.plus(ttl));
+        Entry existing;
+        synchronized (entries) {
+            existing = entries.get(key);
+            if (existing == null || existing.expiresAt.isBefore(now)) {
+                // Removed first so that a replaced key moves to the end of the eviction order
+                entries.remove(key);
+                entries.put(key, fresh);
+                existing = fresh;
+            }
+        }
+
+        if (existing != fresh) {
+            if (!Objects.equals(existing.request, request)) {
+                throw new IdempotencyKeyReusedException(key.value());
+            }
+            log.info("Replaying response for Idempotency-Key {} of {}", key.value(), key.principal());
+            try {
+                return new IdempotentResult<>((T) existing.result.join(), true);
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+
+        try {
+            T value = action.get();
+            fresh.result.complete(value);
+            return new IdempotentResult<>(value, false);
+        } catch (RuntimeException ex) {
+            synchronized (entries) {
+                entries.remove(key, fresh);
+            }
+            fresh.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> result, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.services.ClusterInvalidationBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus: every subscriber of this instance receives the IDs once the writing
+ * transaction commits. Used in tests, where several subscribers stand in for several nodes.
+ */
+@Service
+@ConditionalOnProperty(name = "soccer.cluster.invalidation", havingValue = "loopback")
+public class LoopbackInvalidationBus implements ClusterInvalidationBus {
+
+    private final List<Consumer<Collection<Long>>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void broadcast(Collection<Long> teamIds) {
+        List<Long> ids = List.copyOf(teamIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(ids);
+                }
+            });
+        } else {
+            deliver(ids);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Collection<Long>> listener) {
+        listeners.add(listener);
+    }
+
+    private void deliver(List<Long> ids) {
+        listeners.forEach(listener -> listener.accept(ids));
+    }
+}
@@ -0,0 +1,68 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.services.MissingTeamCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded map of missing team IDs to their expiry. Local writes are forgotten once committed,
+ * writes on other nodes through {@link ClusterCacheInvalidation}. A lookup that started before
+ * a concurrent create committed can still mark the new ID missing: the TTL bounds that window.
+ */
+@Service
+public class MissingTeamCacheImpl implements MissingTeamCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final Map<Long, Long> expiries = new ConcurrentHashMap<>();
+
+    public MissingTeamCacheImpl(@Value("${soccer.missing-teams.ttl:PT2S}") Duration ttl,
+                                @Value("${soccer.missing-teams.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public boolean isMissing(Long id) {
+        Long expiresAt = expiries.get(id);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - expiresAt >= 0) {
+            expiries.remove(id, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void markMissing(Long id) {
+        long now = System.nanoTime();
+        if (expiries.size() >= maxEntries) {
+            expiries.values().removeIf(expiresAt -> now - expiresAt >= 0);
+            // Still full of live entries: a flood of distinct IDs, caching them would not pay off
+            if (expiries.size() >= maxEntries) {
+                return;
+            }
+        }
+        expiries.put(id, now + ttlNanos);
+    }
+
+    @Override
+    public void forget(Collection<Long> ids) {
+        ids.forEach(expiries::remove);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChange(TeamChangeEvent event) {
+        expiries.remove(event.teamId());
+    }
+}
@@ -0,0 +1,132 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.services.ClusterInvalidationBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Database-backed bus for nodes that share nothing but the database. Writers insert one
+ * {@code team_invalidation} row per team just before their write commits, in the writing transaction
+ * itself, so an invalidation exists exactly when the write committed. Every node polls the rows written
+ * by the others.
+ * <p>
+ * Polling reads by row ID, which is drawn at insert but becomes visible at commit: a row of a longer
+ * transaction can show up after higher ones. An ID skipped by a poll is kept as a gap and looked up
+ * again on every poll until its row commits or the grace period runs out, a rolled-back insert leaving
+ * a gap that never fills. An invalidation therefore reaches every node within one poll interval of its
+ * commit, as long as the writing transaction commits within the grace period of its insert; the
+ * retention must be longer than the grace period so no row is purged before it was read.
+ */
+@Service
+@ConditionalOnProperty(name = "soccer.cluster.invalidation", havingValue = "outbox")
+public class OutboxInvalidationBus implements ClusterInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxInvalidationBus.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final Duration grace;
+    private final Duration retention;
+
+    private final List<Consumer<Collection<Long>>> listeners = new CopyOnWriteArrayList<>();
+    // Highest ID read, and the lower IDs not read yet with the time they were skipped
+    private Long cursor;
+    private final NavigableMap<Long, Instant> gaps = new TreeMap<>();
+
+    public OutboxInvalidationBus(JdbcTemplate jdbcTemplate,
+                                 @Value("${soccer.cluster.node-id:}") String nodeId,
+                                 @Value("${soccer.cluster.grace:PT10M}") Duration grace,
+                                 @Value("${soccer.cluster.retention:PT1H}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.grace = grace;
+        this.retention = retention;
+        log.info("Cluster cache invalidation through the database outbox, node {}", this.nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // Joins the caller's transaction: one batched insert, committed or rolled back with the write
+    @Override
+    public void broadcast(Collection<Long> teamIds) {
+        jdbcTemplate.batchUpdate("INSERT INTO team_invalidation (node_id, team_id) VALUES (?, ?)",
+                teamIds.stream().map(id -> new Object[]{nodeId, id}).toList());
+    }
+
+    @Override
+    public void subscribe(Consumer<Collection<Long>> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${soccer.cluster.poll-interval-ms:1000}")
+    public synchronized int poll() {
+        Instant now = jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class).toInstant();
+        if (cursor == null) {
+            // A fresh node has nothing cached yet, so it starts with the rows of the last grace period
+            cursor = jdbcTemplate.queryForObject("SELECT COALESCE("
+                            + "(SELECT MIN(id) - 1 FROM team_invalidation WHERE created_at >= ?), "
+                            + "(SELECT MAX(id) FROM team_invalidation), 0)",
+                    Long.class, Timestamp.from(now.minus(grace)));
+        }
+        List<Object> arguments = new ArrayList<>();
+        arguments.add(cursor);
+        arguments.addAll(gaps.keySet());
+        String sql = "SELECT id, node_id, team_id FROM team_invalidation WHERE id > ?"
+                + (gaps.isEmpty() ? "" : " OR id IN (" + String.join(", ", Collections.nCopies(gaps.size(), "?")) + ")")
+                + " ORDER BY id";
+
+        Set<Long> teamIds = new LinkedHashSet<>();
+        jdbcTemplate.query(sql, row -> {
+            long id = row.getLong("id");
+            if (id > cursor) {
+                for (long skipped = cursor + 1; skipped < id; skipped++) {
+                    gaps.put(skipped, now);
+                }
+                cursor = id;
+            } else {
+                gaps.remove(id);
+            }
+            if (!nodeId.equals(row.getString("node_id"))) {
+                teamIds.add(row.getLong("team_id"));
+            }
+        }, arguments.toArray());
+
+        // Rolled back, or written by a transaction longer than the grace period
+        Instant expired = now.minus(grace);
+        int before = gaps.size();
+        gaps.values().removeIf(skipped -> skipped.isBefore(expired));
+        if (gaps.size() < before) {
+            log.debug("Gave up on {} outbox IDs not committed within {}", before - gaps.size(), grace);
+        }
+
+        if (!teamIds.isEmpty()) {
+            log.debug("Invalidating {} teams written by other nodes", teamIds.size());
+            listeners.forEach(listener -> listener.accept(teamIds));
+        }
+
+        jdbcTemplate.update("DELETE FROM team_invalidation WHERE created_at < ?", Timestamp.from(now.minus(retention)));
+        return teamIds.size();
+    }
+}
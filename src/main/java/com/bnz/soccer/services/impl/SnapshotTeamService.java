@@ -0,0 +1,265 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.data.snapshot.LeagueSnapshot;
+import com.bnz.soccer.data.snapshot.LeagueSnapshotLoader;
+import com.bnz.soccer.exceptions.TeamNotFoundException;
+import com.bnz.soccer.resources.enums.TeamSortField;
+import com.bnz.soccer.resources.record.PlayerResponse;
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.resources.record.TeamChangesResponse;
+import com.bnz.soccer.resources.record.TeamFieldSelection;
+import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
+import com.bnz.soccer.resources.record.TeamRequest;
+import com.bnz.soccer.resources.record.TeamResponse;
+import com.bnz.soccer.services.ClusterInvalidationBus;
+import com.bnz.soccer.services.TeamService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Read engine serving team listings, filters and lookups from an in-memory {@link LeagueSnapshot},
+ * without locks, transactions or database access. Writes go to {@link TeamServiceImpl} as usual;
+ * the teams they touched are re-read once the transaction commits and swapped into a new snapshot,
+ * published through a single volatile reference. Writes on other nodes arrive through the
+ * {@link ClusterInvalidationBus}. Until the first full load completes, reads fall through to the
+ * database. Enabled with {@code soccer.snapshot.enabled=true}.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "soccer.snapshot.enabled", havingValue = "true")
+public class SnapshotTeamService implements TeamService, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotTeamService.class);
+
+    private static final int FILTER_PAGE_SIZE = 10;
+
+    private final TeamServiceImpl delegate;
+    private final LeagueSnapshotLoader loader;
+
+    // Refreshes read the database and swap the snapshot under this lock, so the last one to
+    // run always reads after every commit that triggered an earlier one
+    private final Object writeLock = new Object();
+    private volatile LeagueSnapshot snapshot;
+
+    public SnapshotTeamService(TeamServiceImpl delegate,
+                               LeagueSnapshotLoader loader,
+                               ObjectProvider<ClusterInvalidationBus> bus) {
+        this.delegate = delegate;
+        this.loader = loader;
+        ClusterInvalidationBus invalidations = bus.getIfAvailable();
+        if (invalidations != null) {
+            invalidations.subscribe(this::refresh);
+        }
+    }
+
+    // After the runners, so seeded data is included, and before the warmup (StartupWarmup)
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public void load() {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            snapshot = LeagueSnapshot.of(loader.loadAll());
+            log.info("League snapshot loaded: {} teams, ~{} KiB in {} ms", snapshot.size(),
+                    snapshot.footprintBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @EventListener
+    public void onTeamChange(TeamChangeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(List.of(event.teamId()));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> ids = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(ids);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SnapshotTeamService.this);
+                }
+            });
+            pending = ids;
+        }
+        pending.add(event.teamId());
+    }
+
+    void refresh(Collection<Long> teamIds) {
+        synchronized (writeLock) {
+            LeagueSnapshot current = snapshot;
+            // Not loaded yet: the full load will read these teams anyway
+            if (current == null) {
+                return;
+            }
+            List<LeagueSnapshot.Entry> live = loader.load(teamIds);
+            Set<Long> removed = new HashSet<>(teamIds);
+            live.forEach(team -> removed.remove(team.id()));
+            snapshot = current.with(live, removed);
+        }
+        log.debug("League snapshot refreshed for {} teams", teamIds.size());
+    }
+
+    LeagueSnapshot current() {
+        return snapshot;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("soccer.snapshot.footprint", this, s -> s.snapshot == null ? 0 : s.snapshot.footprintBytes())
+                .description("Estimated memory held by the in-memory league snapshot")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("soccer.snapshot.teams", this, s -> s.snapshot == null ? 0 : s.snapshot.size())
+                .description("Teams held by the in-memory league snapshot")
+                .register(registry);
+    }
+
+    @Override
+    public Page<TeamResponse> findWithAllPlayers(Integer pageNumber, Integer pageSize, String sortBy, String sortDirection) {
+        LeagueSnapshot league = snapshot;
+        if (league == null) {
+            return delegate.findWithAllPlayers(pageNumber, pageSize, sortBy, sortDirection);
+        }
+        TeamSortField field = TeamSortField.fromProperty(sortBy);
+        boolean descending = "desc".equalsIgnoreCase(sortDirection);
+
+        List<TeamResponse> content = league.page(field, descending, (long) pageNumber * pageSize, pageSize).stream()
+                .map(SnapshotTeamService::toResponse)
+                .toList();
+        return new PageImpl<>(content,
+                PageRequest.of(pageNumber, pageSize, TeamServiceImpl.sortOf(sortBy, sortDirection)), league.size());
+    }
+
+    @Override
+    public Page<TeamResponse> filterTeams(String name, BigDecimal minBudget) {
+        LeagueSnapshot league = snapshot;
+        if (league == null) {
+            return delegate.filterTeams(name, minBudget);
+        }
+        LeagueSnapshot.Matches matches = league.filter(name, minBudget, FILTER_PAGE_SIZE);
+        return new PageImpl<>(matches.teams().stream().map(SnapshotTeamService::toResponse).toList(),
+                PageRequest.of(0, FILTER_PAGE_SIZE), matches.total());
+    }
+
+    @Override
+    public TeamResponse findTeam(Long id) {
+        LeagueSnapshot league = snapshot;
+        if (league == null) {
+            return delegate.findTeam(id);
+        }
+        LeagueSnapshot.Entry team = league.find(id);
+        if (team == null) {
+            throw new TeamNotFoundException(id);
+        }
+        return toResponse(team);
+    }
+
+    @Override
+    public List<TeamResponse> findTeams(Collection<Long> ids) {
+        LeagueSnapshot league = snapshot;
+        if (league == null) {
+            return delegate.findTeams(ids);
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.isEmpty() || distinctIds.size() > TeamServiceImpl.MAX_BULK_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + TeamServiceImpl.MAX_BULK_IDS + " team ids are required");
+        }
+        return distinctIds.stream()
+                .map(league::find)
+                .filter(Objects::nonNull)
+                .map(SnapshotTeamService::toResponse)
+                .toList();
+    }
+
+    // Projections and everything that writes still go through the database
+
+    @Override
+    public Page<Map<String, Object>> findTeamFields(Integer pageNumber, Integer pageSize, String sortBy,
+                                                    String sortDirection, TeamFieldSelection selection) {
+        return delegate.findTeamFields(pageNumber, pageSize, sortBy, sortDirection, selection);
+    }
+
+    @Override
+    public Page<Map<String, Object>> filterTeamFields(String name, BigDecimal minBudget, TeamFieldSelection selection) {
+        return delegate.filterTeamFields(name, minBudget, selection);
+    }
+
+    @Override
+    public TeamResponse addTeam(TeamRequest teamRequested) {
+        return delegate.addTeam(teamRequested);
+    }
+
+    @Override
+    public Team updateTeamPartially(Long id, TeamPartialUpdateRequest partialUpdate) {
+        return delegate.updateTeamPartially(id, partialUpdate);
+    }
+
+    @Override
+    public TeamResponse updateTeamFully(Long id, TeamRequest teamRequest) {
+        return delegate.updateTeamFully(id, teamRequest);
+    }
+
+    @Override
+    public void deleteTeam(Long id) {
+        delegate.deleteTeam(id);
+    }
+
+    @Override
+    public void deleteTeams(Collection<Long> ids, boolean hard) {
+        delegate.deleteTeams(ids, hard);
+    }
+
+    @Override
+    public TeamChangesResponse findChangesSince(long since, int limit) {
+        return delegate.findChangesSince(since, limit);
+    }
+
+    @Override
+    public int purgeDeletedTeams(Instant deletedBefore) {
+        return delegate.purgeDeletedTeams(deletedBefore);
+    }
+
+    private static TeamResponse toResponse(LeagueSnapshot.Entry team) {
+        List<PlayerResponse> players = new ArrayList<>(team.playerCount());
+        for (int i = 0; i < team.playerCount(); i++) {
+            players.add(new PlayerResponse(team.playerIds()[i], team.playerNames()[i], team.position(i)));
+        }
+        return new TeamResponse(team.id(), team.name(), team.acronym(), team.budget(), players);
+    }
+}
@@ -0,0 +1,148 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.resources.enums.TeamSortField;
+import com.bnz.soccer.resources.record.PageResponse;
+import com.bnz.soccer.resources.record.TeamResponse;
+import com.bnz.soccer.services.TeamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the read path up before the application reports ready: readiness only turns to
+ * ACCEPTING_TRAFFIC once every {@link ApplicationReadyEvent} listener has returned, this one last.
+ * <p>
+ * Fills every Hikari pool to its maximum size, then replays the team listing (every sort field, both
+ * directions, the first pages), the filter and the lookup by ID through the {@link TeamService} in use,
+ * serializing each result with the MVC {@link ObjectMapper}. That compiles the hot code, fills
+ * Hibernate's query plan cache, the second-level and query caches, and Jackson's serializer cache.
+ * Stops after {@code soccer.warmup.iterations} rounds or {@code soccer.warmup.max-duration}, whichever
+ * comes first; a failure is logged and never blocks startup. The time spent is exported as
+ * {@code soccer.warmup.duration}. Enabled with {@code soccer.warmup.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "soccer.warmup.enabled", havingValue = "true")
+public class StartupWarmup implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_PAGES = 10;
+    private static final TeamSortField[] SORT_FIELDS = TeamSortField.values();
+
+    private final TeamService teamService;
+    private final ObjectMapper objectMapper;
+    private final List<HikariDataSource> pools;
+    private final int iterations;
+    private final Duration maxDuration;
+
+    private volatile long durationNanos;
+    private int rounds;
+
+    public StartupWarmup(TeamService teamService,
+                         ObjectMapper objectMapper,
+                         List<HikariDataSource> pools,
+                         @Value("${soccer.warmup.iterations:200}") int iterations,
+                         @Value("${soccer.warmup.max-duration:PT30S}") Duration maxDuration) {
+        this.teamService = teamService;
+        this.objectMapper = objectMapper;
+        this.pools = pools;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+    }
+
+    // After the snapshot load, so a snapshot-backed service is warmed on the path it will serve
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        long start = System.nanoTime();
+        try {
+            primeConnectionPools();
+            replayReads(start + maxDuration.toNanos());
+        } catch (RuntimeException | SQLException | JsonProcessingException ex) {
+            log.warn("Warmup stopped after {} rounds: {}", rounds, ex.toString());
+        }
+        durationNanos = System.nanoTime() - start;
+        log.info("Warmup done: {} rounds in {} ms", rounds, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("soccer.warmup.duration", this, TimeUnit.NANOSECONDS, w -> w.durationNanos)
+                .description("Time spent warming the read path up before reporting ready")
+                .register(registry);
+    }
+
+    // All connections held at once, so each pool opens every one of them now rather than under load
+    private void primeConnectionPools() throws SQLException {
+        for (HikariDataSource pool : pools) {
+            List<Connection> connections = new ArrayList<>(pool.getMaximumPoolSize());
+            try {
+                for (int i = 0; i < pool.getMaximumPoolSize(); i++) {
+                    connections.add(pool.getConnection());
+                }
+            } finally {
+                for (Connection connection : connections) {
+                    connection.close();
+                }
+            }
+            log.debug("Pool {} primed with {} connections", pool.getPoolName(), connections.size());
+        }
+    }
+
+    private void replayReads(long deadline) throws JsonProcessingException {
+        // The first page gives the number of pages to cycle through, IDs to look up and filter terms
+        Page<TeamResponse> first = teamService.findWithAllPlayers(0, PAGE_SIZE, "name", "asc");
+        objectMapper.writeValueAsBytes(PageResponse.of(first));
+        int pages = (int) Math.max(1, Math.min(MAX_PAGES, first.getTotalPages()));
+        List<Long> ids = first.getContent().stream().map(TeamResponse::id).toList();
+        List<String> terms = filterTerms(first.getContent());
+
+        while (rounds < iterations && System.nanoTime() < deadline) {
+            TeamSortField field = SORT_FIELDS[rounds % SORT_FIELDS.length];
+            String direction = (rounds / SORT_FIELDS.length) % 2 == 0 ? "asc" : "desc";
+            objectMapper.writeValueAsBytes(PageResponse.of(teamService.findWithAllPlayers(rounds % pages, PAGE_SIZE,
+                    field.property(), direction)));
+            objectMapper.writeValueAsBytes(PageResponse.of(teamService.filterTeams(terms.get(rounds % terms.size()),
+                    rounds % 2 == 0 ? null : BigDecimal.ONE)));
+            if (!ids.isEmpty()) {
+                objectMapper.writeValueAsBytes(teamService.findTeam(ids.get(rounds % ids.size())));
+            }
+            rounds++;
+        }
+    }
+
+    // First word of each team name, lower-cased like a user would type it
+    private static List<String> filterTerms(List<TeamResponse> teams) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (TeamResponse team : teams) {
+            terms.add(team.name().split(" ")[0].toLowerCase(Locale.ROOT));
+        }
+        terms.add("");
+        return List.copyOf(terms);
+    }
+}
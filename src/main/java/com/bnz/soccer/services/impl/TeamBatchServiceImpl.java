@@ -0,0 +1,335 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.controllers.validation.TeamRequestValidator;
+import com.bnz.soccer.data.entity.Player;
+import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.data.mapper.TeamMapper;
+import com.bnz.soccer.data.repository.TeamRepository;
+import com.bnz.soccer.exceptions.TeamAlreadyExistsException;
+import com.bnz.soccer.exceptions.TeamNotFoundException;
+import com.bnz.soccer.resources.enums.BatchMode;
+import com.bnz.soccer.resources.enums.ChangeType;
+import com.bnz.soccer.resources.enums.TeamOperationType;
+import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.TeamBatchResponse;
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.resources.record.TeamOperation;
+import com.bnz.soccer.resources.record.TeamOperationResult;
+import com.bnz.soccer.resources.record.TeamRequest;
+import com.bnz.soccer.services.TeamBatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.bnz.soccer.resources.enums.TeamOperationType.CREATE;
+import static com.bnz.soccer.resources.enums.TeamOperationType.DELETE;
+import static com.bnz.soccer.resources.enums.TeamOperationType.PATCH;
+import static com.bnz.soccer.resources.enums.TeamOperationType.REPLACE;
+
+/**
+ * Applies an ordered list of team creations, patches, replacements and deletions in one transaction.
+ * <p>
+ * Every operation is first checked against the state left by the ones before it (validation,
+ * existence, acronym ownership) without writing anything, so an atomic batch that fails is rejected
+ * before its first statement. The accepted operations are then written grouped by statement type:
+ * one {@code UPDATE} for every soft delete, then team updates and
+ * roster rows sent as JDBC batches in a single flush, and new teams last. Deletes go first and creations
+ * last so an acronym freed by one operation can be taken by a later one. Moving an acronym between two
+ * existing teams in one batch still trips the unique index, which fails the whole batch with a 409.
+ * Revisions are drawn at commit, in one query for the written teams and one {@code UPDATE} for the tombstones.
+ */
+@Service
+public class TeamBatchServiceImpl implements TeamBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamBatchServiceImpl.class);
+
+    static final int MAX_OPERATIONS = 500;
+
+    // Answered for an update skipped because a later operation deletes its team
+    static final HttpStatus SKIPPED = HttpStatus.GONE;
+
+    // Owner of an acronym taken by a team this batch creates
+    private static final long NEW_TEAM = -1L;
+
+    private final TeamRepository teamRepository;
+    private final TeamMapper teamMapper;
+    private final TeamRequestValidator teamRequestValidator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TeamBatchServiceImpl(TeamRepository teamRepository,
+                                TeamMapper teamMapper,
+                                TeamRequestValidator teamRequestValidator,
+                                ApplicationEventPublisher eventPublisher) {
+        this.teamRepository = teamRepository;
+        this.teamMapper = teamMapper;
+        this.teamRequestValidator = teamRequestValidator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public TeamBatchResponse apply(BatchMode mode, List<TeamOperation> operations) {
+        if (operations.isEmpty() || operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_OPERATIONS + " operations are required");
+        }
+        log.info("Applying {} team operations ({})", operations.size(), mode);
+
+        // 1. Teams addressed by ID, locked in ID order like every other roster write, the rosters about
+        // to be replaced, and the current owners of the acronyms the batch sets: three queries in all
+        Set<Long> ids = new TreeSet<>();
+        Set<Long> replaced = new HashSet<>();
+        Set<String> acronyms = new HashSet<>();
+        for (TeamOperation operation : operations) {
+            if (operation == null || operation.type() == null) {
+                continue;
+            }
+            if (operation.type() != CREATE && operation.id() != null) {
+                ids.add(operation.id());
+            }
+            if (operation.type() == REPLACE && operation.id() != null) {
+                replaced.add(operation.id());
+            }
+            if (operation.team() != null && operation.team().acronym() != null) {
+                acronyms.add(operation.team().acronym());
+            }
+        }
+        Map<Long, Team> teams = ids.isEmpty() ? Map.of() : teamRepository.lockAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        replaced.retainAll(teams.keySet());
+        if (!replaced.isEmpty()) {
+            teamRepository.findWithPlayersByIdIn(replaced);
+        }
+        Map<String, Long> owners = new HashMap<>();
+        teams.values().forEach(team -> owners.put(team.getAcronym(), team.getId()));
+        if (!acronyms.isEmpty()) {
+            teamRepository.findAllByAcronymIn(acronyms).forEach(team -> owners.put(team.getAcronym(), team.getId()));
+        }
+
+        // 2. Check every operation in order, nothing written yet
+        TeamOperationResult[] results = new TeamOperationResult[operations.size()];
+        Set<Long> deleted = new LinkedHashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            results[i] = check(i, operations.get(i), teams, deleted, owners);
+            if (results[i] != null && mode == BatchMode.ATOMIC) {
+                log.info("Team batch rejected at operation {}: {}", i, results[i].detail());
+                return rejected(operations, results[i]);
+            }
+        }
+
+        // 3. Write what was accepted, grouped by statement type
+        if (!deleted.isEmpty()) {
+            teamRepository.softDeleteAllById(deleted, Instant.now());
+        }
+        Set<Team> written = new LinkedHashSet<>();
+        Team[] created = new Team[operations.size()];
+        List<PendingEvent> events = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            TeamOperation operation = operations.get(i);
+            if (results[i] != null) {
+                continue;
+            }
+            Team team = operation.type() == CREATE ? null : teams.get(operation.id());
+            // A team deleted further down the batch is left as the delete found it
+            if ((operation.type() == PATCH || operation.type() == REPLACE) && deleted.contains(team.getId())) {
+                results[i] = skipped(i, operation, operations);
+                continue;
+            }
+            switch (operation.type()) {
+                case CREATE -> {
+                    created[i] = newTeam(operation.team());
+                    events.add(new PendingEvent(ChangeType.CREATED, created[i], null));
+                }
+                case PATCH -> {
+                    Map<String, Object> changes = TeamServiceImpl.applyPartialUpdate(team, operation.changes());
+                    if (!changes.isEmpty()) {
+                        written.add(team);
+                        events.add(new PendingEvent(ChangeType.UPDATED, team, changes));
+                    }
+                }
+                case REPLACE -> {
+                    replace(team, operation.team());
+                    written.add(team);
+                    events.add(new PendingEvent(ChangeType.UPDATED, team, null));
+                }
+                case DELETE -> events.add(new PendingEvent(ChangeType.DELETED, team, Map.of()));
+            }
+        }
+
+        List<Team> creations = Arrays.stream(created).filter(Objects::nonNull).toList();
+
+        // Team updates, removed and added players go out as JDBC batches before any new team takes a freed acronym.
+        // New teams get IDENTITY keys, one INSERT each, which also sends the roster queued before it as one batch
+        teamRepository.flush();
+        teamRepository.saveAll(creations);
+        teamRepository.flush();
+        written.forEach(teamRepository::reviseOnCommit);
+        creations.forEach(teamRepository::reviseOnCommit);
+        teamRepository.reviseOnCommit(deleted);
+
+        int succeeded = 0;
+        int skipped = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            if (results[i] == null) {
+                TeamOperation operation = operations.get(i);
+                Long id = operation.type() == CREATE ? created[i].getId() : operation.id();
+                results[i] = new TeamOperationResult(i, operation.type(), id, successStatus(operation.type()).value(), null);
+                succeeded++;
+            } else if (results[i].status() == SKIPPED.value()) {
+                skipped++;
+            }
+        }
+
+        // Delivered once the surrounding transaction commits
+        for (PendingEvent event : events) {
+            Map<String, Object> changes = event.changes() != null
+                    ? event.changes()
+                    : TeamServiceImpl.snapshotOf(teamMapper.toResponse(event.team()));
+            eventPublisher.publishEvent(TeamChangeEvent.of(event.type(), event.team().getId(), changes));
+        }
+
+        int failed = operations.size() - succeeded - skipped;
+        log.info("Team batch applied: {} operations succeeded, {} skipped, {} failed", succeeded, skipped, failed);
+        return new TeamBatchResponse(mode, true, succeeded, skipped, failed, List.of(results));
+    }
+
+    // The failure of one operation, or null when it can be applied; the in-memory state is updated for the next ones
+    private TeamOperationResult check(int index, TeamOperation operation, Map<Long, Team> teams,
+                                      Set<Long> deleted, Map<String, Long> owners) {
+        if (operation == null || operation.type() == null) {
+            return failure(index, operation, HttpStatus.BAD_REQUEST, "type is required");
+        }
+        TeamOperationType type = operation.type();
+        Long id = operation.id();
+        String invalid = invalid(operation);
+        if (invalid != null) {
+            return failure(index, operation, HttpStatus.BAD_REQUEST, invalid);
+        }
+        if (type != CREATE && (!teams.containsKey(id) || deleted.contains(id))) {
+            return failure(index, operation, HttpStatus.NOT_FOUND, new TeamNotFoundException(id).getMessage());
+        }
+        if (type == CREATE || type == REPLACE) {
+            String acronym = operation.team().acronym();
+            Long owner = owners.get(acronym);
+            if (owner != null && !owner.equals(id)) {
+                return failure(index, operation, HttpStatus.CONFLICT, new TeamAlreadyExistsException(acronym).getMessage());
+            }
+            if (type == REPLACE) {
+                owners.values().remove(id);
+            }
+            owners.put(acronym, type == CREATE ? NEW_TEAM : id);
+        }
+        if (type == DELETE) {
+            owners.values().remove(id);
+            deleted.add(id);
+        }
+        return null;
+    }
+
+    // Same rules and messages as the single-team endpoints, fields prefixed with the request property
+    private String invalid(TeamOperation operation) {
+        TeamOperationType type = operation.type();
+        if (type != CREATE && operation.id() == null) {
+            return "id is required for " + type;
+        }
+        Object body = switch (type) {
+            case CREATE, REPLACE -> operation.team();
+            case PATCH -> operation.changes();
+            case DELETE -> null;
+        };
+        String property = type == PATCH ? "changes" : "team";
+        if (body == null) {
+            return type == DELETE ? null : property + " is required for " + type;
+        }
+        BindingResult errors = new BeanPropertyBindingResult(body, property);
+        teamRequestValidator.validate(body, errors);
+        if (!errors.hasErrors()) {
+            return null;
+        }
+        return errors.getFieldErrors().stream()
+                .map(error -> property + "." + error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    private Team newTeam(TeamRequest request) {
+        Team team = teamMapper.toEntity(request);
+        if (team.getPlayers() == null) {
+            team.setPlayers(new ArrayList<>());
+        }
+        team.getPlayers().forEach(player -> player.setTeam(team));
+        team.countPlayers();
+        return team;
+    }
+
+    // Old players are orphan-removed at flush; no early flush, so their deletes are batched too
+    private static void replace(Team team, TeamRequest request) {
+        team.getPlayers().clear();
+        team.setName(request.name());
+        team.setAcronym(request.acronym());
+        team.setBudget(request.budget());
+        if (request.players() != null) {
+            for (PlayerRequest p : request.players()) {
+                Player player = new Player();
+                player.setName(p.name());
+                player.setPosition(p.position());
+                player.setTeam(team);
+                team.getPlayers().add(player);
+            }
+        }
+        team.countPlayers();
+    }
+
+    // Atomic batches stop at the first failure: the others are reported as not applied
+    private static TeamBatchResponse rejected(List<TeamOperation> operations, TeamOperationResult failure) {
+        List<TeamOperationResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            results.add(i == failure.index() ? failure : failure(i, operations.get(i), HttpStatus.FAILED_DEPENDENCY,
+                    "Not applied: operation " + failure.index() + " failed"));
+        }
+        return new TeamBatchResponse(BatchMode.ATOMIC, false, 0, 0, operations.size(), results);
+    }
+
+    // An update that the later deletion of its team makes moot: valid, but never written
+    private static TeamOperationResult skipped(int index, TeamOperation operation, List<TeamOperation> operations) {
+        int deletion = index + 1;
+        while (operations.get(deletion).type() != DELETE || !operation.id().equals(operations.get(deletion).id())) {
+            deletion++;
+        }
+        return failure(index, operation, SKIPPED, "Skipped: the team is deleted by operation " + deletion);
+    }
+
+    private static TeamOperationResult failure(int index, TeamOperation operation, HttpStatus status, String detail) {
+        return operation == null
+                ? new TeamOperationResult(index, null, null, status.value(), detail)
+                : new TeamOperationResult(index, operation.type(), operation.id(), status.value(), detail);
+    }
+
+    // What the single-team endpoint answers on success
+    private static HttpStatus successStatus(TeamOperationType type) {
+        return switch (type) {
+            case CREATE -> HttpStatus.CREATED;
+            case DELETE -> HttpStatus.NO_CONTENT;
+            case PATCH, REPLACE -> HttpStatus.OK;
+        };
+    }
+
+    private record PendingEvent(ChangeType type, Team team, Map<String, Object> changes) {}
+}
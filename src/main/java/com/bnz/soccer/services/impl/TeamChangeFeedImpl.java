@@ -0,0 +1,146 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.services.TeamChangeFeed;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-memory ring buffer of committed team changes, streamed to subscribers as
+ * Server-Sent Events. Subscribers resume from the last sequence they saw; when
+ * that sequence has already been overwritten, or is ahead of the feed because it
+ * was handed out before a restart, they receive a {@code reset} event and must
+ * resynchronise from {@code GET /api/teams}.
+ */
+@Service
+public class TeamChangeFeedImpl implements TeamChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamChangeFeedImpl.class);
+
+    private final TeamChangeEvent[] buffer;
+    private final long emitterTimeoutMs;
+    private long lastSequence;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // All sends happen on this thread so writers never block on slow clients
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "team-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TeamChangeFeedImpl(@Value("${soccer.events.buffer-capacity:1024}") int capacity,
+                              @Value("${soccer.events.emitter-timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.buffer = new TeamChangeEvent[capacity];
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChange(TeamChangeEvent event) {
+        TeamChangeEvent appended = append(event);
+        log.debug("Team change #{} {} team ID={}", appended.sequence(), appended.type(), appended.teamId());
+        if (!subscribers.isEmpty()) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    @Override
+    public synchronized List<TeamChangeEvent> since(long sequence) {
+        long from = Math.max(sequence + 1, oldestSequence());
+        List<TeamChangeEvent> events = new ArrayList<>((int) Math.max(0, lastSequence - from + 1));
+        for (long seq = from; seq <= lastSequence; seq++) {
+            events.add(buffer[slot(seq)]);
+        }
+        return events;
+    }
+
+    @Override
+    public SseEmitter subscribe(long lastSequence) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, lastSequence < 0 ? currentSequence() : lastSequence);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        subscribers.add(subscriber);
+        dispatcher.execute(this::dispatch);
+        log.info("Change feed subscriber registered from sequence {} ({} active)", subscriber.cursor, subscribers.size());
+        return emitter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(s -> s.emitter.complete());
+    }
+
+    private synchronized TeamChangeEvent append(TeamChangeEvent event) {
+        TeamChangeEvent sequenced = event.withSequence(++lastSequence);
+        buffer[slot(lastSequence)] = sequenced;
+        return sequenced;
+    }
+
+    private synchronized long currentSequence() {
+        return lastSequence;
+    }
+
+    private synchronized long oldestSequence() {
+        return Math.max(1, lastSequence - buffer.length + 1);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % buffer.length);
+    }
+
+    // Pull-based: each subscriber receives everything after its own cursor, so replay and live events never race
+    private void dispatch() {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                long oldest = oldestSequence();
+                // Ahead of the feed: a cursor from before a restart, whose sequences are reused from 1
+                if (subscriber.cursor < oldest - 1 || subscriber.cursor > currentSequence()) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name("reset")
+                            .data(Map.of("oldestSequence", oldest)));
+                    subscriber.cursor = oldest - 1;
+                }
+                for (TeamChangeEvent event : since(subscriber.cursor)) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.sequence()))
+                            .name(event.type().name().toLowerCase())
+                            .data(event));
+                    subscriber.cursor = event.sequence();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Dropping change feed subscriber: {}", ex.getMessage());
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(ex);
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private long cursor;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
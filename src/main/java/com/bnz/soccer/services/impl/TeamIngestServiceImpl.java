@@ -0,0 +1,180 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.data.mapper.TeamMapper;
+import com.bnz.soccer.data.repository.TeamRepository;
+import com.bnz.soccer.exceptions.IngestQueueFullException;
+import com.bnz.soccer.exceptions.IngestTicketNotFoundException;
+import com.bnz.soccer.resources.enums.ChangeType;
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.resources.record.TeamIngestTicket;
+import com.bnz.soccer.resources.record.TeamRequest;
+import com.bnz.soccer.services.TeamIngestService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Write-behind pipeline for team creation: requests are queued in memory and
+ * persisted by a background drain in batched transactions.
+ */
+@Service
+public class TeamIngestServiceImpl implements TeamIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamIngestServiceImpl.class);
+
+    private final TeamRepository teamRepository;
+    private final TeamMapper teamMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int capacity;
+    private final int batchSize;
+    private final int maxTickets;
+
+    private final BlockingQueue<PendingTeam> queue;
+    private final Map<String, TeamIngestTicket> tickets = new ConcurrentHashMap<>();
+    private final Queue<String> ticketOrder = new ConcurrentLinkedQueue<>();
+
+    public TeamIngestServiceImpl(TeamRepository teamRepository,
+                                 TeamMapper teamMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${soccer.ingest.queue-capacity:10000}") int capacity,
+                                 @Value("${soccer.ingest.batch-size:100}") int batchSize,
+                                 @Value("${soccer.ingest.max-tickets:100000}") int maxTickets) {
+        this.teamRepository = teamRepository;
+        this.teamMapper = teamMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxTickets = maxTickets;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public TeamIngestTicket submit(TeamRequest teamRequested) {
+        String trackingId = UUID.randomUUID().toString();
+        TeamIngestTicket ticket = TeamIngestTicket.queued(trackingId);
+
+        // Visible before it is queued so the drain never misses it, but only ordered and counted
+        // against the bound once accepted: a rejection must neither leave an id behind nor evict a ticket
+        tickets.put(trackingId, ticket);
+        if (!queue.offer(new PendingTeam(trackingId, teamRequested))) {
+            tickets.remove(trackingId);
+            log.info("Ingest queue full - rejecting team {}", teamRequested.name());
+            throw new IngestQueueFullException(capacity);
+        }
+        remember(trackingId);
+
+        log.info("Team {} queued for creation with trackingId={}", teamRequested.name(), trackingId);
+        return ticket;
+    }
+
+    @Override
+    public TeamIngestTicket getStatus(String trackingId) {
+        TeamIngestTicket ticket = tickets.get(trackingId);
+        if (ticket == null) {
+            throw new IngestTicketNotFoundException(trackingId);
+        }
+        return ticket;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${soccer.ingest.drain-interval-ms:200}")
+    public int drain() {
+        int persisted = 0;
+        List<PendingTeam> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            persisted += persistBatch(batch);
+            batch.clear();
+        }
+        return persisted;
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        int persisted = drain();
+        log.info("Ingest queue flushed on shutdown - {} teams persisted", persisted);
+    }
+
+    // One transaction per batch; on failure, retry each entry alone to isolate the bad one
+    private int persistBatch(List<PendingTeam> batch) {
+        try {
+            List<Team> saved = transactionTemplate.execute(status -> {
+                List<Team> teams = teamRepository.saveAll(batch.stream().map(p -> toEntity(p.request())).toList());
+                teams.forEach(teamRepository::reviseOnCommit);
+                return teams;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i).trackingId(), saved.get(i));
+            }
+            log.info("Ingest batch of {} teams persisted", batch.size());
+            return batch.size();
+        } catch (RuntimeException ex) {
+            log.info("Ingest batch of {} teams failed, retrying one by one: {}", batch.size(), ex.getMessage());
+        }
+
+        int persisted = 0;
+        for (PendingTeam pending : batch) {
+            try {
+                Team saved = transactionTemplate.execute(status -> {
+                    Team team = teamRepository.save(toEntity(pending.request()));
+                    teamRepository.reviseOnCommit(team);
+                    return team;
+                });
+                complete(pending.trackingId(), saved);
+                persisted++;
+            } catch (RuntimeException ex) {
+                log.info("Ingest of team {} failed: {}", pending.request().name(), ex.getMessage());
+                tickets.computeIfPresent(pending.trackingId(), (id, ticket) -> ticket.failed(ex.getMessage()));
+            }
+        }
+        return persisted;
+    }
+
+    private Team toEntity(TeamRequest request) {
+        Team team = teamMapper.toEntity(request);
+        team.getPlayers().forEach(player -> player.setTeam(team));
+        team.countPlayers();
+        return team;
+    }
+
+    private void complete(String trackingId, Team saved) {
+        tickets.computeIfPresent(trackingId, (id, ticket) -> ticket.completed(saved.getId()));
+        eventPublisher.publishEvent(TeamChangeEvent.of(ChangeType.CREATED, saved.getId(),
+                TeamServiceImpl.snapshotOf(teamMapper.toResponse(saved))));
+    }
+
+    // Keep the ticket store bounded by evicting the oldest entries first
+    private void remember(String trackingId) {
+        ticketOrder.add(trackingId);
+        while (tickets.size() > maxTickets) {
+            String oldest = ticketOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            tickets.remove(oldest);
+        }
+    }
+
+    private record PendingTeam(String trackingId, TeamRequest request) {
+    }
+}
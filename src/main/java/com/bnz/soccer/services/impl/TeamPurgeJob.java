@@ -0,0 +1,37 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.services.TeamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Physically removes soft-deleted teams and their players during the off-peak window.
+ * Tombstones are kept for the retention period so that sync clients see the deletion.
+ */
+@Component
+public class TeamPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamPurgeJob.class);
+
+    private final TeamService teamService;
+    private final Duration retention;
+
+    public TeamPurgeJob(TeamService teamService,
+                        @Value("${soccer.purge.retention:P7D}") Duration retention) {
+        this.teamService = teamService;
+        this.retention = retention;
+    }
+
+    @Scheduled(cron = "${soccer.purge.cron:0 0 4 * * *}")
+    public void purge() {
+        Instant cutoff = Instant.now().minus(retention);
+        log.info("Purging teams deleted before {}", cutoff);
+        teamService.purgeDeletedTeams(cutoff);
+    }
+}
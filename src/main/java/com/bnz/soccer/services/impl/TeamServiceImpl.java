@@ -2,79 +2,168 @@ package com.bnz.soccer.services.impl;
 
 import com.bnz.soccer.data.entity.Player;
 import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.data.mapper.PlayerMapper;
 import com.bnz.soccer.data.mapper.TeamMapper;
 import com.bnz.soccer.data.repository.PlayerRepository;
 import com.bnz.soccer.data.repository.TeamRepository;
+import com.bnz.soccer.data.repository.TeamRevisionView;
+import com.bnz.soccer.exceptions.TeamAlreadyExistsException;
 import com.bnz.soccer.exceptions.TeamNotFoundException;
+import com.bnz.soccer.resources.enums.ChangeType;
+import com.bnz.soccer.resources.enums.TeamSortField;
 import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.PlayerResponse;
+import com.bnz.soccer.resources.record.TeamChange;
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.resources.record.TeamChangesResponse;
+import com.bnz.soccer.resources.record.TeamFieldSelection;
 import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
 import com.bnz.soccer.resources.record.TeamRequest;
 import com.bnz.soccer.resources.record.TeamResponse;
+import com.bnz.soccer.services.MissingTeamCache;
 import com.bnz.soccer.services.TeamService;
-import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.bnz.soccer.data.specifications.TeamSpecification.*;
 
 /**
  * Service implementation for managing {@link Team} entities.
+ * <p>
+ * Query paths run in read-only transactions: Hibernate switches to flush mode MANUAL, keeps no
+ * dirty-checking snapshots of the loaded teams and players, and the connection is flagged
+ * read-only so it can be routed to a replica (see {@code ReplicaDataSourceConfig}).
  */
 @Service
 public class TeamServiceImpl implements TeamService {
 
     private static final Logger log = LoggerFactory.getLogger(TeamServiceImpl.class);
 
+    private static final int MAX_CHANGES = 1000;
+    static final int MAX_BULK_IDS = 500;
+
     private final TeamRepository teamRepository;
     private final PlayerRepository playerRepository;
     private final TeamMapper teamMapper;
-
-    public TeamServiceImpl(TeamRepository teamRepository, PlayerRepository playerRepository, TeamMapper teamMapper) {
+    private final PlayerMapper playerMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MissingTeamCache missingTeams;
+
+    public TeamServiceImpl(TeamRepository teamRepository,
+                           PlayerRepository playerRepository,
+                           TeamMapper teamMapper,
+                           PlayerMapper playerMapper,
+                           ApplicationEventPublisher eventPublisher,
+                           MissingTeamCache missingTeams) {
         this.teamRepository = teamRepository;
         this.playerRepository = playerRepository;
         this.teamMapper = teamMapper;
+        this.playerMapper = playerMapper;
+        this.eventPublisher = eventPublisher;
+        this.missingTeams = missingTeams;
     }
 
     @Override
-    public Page<Team> findWithAllPlayers(Integer pageNumber,
-                                         Integer pageSize,
-                                         String sortBy,
-                                         String sortDirection) {
+    @Transactional(readOnly = true)
+    public Page<TeamResponse> findWithAllPlayers(Integer pageNumber,
+                                                 Integer pageSize,
+                                                 String sortBy,
+                                                 String sortDirection) {
         log.info("Fetching teams with players - page={}, size={}, sortBy={}, sortDirection={}",
                 pageNumber, pageSize, sortBy, sortDirection);
 
-        // Determine sorting order dynamically
-        Sort sort = sortDirection.equalsIgnoreCase("desc")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, sortOf(sortBy, sortDirection));
 
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, sort);
+        // One query for the page, one for its rosters
+        Page<TeamResponse> result = withPlayers(teamRepository.findAll(pageable));
 
-        // Repository call (fetches players eagerly if mapping is configured)
-        Page<Team> result = teamRepository.findAll(pageable);
+        log.info("Found {} teams", result.getTotalElements());
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findTeamFields(Integer pageNumber,
+                                                    Integer pageSize,
+                                                    String sortBy,
+                                                    String sortDirection,
+                                                    TeamFieldSelection selection) {
+        log.info("Fetching teams {} (players={}) - page={}, size={}, sortBy={}, sortDirection={}",
+                selection.fields(), selection.includePlayers(), pageNumber, pageSize, sortBy, sortDirection);
+
+        Sort sort = sortOf(sortBy, sortDirection);
+
+        Page<Map<String, Object>> result = findFields(Specification.allOf(),
+                PageRequest.of(pageNumber, pageSize, sort), selection);
 
         log.info("Found {} teams", result.getTotalElements());
         return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public TeamResponse findTeam(Long id) {
+        log.info("Fetching team ID={}", id);
+        rejectKnownMissing(id);
+        List<TeamResponse> found = findTeams(List.of(id));
+        if (found.isEmpty()) {
+            log.info("Team with ID={} not found", id);
+            throw notFound(id);
+        }
+        return found.get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TeamResponse> findTeams(Collection<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BULK_IDS + " team ids are required");
+        }
+        log.info("Fetching {} teams by ID", distinctIds.size());
+
+        // One IN query for the teams, one for all their players; unknown ids are skipped
+        Map<Long, TeamResponse> found = toResponses(teamRepository.findAllById(distinctIds));
+        List<TeamResponse> result = distinctIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        log.info("Found {} of {} requested teams", result.size(), distinctIds.size());
+        return result;
+    }
+
+    @Override
+    @Transactional
     public TeamResponse addTeam(TeamRequest teamRequested) {
         log.info("Adding new team: {}", teamRequested);
 
-        // Basic null/blank validation
-        if (teamRequested.name() == null || teamRequested.name().isBlank()
-                || teamRequested.acronym() == null || teamRequested.acronym().isBlank()
-                || teamRequested.budget() == null) {
-            log.info("Team creation failed - missing mandatory fields");
-            throw new IllegalArgumentException("Every field is required");
+        // Field validation already happened in TeamRequestValidator, before the transaction opened
+        // Friendly 409 for the common case; the unique index still guards concurrent inserts
+        if (teamRepository.existsByAcronym(teamRequested.acronym())) {
+            log.info("Team creation failed - acronym {} already used", teamRequested.acronym());
+            throw new TeamAlreadyExistsException(teamRequested.acronym());
         }
 
         // Map DTO to entity
@@ -82,75 +171,118 @@ public class TeamServiceImpl implements TeamService {
 
         // Link each player back to this team entity
         team.getPlayers().forEach(player -> player.setTeam(team));
+        team.countPlayers();
 
         // Persist the new team
         Team saved = teamRepository.save(team);
+        teamRepository.reviseOnCommit(saved);
         log.info("Team created with ID={}", saved.getId());
 
         // Map entity to response DTO
-        return teamMapper.toResponse(saved);
+        TeamResponse response = teamMapper.toResponse(saved);
+        eventPublisher.publishEvent(TeamChangeEvent.of(ChangeType.CREATED, saved.getId(), snapshotOf(response)));
+        return response;
     }
 
 
     @Override
-    public Page<Team> filterTeams(String name, BigDecimal minBudget) {
+    @Transactional(readOnly = true)
+    public Page<TeamResponse> filterTeams(String name, BigDecimal minBudget) {
         log.info("Filtering teams - name={}, minBudget={}", name, minBudget);
 
         // Build dynamic specification based on provided filters
-        Specification<Team> spec = fetchPlayers()
-                .and(nameContainsIgnoreCase(name))
+        Specification<Team> spec = nameContainsIgnoreCase(name)
                 .and(budgetGreaterThanOrEqualTo(minBudget));
 
-        // Default pagination for filter results
-        Page<Team> result = teamRepository.findAll(spec, PageRequest.of(0, 10));
+        // Default pagination for filter results, rosters loaded afterwards
+        Page<TeamResponse> result = withPlayers(teamRepository.findAll(spec, PageRequest.of(0, 10)));
 
         log.info("Found {} teams after filter", result.getTotalElements());
         return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> filterTeamFields(String name, BigDecimal minBudget, TeamFieldSelection selection) {
+        log.info("Filtering teams {} (players={}) - name={}, minBudget={}",
+                selection.fields(), selection.includePlayers(), name, minBudget);
+
+        // Same filters as filterTeams
+        Specification<Team> spec = nameContainsIgnoreCase(name)
+                .and(budgetGreaterThanOrEqualTo(minBudget));
+
+        Page<Map<String, Object>> result = findFields(spec, PageRequest.of(0, 10), selection);
+
+        log.info("Found {} teams after filter", result.getTotalElements());
+        return result;
+    }
+
+    // Only the selected columns are queried; players, when asked for, come from one batched query
+    // after paging, so LIMIT/OFFSET stays in SQL instead of being applied to a fetch-joined result
+    private Page<Map<String, Object>> findFields(Specification<Team> spec, Pageable pageable,
+                                                 TeamFieldSelection selection) {
+        Page<Map<String, Object>> rows = teamRepository.findFields(spec, selection.fields(), pageable);
+        if (selection.includePlayers() && rows.hasContent()) {
+            Map<Long, List<PlayerResponse>> players = playersByTeam(rows.getContent().stream()
+                    .map(row -> (Long) row.get("id"))
+                    .toList());
+            rows.forEach(row -> row.put(TeamFieldSelection.PLAYERS, players.getOrDefault((Long) row.get("id"), List.of())));
+        }
+        return rows;
+    }
+
+    @Override
+    @Transactional
     public Team updateTeamPartially(Long id, TeamPartialUpdateRequest partialUpdate) {
         log.info("Partially updating team ID={} with data: {}", id, partialUpdate);
 
         // Retrieve existing team or throw if missing
+        rejectKnownMissing(id);
         Team existing = teamRepository.findById(id)
                 .orElseThrow(() -> {
                     log.info("Team with ID={} not found for partial update", id);
-                    return new TeamNotFoundException(id);
+                    return notFound(id);
                 });
 
-        // Update only provided fields
-        if (partialUpdate.name() != null && !partialUpdate.name().isBlank()) {
-            existing.setName(partialUpdate.name());
-        }
-        if (partialUpdate.budget() != null) {
-            existing.setBudget(partialUpdate.budget());
+        Map<String, Object> changes = applyPartialUpdate(existing, partialUpdate);
+
+        if (!changes.isEmpty()) {
+            teamRepository.reviseOnCommit(existing);
         }
 
         // Persist updated entity
         Team updated = teamRepository.save(existing);
         log.info("Team ID={} partially updated", updated.getId());
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(TeamChangeEvent.of(ChangeType.UPDATED, updated.getId(), changes));
+        }
+        // The response embeds the roster: load it while the session is still open
+        Hibernate.initialize(updated.getPlayers());
         return updated;
     }
 
     @Transactional
-    public Team updateTeamFully(Long teamId, TeamRequest request) {
-        // 1. Load the existing team from the DB
-        Team existingTeam = teamRepository.findById(teamId)
-                .orElseThrow(() -> new TeamNotFoundException(teamId));
-
-        // 2. Update the team's simple attributes
-        existingTeam.setName(request.name());
-        existingTeam.setAcronym(request.acronym());
-        existingTeam.setBudget(request.budget());
-
-        // Explicitly remove players first
+    public TeamResponse updateTeamFully(Long teamId, TeamRequest request) {
+        // 1. Load and lock the existing team before touching its players, like transfers do
+        rejectKnownMissing(teamId);
+        Team existingTeam = teamRepository.lockAllByIdIn(List.of(teamId)).stream()
+                .findFirst()
+                .orElseThrow(() -> notFound(teamId));
+
+        // 2. Explicitly remove players first
         playerRepository.deleteAll(existingTeam.getPlayers());
         existingTeam.getPlayers().clear();
 
         // Flush to force delete statements now
         teamRepository.flush();
 
+        // 3. Update the team's simple attributes after the flush, so the team row is written
+        // once, at commit, with the player count of the new roster
+        existingTeam.setName(request.name());
+        existingTeam.setAcronym(request.acronym());
+        existingTeam.setBudget(request.budget());
+        teamRepository.reviseOnCommit(existingTeam);
+
         // 4. Create new Player entities from the request data
         for (PlayerRequest p : request.players()) {
             Player newPlayer = new Player();
@@ -159,24 +291,194 @@ public class TeamServiceImpl implements TeamService {
             newPlayer.setTeam(existingTeam);
             existingTeam.getPlayers().add(newPlayer);
         }
+        existingTeam.countPlayers();
 
-        // 5. Save the team (cascade will handle players)
-        return teamRepository.save(existingTeam);
+        // 5. Save the team (cascade will handle players), flushed so the new players have their IDs
+        Team saved = teamRepository.save(existingTeam);
+        teamRepository.flush();
+        TeamResponse response = teamMapper.toResponse(saved);
+
+        // Delivered once the surrounding transaction commits
+        eventPublisher.publishEvent(TeamChangeEvent.of(ChangeType.UPDATED, saved.getId(), snapshotOf(response)));
+        return response;
     }
 
 
 
     @Override
+    @Transactional
     public void deleteTeam(Long id) {
         log.info("Deleting team ID={}", id);
+        rejectKnownMissing(id);
 
-        // Check existence before attempting deletion
-        if (!teamRepository.existsById(id)) {
+        // Single UPDATE setting the tombstone; players are removed later by the purge job
+        if (teamRepository.softDeleteAllById(List.of(id), Instant.now()) == 0) {
             log.info("Team with ID={} not found for deletion", id);
-            throw new TeamNotFoundException(id);
+            throw notFound(id);
         }
+        teamRepository.reviseOnCommit(List.of(id));
 
-        teamRepository.deleteById(id);
         log.info("Team ID={} deleted successfully", id);
+        eventPublisher.publishEvent(TeamChangeEvent.of(ChangeType.DELETED, id, Map.of()));
+    }
+
+    @Override
+    @Transactional
+    public void deleteTeams(Collection<Long> ids, boolean hard) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BULK_IDS + " team ids are required");
+        }
+        log.info("Deleting {} teams (hard={}): {}", distinctIds.size(), hard, distinctIds);
+
+        // One indexed lookup up front, so nothing is written when an id is unknown; it also
+        // locks the teams in ID order before their players are deleted
+        List<Long> missing = new ArrayList<>(distinctIds);
+        missing.removeAll(teamRepository.findExistingIds(distinctIds));
+        if (!missing.isEmpty()) {
+            log.info("Teams {} not found for deletion", missing);
+            throw new TeamNotFoundException(missing);
+        }
+
+        // Hard: a deletion record per team, then two set-based DELETE statements, no entity loading and no
+        // per-player cascade
+        int deleted = hard
+                ? deleteHard(distinctIds)
+                : teamRepository.softDeleteAllById(distinctIds, Instant.now());
+
+        // A concurrent delete slipped in between: roll everything back
+        if (deleted != distinctIds.size()) {
+            throw new TeamNotFoundException(distinctIds);
+        }
+        if (!hard) {
+            teamRepository.reviseOnCommit(distinctIds);
+        }
+
+        log.info("{} teams deleted successfully", deleted);
+        distinctIds.forEach(id -> eventPublisher.publishEvent(TeamChangeEvent.of(ChangeType.DELETED, id, Map.of())));
+    }
+
+    // The deletion records keep the teams in the changes feed once their rows are gone
+    private int deleteHard(Set<Long> ids) {
+        teamRepository.recordDeletions(ids, Instant.now());
+        teamRepository.reviseDeletionsOnCommit(ids);
+        int players = teamRepository.deletePlayersByTeamIds(ids);
+        int teams = teamRepository.deleteAllByIdIn(ids);
+        log.info("Hard-deleted {} teams and {} players", teams, players);
+        return teams;
+    }
+
+    @Override
+    @Transactional
+    public int purgeDeletedTeams(Instant deletedBefore) {
+        // Set-based statements, whatever the number of teams and players
+        int players = teamRepository.purgePlayersOfDeletedTeams(deletedBefore);
+        int teams = teamRepository.purgeDeletedTeams(deletedBefore);
+        int records = teamRepository.purgeDeletionRecords(deletedBefore);
+        log.info("Purged {} deleted teams, {} players and {} hard-deletion records from before {}",
+                teams, players, records, deletedBefore);
+        return teams;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TeamChangesResponse findChangesSince(long since, int limit) {
+        int window = Math.max(1, Math.min(limit, MAX_CHANGES));
+        log.info("Fetching team changes since revision {} (limit {})", since, window);
+
+        // Index-ordered on revision, tombstones included; one extra row tells whether more remain
+        List<TeamRevisionView> revisions = teamRepository.findRevisionsSince(since, window + 1);
+        boolean hasMore = revisions.size() > window;
+        if (hasMore) {
+            revisions = revisions.subList(0, window);
+        }
+
+        List<Long> liveIds = revisions.stream()
+                .filter(r -> !r.getDeleted())
+                .map(TeamRevisionView::getId)
+                .toList();
+        Map<Long, TeamResponse> bodies = toResponses(liveIds.isEmpty() ? List.of() : teamRepository.findAllById(liveIds));
+
+        List<TeamChange> changes = revisions.stream()
+                .map(r -> new TeamChange(r.getId(), r.getRevision(), r.getDeleted(), bodies.get(r.getId())))
+                .toList();
+
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).revision();
+        log.info("Found {} team changes, next revision {}", changes.size(), nextSince);
+        return new TeamChangesResponse(since, nextSince, hasMore, changes);
+    }
+
+    // Maps teams to responses with a single batched query for all their players
+    private Map<Long, TeamResponse> toResponses(List<Team> teams) {
+        if (teams.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<PlayerResponse>> players = playersByTeam(teams.stream().map(Team::getId).toList());
+
+        Map<Long, TeamResponse> responses = new LinkedHashMap<>();
+        for (Team team : teams) {
+            responses.put(team.getId(), new TeamResponse(team.getId(), team.getName(), team.getAcronym(),
+                    team.getBudget(), players.getOrDefault(team.getId(), List.of())));
+        }
+        return responses;
+    }
+
+    // Only whitelisted, indexed fields; the ID tie-break uses the same direction so the (column, id) index fits
+    static Sort sortOf(String sortBy, String sortDirection) {
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, TeamSortField.fromProperty(sortBy).property(), "id");
+    }
+
+    // Initializes the players of every team in the page with a single query, never one per team
+    private Page<TeamResponse> withPlayers(Page<Team> page) {
+        if (page.hasContent()) {
+            teamRepository.findWithPlayersByIdIn(page.getContent().stream().map(Team::getId).toList());
+        }
+        return page.map(teamMapper::toResponse);
+    }
+
+    // Recently probed unknown IDs fail without a query
+    private void rejectKnownMissing(Long id) {
+        if (missingTeams.isMissing(id)) {
+            throw new TeamNotFoundException(id);
+        }
+    }
+
+    private TeamNotFoundException notFound(Long id) {
+        missingTeams.markMissing(id);
+        return new TeamNotFoundException(id);
+    }
+
+    private Map<Long, List<PlayerResponse>> playersByTeam(Collection<Long> teamIds) {
+        return playerRepository.findByTeamIdIn(teamIds)
+                .stream()
+                .collect(Collectors.groupingBy(p -> p.getTeam().getId(),
+                        Collectors.mapping(playerMapper::toResponse, Collectors.toList())));
+    }
+
+    // Updates only provided fields, returning the ones that actually changed
+    static Map<String, Object> applyPartialUpdate(Team team, TeamPartialUpdateRequest partialUpdate) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (partialUpdate.name() != null && !partialUpdate.name().isBlank()
+                && !partialUpdate.name().equals(team.getName())) {
+            team.setName(partialUpdate.name());
+            changes.put("name", partialUpdate.name());
+        }
+        if (partialUpdate.budget() != null
+                && (team.getBudget() == null || partialUpdate.budget().compareTo(team.getBudget()) != 0)) {
+            team.setBudget(partialUpdate.budget());
+            changes.put("budget", partialUpdate.budget());
+        }
+        return changes;
+    }
+
+    // Field map carried by CREATED and full UPDATED events
+    static Map<String, Object> snapshotOf(TeamResponse team) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", team.name());
+        fields.put("acronym", team.acronym());
+        fields.put("budget", team.budget());
+        fields.put("players", team.players());
+        return fields;
     }
 }
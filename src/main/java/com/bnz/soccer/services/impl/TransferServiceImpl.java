@@ -0,0 +1,133 @@
+package com.bnz.soccer.services.impl;
+
+import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.data.mapper.TeamMapper;
+import com.bnz.soccer.data.repository.PlayerRepository;
+import com.bnz.soccer.data.repository.TeamRepository;
+import com.bnz.soccer.exceptions.PlayerNotFoundException;
+import com.bnz.soccer.exceptions.TeamNotFoundException;
+import com.bnz.soccer.exceptions.TransferRejectedException;
+import com.bnz.soccer.resources.enums.ChangeType;
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.resources.record.TransferRequest;
+import com.bnz.soccer.resources.record.TransferResponse;
+import com.bnz.soccer.services.TransferService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves players between teams and settles the fee, in one transaction per request.
+ * <p>
+ * Every team involved is locked up front with a single {@code SELECT ... FOR UPDATE} in ID order,
+ * the order {@code updateTeamFully} and {@code deleteTeams} use too, so concurrent transfers and
+ * roster writes queue behind each other instead of deadlocking. Players are then reassigned with
+ * one bulk update each, and every team is written once, whatever the number of transfers touching it.
+ * A batch is all-or-nothing and applied in order, so a player may move twice within it.
+ */
+@Service
+public class TransferServiceImpl implements TransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferServiceImpl.class);
+
+    static final int MAX_BATCH = 500;
+
+    private final TeamRepository teamRepository;
+    private final PlayerRepository playerRepository;
+    private final TeamMapper teamMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TransferServiceImpl(TeamRepository teamRepository,
+                               PlayerRepository playerRepository,
+                               TeamMapper teamMapper,
+                               ApplicationEventPublisher eventPublisher) {
+        this.teamRepository = teamRepository;
+        this.playerRepository = playerRepository;
+        this.teamMapper = teamMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public TransferResponse transfer(TransferRequest transfer) {
+        return transferAll(List.of(transfer)).get(0);
+    }
+
+    @Override
+    @Transactional
+    public List<TransferResponse> transferAll(List<TransferRequest> transfers) {
+        if (transfers.isEmpty() || transfers.size() > MAX_BATCH) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BATCH + " transfers are required");
+        }
+        Set<Long> teamIds = new TreeSet<>();
+        for (TransferRequest transfer : transfers) {
+            if (transfer.fromTeamId().equals(transfer.toTeamId())) {
+                throw new IllegalArgumentException("Player " + transfer.playerId() + " cannot be transferred to its own team");
+            }
+            teamIds.add(transfer.fromTeamId());
+            teamIds.add(transfer.toTeamId());
+        }
+        log.info("Applying {} transfers between {} teams", transfers.size(), teamIds.size());
+
+        Map<Long, Team> teams = teamRepository.lockAllByIdIn(teamIds).stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        if (teams.size() != teamIds.size()) {
+            List<Long> missing = teamIds.stream().filter(id -> !teams.containsKey(id)).toList();
+            log.info("Transfers rejected - teams {} not found", missing);
+            throw new TeamNotFoundException(missing);
+        }
+
+        // Budgets are settled in memory and written once per team at the end
+        Map<Long, BigDecimal> budgets = new HashMap<>();
+        teams.values().forEach(team -> budgets.put(team.getId(), Objects.requireNonNullElse(team.getBudget(), BigDecimal.ZERO)));
+
+        List<TransferResponse> responses = new ArrayList<>(transfers.size());
+        for (TransferRequest transfer : transfers) {
+            Team from = teams.get(transfer.fromTeamId());
+            Team to = teams.get(transfer.toTeamId());
+
+            BigDecimal toBudget = budgets.get(to.getId()).subtract(transfer.fee());
+            if (transfer.fee().signum() > 0 && toBudget.signum() <= 0) {
+                throw new TransferRejectedException("Team " + to.getId() + " cannot afford a fee of " + transfer.fee());
+            }
+            if (playerRepository.moveToTeam(transfer.playerId(), from, to) == 0) {
+                if (!playerRepository.existsById(transfer.playerId())) {
+                    throw new PlayerNotFoundException(transfer.playerId());
+                }
+                throw new TransferRejectedException("Player " + transfer.playerId() + " does not play for team " + from.getId());
+            }
+            BigDecimal fromBudget = budgets.get(from.getId()).add(transfer.fee());
+            budgets.put(to.getId(), toBudget);
+            budgets.put(from.getId(), fromBudget);
+            responses.add(new TransferResponse(transfer.playerId(), from.getId(), to.getId(), transfer.fee(),
+                    fromBudget, toBudget));
+        }
+
+        // One query for the new rosters, before any team is dirty so nothing is flushed twice
+        teamRepository.findWithPlayersByIdIn(teamIds);
+        for (Long id : teamIds) {
+            Team team = teams.get(id);
+            team.setBudget(budgets.get(id));
+            team.countPlayers();
+            teamRepository.reviseOnCommit(team);
+            eventPublisher.publishEvent(TeamChangeEvent.of(ChangeType.UPDATED, id,
+                    TeamServiceImpl.snapshotOf(teamMapper.toResponse(team))));
+        }
+
+        log.info("{} transfers applied", responses.size());
+        return responses;
+    }
+}
@@ -9,4 +9,7 @@ INSERT INTO player (name, position, team_id) VALUES
                                                  ('Kylian Mbappe', 'FORWARD', (SELECT id FROM team WHERE name = 'Paris Saint-Germain')),
                                                  ('Lionel Messi', 'FORWARD', (SELECT id FROM team WHERE name = 'Paris Saint-Germain')),
                                                  ('Dimitri Payet', 'MIDFIELDER', (SELECT id FROM team WHERE name = 'Olympique de Marseille')),
-                                                 ('Alexandre Lacazette', 'DEFENDER', (SELECT id FROM team WHERE name = 'Olympique Lyonnais'));
\ No newline at end of file
+                                                 ('Alexandre Lacazette', 'DEFENDER', (SELECT id FROM team WHERE name = 'Olympique Lyonnais'));
+
+-- Inserted behind the entity, so the squad size is set here
+UPDATE team SET player_count = (SELECT COUNT(*) FROM player WHERE player.team_id = team.id);
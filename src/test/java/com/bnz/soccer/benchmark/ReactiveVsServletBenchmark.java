@@ -0,0 +1,223 @@
+package com.bnz.soccer.benchmark;
+
+import com.bnz.soccer.SoccerApiApplication;
+import com.bnz.soccer.reactive.ReactiveSoccerApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The servlet application (Tomcat, JPA, Hikari) vs the reactive one (Netty, R2DBC), both started in
+ * this JVM on the same in-memory database of synthetic teams, each with a pool of 10 connections.
+ * Virtual-thread users run a closed loop of page reads and lookups by ID against one, then the other;
+ * a full-league read compares one page of every team with the NDJSON stream. Logs throughput,
+ * p50/p99 and errors per application and scenario. Errors under load are reported rather than failed on:
+ * past its 2 s connection timeout the servlet application sheds requests with a 500, which is part of the
+ * comparison. The sequential full-league reads must succeed.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark,reactive -Dtest=ReactiveVsServletBenchmark}. Tune with
+ * {@code -Dbenchmark.users}, {@code -Dbenchmark.teams}, {@code -Dbenchmark.duration} and
+ * {@code -Dbenchmark.warmup} (ISO-8601).
+ */
+class ReactiveVsServletBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveVsServletBenchmark.class);
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 256);
+    private static final int TEAMS = Integer.getInteger("benchmark.teams", 2000);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("benchmark.warmup", "PT3S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("benchmark.duration", "PT10S"));
+    private static final int FULL_READS = 5;
+
+    private static ConfigurableApplicationContext servlet;
+    private static ConfigurableApplicationContext reactive;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @BeforeAll
+    static void start() {
+        servlet = new SpringApplicationBuilder(SoccerApiApplication.class).run(
+                "--server.port=0",
+                "--spring.profiles.active=dev,loadtest",
+                "--spring.datasource.url=jdbc:h2:mem:soccer-bench;DB_CLOSE_DELAY=-1",
+                "--soccer.seed.teams=" + TEAMS);
+        // Reads the database the servlet application created and seeded
+        reactive = ReactiveSoccerApplication.application().run(
+                "--server.port=0",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///soccer-bench?options=DB_CLOSE_DELAY=-1",
+                "--spring.sql.init.mode=never",
+                "--logging.level.root=WARN",
+                "--logging.level.com.bnz.soccer=WARN");
+    }
+
+    @AfterAll
+    static void stop() {
+        reactive.close();
+        servlet.close();
+    }
+
+    @Test
+    void servletAndJpa_vsWebFluxAndR2dbc() throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (ConfigurableApplicationContext app : List.of(servlet, reactive)) {
+            String name = app == servlet ? "servlet + JPA" : "WebFlux + R2DBC";
+            String base = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+
+            Supplier<HttpRequest> page = () -> get(base + "/api/teams?size=20&page="
+                    + ThreadLocalRandom.current().nextInt(TEAMS / 20));
+            Supplier<HttpRequest> byId = () -> get(base + "/api/teams/"
+                    + ThreadLocalRandom.current().nextInt(1, TEAMS + 1));
+            run(page, WARMUP);
+            results.add(Result.of(name, "page of 20", run(page, DURATION), DURATION));
+            run(byId, WARMUP);
+            results.add(Result.of(name, "team by ID", run(byId, DURATION), DURATION));
+
+            // Every team at once: one large page from the servlet application, the stream from the reactive one
+            HttpRequest full = app == servlet
+                    ? get(base + "/api/teams?size=" + TEAMS)
+                    : HttpRequest.newBuilder(URI.create(base + "/api/teams"))
+                    .header("Accept", "application/x-ndjson").timeout(Duration.ofMinutes(1)).build();
+            results.add(fullRead(name, full));
+        }
+
+        StringBuilder table = new StringBuilder(String.format("%-16s %-12s %9s %7s %10s %9s %9s%n",
+                "application", "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms"));
+        results.forEach(r -> table.append(String.format("%-16s %-12s %9d %7d %10.1f %9.2f %9.2f%n",
+                r.application, r.scenario, r.requests, r.errors, r.throughput, r.p50Millis, r.p99Millis)));
+        log.info("{} users, {} teams:{}{}", USERS, TEAMS, System.lineSeparator(), table);
+
+        assertThat(results).allSatisfy(r -> assertThat(r.requests).isPositive());
+        assertThat(results).filteredOn(r -> r.scenario.equals("all teams"))
+                .allSatisfy(r -> assertThat(r.errors).as("%s errors by status %s", r.application, r.errorStatuses).isZero());
+    }
+
+    // Closed loop: each user sends its next request as soon as the previous response is read
+    private Recorder run(Supplier<HttpRequest> request, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Recorder> perUser = new ArrayList<>(USERS);
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < USERS; u++) {
+                Recorder recorder = new Recorder();
+                perUser.add(recorder);
+                users.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        recorder.record(send(request.get()), start);
+                    }
+                });
+            }
+        }
+        Recorder merged = new Recorder();
+        perUser.forEach(merged::merge);
+        return merged;
+    }
+
+    private Result fullRead(String application, HttpRequest request) {
+        Recorder recorder = new Recorder();
+        for (int i = 0; i < FULL_READS; i++) {
+            long start = System.nanoTime();
+            recorder.record(send(request), start);
+        }
+        return Result.of(application, "all teams", recorder, null);
+    }
+
+    // The body is read to the end, so a streamed response is timed until its last team; 0 when no response came back
+    private int send(HttpRequest request) {
+        try {
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            return response.statusCode();
+        } catch (IOException ex) {
+            return 0;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(30)).build();
+    }
+
+    /** Latencies of one user (unshared, so recording needs no synchronisation), merged after the run. */
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private long elapsed;
+        private final Map<Integer, Integer> errorStatuses = new TreeMap<>();
+
+        void record(int status, long start) {
+            long nanos = System.nanoTime() - start;
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            elapsed += nanos;
+            if (status != 200) {
+                errors++;
+                errorStatuses.merge(status, 1, Integer::sum);
+            }
+        }
+
+        void merge(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+            elapsed += other.elapsed;
+            other.errorStatuses.forEach((status, n) -> errorStatuses.merge(status, n, Integer::sum));
+        }
+
+        double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted[Math.max(0, (int) Math.ceil(percentile * count) - 1)] / 1e6;
+        }
+    }
+
+    private record Result(String application, String scenario, int requests, int errors,
+                          Map<Integer, Integer> errorStatuses, double throughput, double p50Millis, double p99Millis) {
+
+        // Sequential reads have no fixed duration: their throughput is one over the mean latency
+        static Result of(String application, String scenario, Recorder r, Duration duration) {
+            double seconds = duration != null ? duration.toNanos() / 1e9 : r.elapsed / 1e9;
+            return new Result(application, scenario, r.count, r.errors, r.errorStatuses, r.count / seconds,
+                    r.percentileMillis(0.50), r.percentileMillis(0.99));
+        }
+    }
+}
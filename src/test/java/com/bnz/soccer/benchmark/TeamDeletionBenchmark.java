@@ -0,0 +1,111 @@
+package com.bnz.soccer.benchmark;
+
+import com.bnz.soccer.data.repository.TeamRepository;
+import com.bnz.soccer.services.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the entity cascade ({@code deleteById} with {@code CascadeType.ALL}) with the
+ * set-based hard delete of {@link TeamService#deleteTeams}. Run with {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.root=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.bnz.soccer=WARN",
+        "logging.level.com.bnz.soccer.benchmark=INFO"
+})
+class TeamDeletionBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamDeletionBenchmark.class);
+
+    private static final int TEAMS = 200;
+    private static final int PLAYERS_PER_TEAM = 25;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void cascadeDelete_vsSetBasedDelete() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Result cascade = measure("cascade deleteById", ids ->
+                tx.executeWithoutResult(status -> ids.forEach(teamRepository::deleteById)));
+        Result bulk = measure("set-based deleteTeams", ids -> teamService.deleteTeams(ids, true));
+
+        log.info("Deletion paths:{}{}", System.lineSeparator(),
+                String.format("%-24s %12s %12s%n", "path", "avg ms", "statements")
+                        + String.format("%-24s %12.1f %12d%n", cascade.name, cascade.avgMillis, cascade.statements)
+                        + String.format("%-24s %12.1f %12d%n", bulk.name, bulk.avgMillis, bulk.statements));
+
+        assertThat(bulk.statements).isLessThan(cascade.statements);
+    }
+
+    private Result measure(String name, Consumer<List<Long>> delete) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long totalNanos = 0;
+        long statements = 0;
+        for (int round = 0; round <= ROUNDS; round++) {
+            List<Long> ids = seed();
+            statistics.clear();
+            long start = System.nanoTime();
+            delete.accept(ids);
+            long elapsed = System.nanoTime() - start;
+            // Round 0 is warmup
+            if (round > 0) {
+                totalNanos += elapsed;
+                statements = statistics.getPrepareStatementCount();
+            }
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM player WHERE team_id IN ("
+                    + String.join(",", ids.stream().map(String::valueOf).toList()) + ")", Long.class)).isZero();
+        }
+        return new Result(name, totalNanos / 1_000_000.0 / ROUNDS, statements);
+    }
+
+    private List<Long> seed() {
+        List<Long> ids = new ArrayList<>(TEAMS);
+        for (int t = 0; t < TEAMS; t++) {
+            String name = "Bench " + System.nanoTime();
+            jdbcTemplate.update("INSERT INTO team (name, acronym, budget) VALUES (?, ?, ?)", name, "B" + t, 1_000_000);
+            Long id = jdbcTemplate.queryForObject("SELECT id FROM team WHERE name = ?", Long.class, name);
+            ids.add(id);
+            List<Object[]> players = new ArrayList<>(PLAYERS_PER_TEAM);
+            for (int p = 0; p < PLAYERS_PER_TEAM; p++) {
+                players.add(new Object[]{"Player " + p, "MIDFIELDER", id});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO player (name, position, team_id) VALUES (?, ?, ?)", players);
+        }
+        return ids;
+    }
+
+    private record Result(String name, double avgMillis, long statements) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.bnz.soccer.benchmark;
+
+import com.bnz.soccer.exceptions.ProblemBodies;
+import com.bnz.soccer.exceptions.TeamNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of one 404 for an unknown team, from throw to response bytes: the previous path (exception with
+ * a stack trace, {@code HashMap} body with a timestamp, Jackson) vs a stackless {@link TeamNotFoundException}
+ * rendered by {@link ProblemBodies}. Exceptions are thrown {@value #DEPTH} frames deep, roughly where
+ * the service sits under Tomcat, Spring MVC and the transaction proxy. Run with {@code mvn test -Pbenchmark}.
+ */
+class TeamNotFoundBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamNotFoundBenchmark.class);
+
+    private static final int DEPTH = 120;
+    private static final int WARMUP = 50_000;
+    private static final int ROUNDS = 200_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void stackTraceAndMap_vsStacklessAndTemplate() {
+        Result before = measure("stack + map", id -> {
+            try {
+                throwAt(DEPTH, () -> new RuntimeException("Team not found with id " + id));
+            } catch (RuntimeException ex) {
+                Map<String, Object> body = new HashMap<>();
+                body.put("timestamp", Instant.now());
+                body.put("status", 404);
+                body.put("error", "Not Found");
+                body.put("message", ex.getMessage());
+                try {
+                    return objectMapper.writeValueAsBytes(body);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            throw new IllegalStateException();
+        });
+        Result after = measure("stackless + template", id -> {
+            try {
+                throwAt(DEPTH, () -> new TeamNotFoundException(id));
+            } catch (TeamNotFoundException ex) {
+                return ProblemBodies.render(HttpStatus.NOT_FOUND, ex.getMessage());
+            }
+            throw new IllegalStateException();
+        });
+
+        log.info("Error paths:{}{}", System.lineSeparator(),
+                String.format("%-22s %16s %12s%n", "error path", "bytes alloc/op", "avg ns")
+                        + String.format("%-22s %16d %12.0f%n", before.name, before.allocatedPerOp, before.avgNanos)
+                        + String.format("%-22s %16d %12.0f%n", after.name, after.allocatedPerOp, after.avgNanos));
+
+        assertThat(after.avgNanos).isLessThan(before.avgNanos);
+        assertThat(after.allocatedPerOp).isLessThan(before.allocatedPerOp);
+    }
+
+    private static void throwAt(int depth, java.util.function.Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        throwAt(depth - 1, exception);
+    }
+
+    private static Result measure(String name, LongFunction<byte[]> notFound) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += notFound.apply(i).length;
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += notFound.apply(i).length;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        assertThat(sink).isPositive();
+        return new Result(name, allocated / ROUNDS, elapsed / (double) ROUNDS);
+    }
+
+    private record Result(String name, long allocatedPerOp, double avgNanos) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.bnz.soccer.benchmark;
+
+import com.bnz.soccer.data.entity.Player;
+import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.resources.enums.Position;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes and encode time of a large {@code GET /api/teams} page: JSON (as served today), gzipped JSON,
+ * CBOR and Smile. Mappers are built the way Spring MVC builds its message converters.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+class TeamPayloadBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamPayloadBenchmark.class);
+
+    private static final int TEAMS = 500;
+    private static final int PLAYERS_PER_TEAM = 25;
+    private static final int WARMUP = 200;
+    private static final int ROUNDS = 500;
+
+    @Test
+    void json_vsGzip_vsCbor_vsSmile() {
+        PageImpl<Team> page = page();
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+
+        List<Result> results = List.of(
+                measure("json", page, json::writeValueAsBytes),
+                measure("json+gzip", page, p -> gzip(json.writeValueAsBytes(p))),
+                measure("cbor", page, cbor::writeValueAsBytes),
+                measure("smile", page, smile::writeValueAsBytes));
+
+        StringBuilder table = new StringBuilder(String.format("%-10s %12s %12s%n", "format", "bytes", "avg us"));
+        results.forEach(r -> table.append(String.format("%-10s %12d %12.1f%n", r.name, r.bytes, r.avgMicros)));
+        log.info("Payload formats:{}{}", System.lineSeparator(), table);
+
+        int jsonBytes = results.get(0).bytes;
+        assertThat(results.get(2).bytes).isLessThan(jsonBytes);
+        assertThat(results.get(3).bytes).isLessThan(jsonBytes);
+    }
+
+    private static Result measure(String name, PageImpl<Team> page, Encoder encoder) {
+        Function<PageImpl<Team>, byte[]> encode = p -> {
+            try {
+                return encoder.encode(p);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+        for (int i = 0; i < WARMUP; i++) {
+            encode.apply(page);
+        }
+        int bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            bytes = encode.apply(page).length;
+        }
+        return new Result(name, bytes, (System.nanoTime() - start) / 1_000.0 / ROUNDS);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static PageImpl<Team> page() {
+        List<Team> teams = new ArrayList<>(TEAMS);
+        Position[] positions = Position.values();
+        for (long t = 1; t <= TEAMS; t++) {
+            Team team = new Team();
+            team.setId(t);
+            team.setName("Team " + t);
+            team.setAcronym("T" + t);
+            team.setBudget(new BigDecimal(1_000_000 + t * 1_000));
+            team.setRevision(t);
+            for (long p = 1; p <= PLAYERS_PER_TEAM; p++) {
+                Player player = new Player();
+                player.setId(t * 100 + p);
+                player.setName("Player " + p + " of team " + t);
+                player.setPosition(positions[(int) (p % positions.length)]);
+                player.setTeam(team);
+                team.getPlayers().add(player);
+            }
+            teams.add(team);
+        }
+        return new PageImpl<>(teams, PageRequest.of(0, TEAMS), TEAMS);
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        byte[] encode(PageImpl<Team> page) throws IOException;
+    }
+
+    private record Result(String name, int bytes, double avgMicros) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.bnz.soccer.benchmark;
+
+import com.bnz.soccer.controllers.config.TeamJsonSerializers;
+import com.bnz.soccer.data.entity.Player;
+import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.record.PageResponse;
+import com.bnz.soccer.resources.record.PlayerResponse;
+import com.bnz.soccer.resources.record.TeamResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes allocated and time spent writing 500 teams to a stream: the former {@code Page<Team>} payload
+ * of the list endpoints, a {@link TeamResponse} list with reflective bean serialization and with
+ * {@link TeamJsonSerializers}, and the {@link PageResponse} the list endpoints now return. Allocation is
+ * read from the thread allocation counter, the same figure JFR's allocation events add up.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+class TeamSerializationBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamSerializationBenchmark.class);
+
+    private static final int TEAMS = 500;
+    private static final int PLAYERS_PER_TEAM = 25;
+    private static final int WARMUP = 300;
+    private static final int ROUNDS = 500;
+
+    @Test
+    void beanSerializer_vsHandWrittenSerializer() throws IOException {
+        List<TeamResponse> teams = teams();
+        ObjectWriter reflective = new ObjectMapper().writerFor(List.class);
+        ObjectWriter handWritten = new ObjectMapper().registerModule(new SimpleModule()
+                        .addSerializer(TeamResponse.class, new TeamJsonSerializers.TeamResponseSerializer())
+                        .addSerializer(PlayerResponse.class, new TeamJsonSerializers.PlayerResponseSerializer())
+                        .addSerializer(new TeamJsonSerializers.PageResponseSerializer()))
+                .writerFor(List.class);
+
+        Result page = measure("Page<Team>", new ObjectMapper().writerFor(PageImpl.class), page(teams));
+        Result bean = measure("bean", reflective, teams);
+        Result custom = measure("hand-written", handWritten, teams);
+        Result pageResponse = measure("PageResponse", handWritten.forType(PageResponse.class),
+                PageResponse.of(new PageImpl<>(teams, PageRequest.of(0, teams.size()), teams.size())));
+
+        StringBuilder table = new StringBuilder(String.format("%-14s %16s %12s%n", "serializer", "bytes alloc/op", "avg us"));
+        for (Result result : List.of(page, bean, custom, pageResponse)) {
+            table.append(String.format("%-14s %16d %12.1f%n", result.name, result.allocatedPerOp, result.avgMicros));
+        }
+        log.info("Serializers:{}{}", System.lineSeparator(), table);
+
+        assertThat(custom.allocatedPerOp).isLessThanOrEqualTo(bean.allocatedPerOp);
+        assertThat(pageResponse.allocatedPerOp).isLessThanOrEqualTo(page.allocatedPerOp);
+    }
+
+    private static Result measure(String name, ObjectWriter writer, Object teams) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        OutputStream sink = OutputStream.nullOutputStream();
+        writer = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        for (int i = 0; i < WARMUP; i++) {
+            writer.writeValue(sink, teams);
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            writer.writeValue(sink, teams);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Result(name, allocated / ROUNDS, elapsed / 1_000.0 / ROUNDS);
+    }
+
+    private static List<TeamResponse> teams() {
+        List<TeamResponse> teams = new ArrayList<>(TEAMS);
+        Position[] positions = Position.values();
+        for (long t = 1; t <= TEAMS; t++) {
+            List<PlayerResponse> players = new ArrayList<>(PLAYERS_PER_TEAM);
+            for (long p = 1; p <= PLAYERS_PER_TEAM; p++) {
+                players.add(new PlayerResponse(t * 100 + p, "Player " + p + " of team " + t,
+                        positions[(int) (p % positions.length)]));
+            }
+            teams.add(new TeamResponse(t, "Team " + t, "T" + t, new BigDecimal(1_000_000 + t * 1_000), players));
+        }
+        return teams;
+    }
+
+    // The former GET /api/teams payload: the entities wrapped in a PageImpl
+    private static PageImpl<Team> page(List<TeamResponse> responses) {
+        List<Team> teams = new ArrayList<>(responses.size());
+        for (TeamResponse response : responses) {
+            Team team = new Team();
+            team.setId(response.id());
+            team.setName(response.name());
+            team.setAcronym(response.acronym());
+            team.setBudget(response.budget());
+            team.setRevision(response.id());
+            for (PlayerResponse p : response.players()) {
+                Player player = new Player();
+                player.setId(p.id());
+                player.setName(p.name());
+                player.setPosition(p.position());
+                player.setTeam(team);
+                team.getPlayers().add(player);
+            }
+            teams.add(team);
+        }
+        return new PageImpl<>(teams, PageRequest.of(0, teams.size()), teams.size());
+    }
+
+    private record Result(String name, long allocatedPerOp, double avgMicros) {
+    }
+}
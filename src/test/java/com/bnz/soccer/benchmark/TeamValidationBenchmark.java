@@ -0,0 +1,77 @@
+package com.bnz.soccer.benchmark;
+
+import com.bnz.soccer.controllers.validation.TeamRequestValidator;
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.TeamRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of validating a valid {@link TeamRequest} per roster size: Hibernate Validator behind Spring's
+ * adapter (what {@code @Valid} used) vs {@link TeamRequestValidator}. Both write into the
+ * {@link BeanPropertyBindingResult} the data binder creates. Run with {@code mvn test -Pbenchmark}.
+ */
+class TeamValidationBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamValidationBenchmark.class);
+
+    private static final int[] ROSTER_SIZES = {25, 1_000};
+    private static final int WARMUP = 20_000;
+    private static final int ROUNDS = 20_000;
+
+    @Test
+    void hibernateValidator_vsTeamRequestValidator() {
+        Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+        SpringValidatorAdapter hibernate = new SpringValidatorAdapter(beanValidator);
+        TeamRequestValidator fastPath = new TeamRequestValidator();
+
+        StringBuilder table = new StringBuilder(String.format("%-8s %18s %18s%n", "players", "hibernate ns/op", "validator ns/op"));
+        double[] slow = new double[ROSTER_SIZES.length];
+        double[] fast = new double[ROSTER_SIZES.length];
+        for (int i = 0; i < ROSTER_SIZES.length; i++) {
+            TeamRequest request = request(ROSTER_SIZES[i]);
+            slow[i] = measure(request, r -> hibernate.validate(r, new BeanPropertyBindingResult(r, "teamRequest")));
+            fast[i] = measure(request, r -> fastPath.validate(r, new BeanPropertyBindingResult(r, "teamRequest")));
+            table.append(String.format("%-8d %18.0f %18.0f%n", ROSTER_SIZES[i], slow[i], fast[i]));
+        }
+        log.info("Validation paths:{}{}", System.lineSeparator(), table);
+
+        for (int i = 0; i < ROSTER_SIZES.length; i++) {
+            assertThat(fast[i]).isLessThan(slow[i]);
+        }
+    }
+
+    private static double measure(TeamRequest request, Consumer<TeamRequest> validate) {
+        int rounds = Math.max(100, ROUNDS / Math.max(1, request.players().size() / 25));
+        for (int i = 0; i < Math.max(100, WARMUP / Math.max(1, request.players().size() / 25)); i++) {
+            validate.accept(request);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            validate.accept(request);
+        }
+        return (System.nanoTime() - start) / (double) rounds;
+    }
+
+    private static TeamRequest request(int players) {
+        List<PlayerRequest> roster = new ArrayList<>(players);
+        Position[] positions = Position.values();
+        for (int i = 0; i < players; i++) {
+            roster.add(new PlayerRequest("Player " + i, positions[i % positions.length]));
+        }
+        return new TeamRequest("Team", "TM", new BigDecimal("1000000"), roster);
+    }
+}
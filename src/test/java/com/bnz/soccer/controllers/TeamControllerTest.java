@@ -1,14 +1,33 @@
 package com.bnz.soccer.controllers;
 
+import com.bnz.soccer.controllers.validation.TeamRequestValidator;
 import com.bnz.soccer.data.entity.Team;
 import com.bnz.soccer.exceptions.GlobalExceptionHandler;
+import com.bnz.soccer.exceptions.IngestQueueFullException;
+import com.bnz.soccer.exceptions.TeamAlreadyExistsException;
+import com.bnz.soccer.exceptions.TeamNotFoundException;
+import com.bnz.soccer.resources.enums.BatchMode;
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.enums.TeamOperationType;
+import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.TeamBatchResponse;
+import com.bnz.soccer.resources.record.TeamFieldSelection;
+import com.bnz.soccer.resources.record.TeamIngestTicket;
+import com.bnz.soccer.resources.record.TeamOperationResult;
 import com.bnz.soccer.resources.record.TeamRequest;
 import com.bnz.soccer.resources.record.TeamResponse;
+import com.bnz.soccer.services.TeamBatchService;
+import com.bnz.soccer.services.TeamChangeFeed;
+import com.bnz.soccer.services.TeamIngestService;
 import com.bnz.soccer.services.TeamService;
+import com.bnz.soccer.services.impl.IdempotencyStoreImpl;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -17,11 +36,20 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -29,12 +57,18 @@ class TeamControllerTest {
 
     private MockMvc mockMvc;
     private TeamService teamService;
+    private TeamIngestService teamIngestService;
+    private TeamBatchService teamBatchService;
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
         teamService = Mockito.mock(TeamService.class);
-        TeamController controller = new TeamController(teamService);
+        teamIngestService = Mockito.mock(TeamIngestService.class);
+        teamBatchService = Mockito.mock(TeamBatchService.class);
+        TeamController controller = new TeamController(teamService, teamIngestService,
+                Mockito.mock(TeamChangeFeed.class), new IdempotencyStoreImpl(100, Duration.ofHours(1)),
+                new TeamRequestValidator(), teamBatchService);
 
         mockMvc = MockMvcBuilders
                 .standaloneSetup(controller)
@@ -45,15 +79,10 @@ class TeamControllerTest {
     }
 
     @Test
-    void getAllTeams_returnsPagedList_withRealEntityFields() throws Exception {
-        Team psg = new Team();
-        psg.setId(1L);
-        psg.setName("Paris Saint-Germain");
-        psg.setAcronym("PSG");
-        psg.setPlayers(new ArrayList<>());
-        psg.setBudget(new BigDecimal("800000000"));
+    void getAllTeams_returnsPagedList() throws Exception {
+        TeamResponse psg = new TeamResponse(1L, "Paris Saint-Germain", "PSG", new BigDecimal("800000000"), List.of());
 
-        Page<Team> page = new PageImpl<>(List.of(psg), PageRequest.of(0, 5), 1);
+        Page<TeamResponse> page = new PageImpl<>(List.of(psg), PageRequest.of(0, 5), 1);
 
         Mockito.when(teamService.findWithAllPlayers(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
                 .thenReturn(page);
@@ -69,7 +98,16 @@ class TeamControllerTest {
                 .andExpect(jsonPath("$.content[0].acronym").value("PSG"))
                 .andExpect(jsonPath("$.content[0].players").isArray())
                 .andExpect(jsonPath("$.content[0].budget").value(800000000))
-                .andExpect(jsonPath("$.totalElements").value(1));
+                .andExpect(jsonPath("$.number").value(0))
+                .andExpect(jsonPath("$.size").value(5))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.totalPages").value(1))
+                .andExpect(jsonPath("$.pageable.pageSize").value(5))
+                .andExpect(jsonPath("$.sort.sorted").value(false))
+                .andExpect(jsonPath("$.first").value(true))
+                .andExpect(jsonPath("$.last").value(true))
+                .andExpect(jsonPath("$.numberOfElements").value(1))
+                .andExpect(jsonPath("$.empty").value(false));
     }
 
     @Test
@@ -133,7 +171,7 @@ class TeamControllerTest {
 
     @Test
     void getAllTeams_withEmptyResult_returnsEmptyList() throws Exception {
-        Page<Team> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 5), 0);
+        Page<TeamResponse> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 5), 0);
 
         Mockito.when(teamService.findWithAllPlayers(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
                 .thenReturn(emptyPage);
@@ -158,4 +196,294 @@ class TeamControllerTest {
                         .content(objectMapper.writeValueAsString(requestBody)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void createTeam_retriedWithSameIdempotencyKey_isReplayedWithoutSecondWrite() throws Exception {
+        TeamRequest requestBody = new TeamRequest("Lille", "LOSC", new BigDecimal("90000000"), new ArrayList<>());
+        Mockito.when(teamService.addTeam(Mockito.any()))
+                .thenReturn(new TeamResponse(7L, "Lille", "LOSC", new BigDecimal("90000000"), List.of()));
+
+        for (String replayed : List.of("false", "true")) {
+            mockMvc.perform(post("/api/teams")
+                            .header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(requestBody)))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", replayed))
+                    .andExpect(jsonPath("$.id").value(7));
+        }
+
+        Mockito.verify(teamService, Mockito.times(1)).addTeam(Mockito.any());
+    }
+
+    @Test
+    void createTeam_retriedWithTheBudgetAtAnotherScale_isReplayed() throws Exception {
+        Mockito.when(teamService.addTeam(Mockito.any()))
+                .thenReturn(new TeamResponse(7L, "Lille", "LOSC", new BigDecimal("100"), List.of()));
+
+        for (String budget : List.of("100", "100.00")) {
+            mockMvc.perform(post("/api/teams")
+                            .header("Idempotency-Key", "retry-4")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Lille\",\"acronym\":\"LOSC\",\"budget\":" + budget + ",\"players\":[]}"))
+                    .andExpect(status().isCreated());
+        }
+
+        Mockito.verify(teamService, Mockito.times(1)).addTeam(Mockito.any());
+    }
+
+    @Test
+    void createTeam_withReusedIdempotencyKeyAndOtherPayload_returnsUnprocessable() throws Exception {
+        Mockito.when(teamService.addTeam(Mockito.any()))
+                .thenReturn(new TeamResponse(7L, "Lille", "LOSC", BigDecimal.TEN, List.of()));
+
+        mockMvc.perform(post("/api/teams")
+                        .header("Idempotency-Key", "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TeamRequest("Lille", "LOSC", BigDecimal.TEN, List.of()))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/teams")
+                        .header("Idempotency-Key", "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TeamRequest("Lens", "RCL", BigDecimal.TEN, List.of()))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void createTeam_withExistingAcronym_returnsConflict() throws Exception {
+        Mockito.when(teamService.addTeam(Mockito.any())).thenThrow(new TeamAlreadyExistsException("LOSC"));
+
+        mockMvc.perform(post("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TeamRequest("Lille", "LOSC", BigDecimal.TEN, List.of()))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void createTeam_losingTheRaceOnTheAcronymIndex_returnsConflict() throws Exception {
+        Mockito.when(teamService.addTeam(Mockito.any())).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.IDX_TEAM_LIVE_ACRONYM ON PUBLIC.TEAM(LIVE_ACRONYM NULLS FIRST) VALUES ( /* 1 */ 'LOSC' )\"")));
+
+        mockMvc.perform(post("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TeamRequest("Lille", "LOSC", BigDecimal.TEN, List.of()))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void createTeam_withOtherIntegrityViolation_returnsServerError() throws Exception {
+        Mockito.when(teamService.addTeam(Mockito.any())).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLException("NULL not allowed for column \"NAME\"")));
+
+        mockMvc.perform(post("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TeamRequest("Lille", "LOSC", BigDecimal.TEN, List.of()))))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void createTeam_sameIdempotencyKeyFromAnotherUser_isNotReplayed() throws Exception {
+        Mockito.when(teamService.addTeam(Mockito.any()))
+                .thenReturn(new TeamResponse(7L, "Lille", "LOSC", BigDecimal.TEN, List.of()));
+
+        for (String user : List.of("alice", "bob")) {
+            mockMvc.perform(post("/api/teams")
+                            .principal(() -> user)
+                            .header("Idempotency-Key", "retry-3")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new TeamRequest("Lille", "LOSC", BigDecimal.TEN, List.of()))))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "false"));
+        }
+
+        Mockito.verify(teamService, Mockito.times(2)).addTeam(Mockito.any());
+    }
+
+    @Test
+    void updateTeamFully_withInvalidRoster_returnsBadRequest_withoutCallingService() throws Exception {
+        TeamRequest requestBody = new TeamRequest("Lille", "LOSC", new BigDecimal("90000000"), List.of(
+                new PlayerRequest("Jonathan David", Position.FORWARD),
+                new PlayerRequest(" ", null)));
+
+        mockMvc.perform(put("/api/teams/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestBody)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields[0].field").value("players[1].name"))
+                .andExpect(jsonPath("$.fields[1].field").value("players[1].position"))
+                .andExpect(jsonPath("$.fields[1].rejectedValue").isEmpty());
+
+        Mockito.verifyNoInteractions(teamService);
+    }
+
+    @Test
+    void createTeamAsync_withValidData_returnsAcceptedTicket() throws Exception {
+        TeamRequest requestBody = new TeamRequest("Lille", "LOSC", new BigDecimal("90000000"), new ArrayList<>());
+
+        Mockito.when(teamIngestService.submit(Mockito.any())).thenReturn(TeamIngestTicket.queued("abc"));
+
+        mockMvc.perform(post("/api/teams")
+                        .param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestBody)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.trackingId").value("abc"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        Mockito.verifyNoInteractions(teamService);
+    }
+
+    @Test
+    void createTeamAsync_withFullQueue_returnsServiceUnavailable() throws Exception {
+        TeamRequest requestBody = new TeamRequest("Lille", "LOSC", new BigDecimal("90000000"), new ArrayList<>());
+
+        Mockito.when(teamIngestService.submit(Mockito.any())).thenThrow(new IngestQueueFullException(1));
+
+        mockMvc.perform(post("/api/teams")
+                        .param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestBody)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void getIngestStatus_returnsCompletedTicket() throws Exception {
+        Mockito.when(teamIngestService.getStatus("abc"))
+                .thenReturn(TeamIngestTicket.queued("abc").completed(7L));
+
+        mockMvc.perform(get("/api/teams/ingest/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.teamId").value(7));
+    }
+
+    @Test
+    void deleteTeams_withIds_deletesInBulk() throws Exception {
+        mockMvc.perform(delete("/api/teams")
+                        .param("ids", "1,2,3")
+                        .param("hard", "true"))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(teamService).deleteTeams(List.of(1L, 2L, 3L), true);
+    }
+
+    @Test
+    void deleteTeam_hard_usesSetBasedPath() throws Exception {
+        mockMvc.perform(delete("/api/teams/4").param("hard", "true"))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(teamService).deleteTeams(List.of(4L), true);
+        Mockito.verify(teamService, Mockito.never()).deleteTeam(Mockito.any());
+    }
+
+    @Test
+    void getTeam_returnsSingleTeam() throws Exception {
+        Mockito.when(teamService.findTeam(1L))
+                .thenReturn(new TeamResponse(1L, "Paris Saint-Germain", "PSG", new BigDecimal("800000000"), List.of()));
+
+        mockMvc.perform(get("/api/teams/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.acronym").value("PSG"));
+    }
+
+    @Test
+    void getTeam_withUnknownId_returnsNotFound() throws Exception {
+        Mockito.when(teamService.findTeam(9L)).thenThrow(new TeamNotFoundException(9L));
+
+        mockMvc.perform(get("/api/teams/9"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title").value("Not Found"))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.detail").value("Team not found with id 9"));
+    }
+
+    @Test
+    void badRequest_detailIsEscapedInProblemBody() throws Exception {
+        Mockito.when(teamService.findTeam(9L)).thenThrow(new IllegalArgumentException("Unknown \"field\""));
+
+        mockMvc.perform(get("/api/teams/9"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Unknown \"field\""));
+    }
+
+    @Test
+    void getTeamsByIds_returnsTeamsInOneCall() throws Exception {
+        Mockito.when(teamService.findTeams(List.of(2L, 1L))).thenReturn(List.of(
+                new TeamResponse(2L, "Olympique de Marseille", "OM", BigDecimal.ONE, List.of()),
+                new TeamResponse(1L, "Paris Saint-Germain", "PSG", BigDecimal.TEN, List.of())));
+
+        mockMvc.perform(get("/api/teams").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[1].id").value(1));
+
+        Mockito.verify(teamService, Mockito.never())
+                .findWithAllPlayers(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void getAllTeams_withFields_usesSparseRead() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("name", "Paris Saint-Germain");
+        Page<Map<String, Object>> page = new PageImpl<>(List.of(row), PageRequest.of(0, 10), 1);
+        Mockito.when(teamService.findTeamFields(Mockito.eq(0), Mockito.eq(10), Mockito.eq("name"), Mockito.eq("asc"),
+                Mockito.eq(TeamFieldSelection.of(List.of("name"), null)))).thenReturn(page);
+
+        mockMvc.perform(get("/api/teams").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Paris Saint-Germain"))
+                .andExpect(jsonPath("$.content[0].players").doesNotExist());
+
+        Mockito.verify(teamService, Mockito.never())
+                .findWithAllPlayers(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void filterTeams_withUnknownField_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/teams/filter").param("fields", "name,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllTeams_withCborAccept_returnsCborEncodedPage() throws Exception {
+        TeamResponse psg = new TeamResponse(1L, "Paris Saint-Germain", null, null, List.of());
+        Mockito.when(teamService.findWithAllPlayers(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(new PageImpl<>(List.of(psg), PageRequest.of(0, 10), 1));
+
+        byte[] body = mockMvc.perform(get("/api/teams").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode decoded = new CBORMapper().readTree(body);
+        assertThat(decoded.at("/content/0/name").asText()).isEqualTo("Paris Saint-Germain");
+    }
+
+    @Test
+    void applyBatch_withoutOperations_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/teams/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mode\": \"ATOMIC\", \"operations\": []}"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(teamBatchService);
+    }
+
+    @Test
+    void applyBatch_rejectedAtomically_answersWithTheFailingStatus() throws Exception {
+        Mockito.when(teamBatchService.apply(Mockito.eq(BatchMode.ATOMIC), Mockito.anyList()))
+                .thenReturn(new TeamBatchResponse(BatchMode.ATOMIC, false, 0, 0, 2, List.of(
+                        new TeamOperationResult(0, TeamOperationType.DELETE, 1L, 424, "Not applied: operation 1 failed"),
+                        new TeamOperationResult(1, TeamOperationType.DELETE, 9L, 404, "Team not found with id 9"))));
+
+        mockMvc.perform(post("/api/teams/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\": [{\"type\": \"DELETE\", \"id\": 1}, {\"type\": \"DELETE\", \"id\": 9}]}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.applied").value(false))
+                .andExpect(jsonPath("$.results[1].detail").value("Team not found with id 9"));
+    }
 }
@@ -0,0 +1,121 @@
+package com.bnz.soccer.controllers;
+
+import com.bnz.soccer.data.config.StatementBudgetInspector;
+import com.bnz.soccer.exceptions.GlobalExceptionHandler;
+import com.bnz.soccer.exceptions.PlayerNotFoundException;
+import com.bnz.soccer.exceptions.TransferRejectedException;
+import com.bnz.soccer.resources.record.TransferRequest;
+import com.bnz.soccer.resources.record.TransferResponse;
+import com.bnz.soccer.services.TransferService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TransferControllerTest {
+
+    private static final String TRANSFER = "{\"playerId\": 7, \"fromTeamId\": 1, \"toTeamId\": 2, \"fee\": 500}";
+
+    private MockMvc mockMvc;
+    private TransferService transferService;
+
+    @BeforeEach
+    void setUp() {
+        transferService = Mockito.mock(TransferService.class);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new TransferController(transferService, new StatementBudgetInspector(
+                        StatementBudgetInspector.Mode.OFF, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class))))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void transfer_returnsBothBudgets() throws Exception {
+        when(transferService.transfer(new TransferRequest(7L, 1L, 2L, new BigDecimal("500"))))
+                .thenReturn(new TransferResponse(7L, 1L, 2L, new BigDecimal("500"),
+                        new BigDecimal("1500"), new BigDecimal("500")));
+
+        mockMvc.perform(post("/api/transfers").contentType(MediaType.APPLICATION_JSON).content(TRANSFER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromTeamBudget").value(1500))
+                .andExpect(jsonPath("$.toTeamBudget").value(500));
+    }
+
+    @Test
+    void transfer_withNegativeFee_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/transfers").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerId\": 7, \"fromTeamId\": 1, \"toTeamId\": 2, \"fee\": -1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields[0].field").value("fee"));
+
+        verifyNoInteractions(transferService);
+    }
+
+    @Test
+    void transfer_whenPlayerAlreadyLeft_returnsConflict() throws Exception {
+        when(transferService.transfer(any())).thenThrow(new TransferRejectedException("Player 7 does not play for team 1"));
+
+        mockMvc.perform(post("/api/transfers").contentType(MediaType.APPLICATION_JSON).content(TRANSFER))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail").value("Player 7 does not play for team 1"));
+    }
+
+    @Test
+    void transfer_withUnknownPlayer_returnsNotFound() throws Exception {
+        when(transferService.transfer(any())).thenThrow(new PlayerNotFoundException(7L));
+
+        mockMvc.perform(post("/api/transfers").contentType(MediaType.APPLICATION_JSON).content(TRANSFER))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void batch_withoutTransfers_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/transfers/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transfers\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transferService);
+    }
+
+    @Test
+    void batch_returnsTransfersInRequestOrder() throws Exception {
+        when(transferService.transferAll(anyList())).thenReturn(List.of(
+                new TransferResponse(7L, 1L, 2L, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.ONE),
+                new TransferResponse(7L, 2L, 3L, BigDecimal.ONE, BigDecimal.TWO, BigDecimal.ONE)));
+
+        mockMvc.perform(post("/api/transfers/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transfers\": [" + TRANSFER + ", "
+                                + "{\"playerId\": 7, \"fromTeamId\": 2, \"toTeamId\": 3, \"fee\": 1}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].toTeamId").value(3));
+    }
+
+    @Test
+    void transferAll_budgetGrowsWithTheBatch() {
+        TransferRequest single = new TransferRequest(7L, 1L, 2L, BigDecimal.ONE);
+        List<TransferRequest> chain = LongStream.range(0, 100)
+                .mapToObj(t -> new TransferRequest(t, t, t + 1, BigDecimal.ONE))
+                .toList();
+
+        assertThat(TransferController.batchBudget(List.of(single))).isEqualTo(TransferController.TRANSFER_BUDGET);
+        // 101 teams: two further batches of team updates
+        assertThat(TransferController.batchBudget(chain)).isEqualTo(TransferController.TRANSFER_BUDGET + 99 + 2);
+    }
+}
@@ -0,0 +1,64 @@
+package com.bnz.soccer.controllers.config;
+
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.record.PageResponse;
+import com.bnz.soccer.resources.record.PlayerResponse;
+import com.bnz.soccer.resources.record.TeamResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamJsonSerializersTest {
+
+    private final ObjectMapper reflective = new ObjectMapper();
+    private final ObjectMapper handWritten = new ObjectMapper().registerModule(new SimpleModule()
+            .addSerializer(TeamResponse.class, new TeamJsonSerializers.TeamResponseSerializer())
+            .addSerializer(PlayerResponse.class, new TeamJsonSerializers.PlayerResponseSerializer())
+            .addSerializer(new TeamJsonSerializers.PageResponseSerializer()));
+
+    @Test
+    void teamResponse_isWrittenExactlyLikeTheBeanSerializer() throws Exception {
+        List<TeamResponse> teams = List.of(
+                new TeamResponse(1L, "Paris Saint-Germain", "PSG", new BigDecimal("800000000.50"), List.of(
+                        new PlayerResponse(10L, "Kylian \"KM\" Mbappé", Position.FORWARD),
+                        new PlayerResponse(11L, null, null))),
+                new TeamResponse(2L, "Olympique de Marseille", null, null, null));
+
+        assertThat(handWritten.writeValueAsString(teams)).isEqualTo(reflective.writeValueAsString(teams));
+    }
+
+    @Test
+    void pageResponse_isWrittenExactlyLikeTheBeanSerializer() throws Exception {
+        PageResponse<TeamResponse> teams = PageResponse.of(new PageImpl<>(List.of(
+                new TeamResponse(1L, "Lille", "LOSC", BigDecimal.TEN, List.of())),
+                PageRequest.of(2, 1, Sort.by("name").descending()), 7));
+        PageResponse<Map<String, Object>> fields = PageResponse.of(new PageImpl<>(List.of(Map.of("id", 1L)),
+                PageRequest.of(0, 10), 1));
+        PageResponse<TeamResponse> empty = new PageResponse<>(null, PageRequest.of(0, 10), 0, 0, true, 10, 0,
+                Sort.unsorted(), true, 0, true);
+
+        assertThat(handWritten.writeValueAsString(teams)).isEqualTo(reflective.writeValueAsString(teams));
+        assertThat(handWritten.writeValueAsString(fields)).isEqualTo(reflective.writeValueAsString(fields));
+        assertThat(handWritten.writeValueAsString(empty)).isEqualTo(reflective.writeValueAsString(empty));
+    }
+
+    @Test
+    void pageResponse_keepsTheFieldsOfASerializedPage() throws Exception {
+        PageImpl<TeamResponse> page = new PageImpl<>(List.of(
+                new TeamResponse(1L, "Lille", "LOSC", BigDecimal.TEN, List.of())),
+                PageRequest.of(2, 1, Sort.by("name").descending()), 7);
+
+        // Compared as trees: the bean serializer does not order the getters of PageImpl the same way on every run
+        assertThat(reflective.readTree(handWritten.writeValueAsString(PageResponse.of(page))))
+                .isEqualTo(reflective.readTree(reflective.writeValueAsString(page)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.bnz.soccer.controllers.validation;
+
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
+import com.bnz.soccer.resources.record.TeamRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamRequestValidatorTest {
+
+    private final TeamRequestValidator validator = new TeamRequestValidator();
+    private final Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private Set<String> errors(Object request) {
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(request, "request");
+        validator.validate(request, result);
+        return result.getFieldErrors().stream()
+                .map(e -> e.getField() + " " + e.getCode())
+                .collect(Collectors.toSet());
+    }
+
+    private Set<String> beanValidationErrors(Object request) {
+        return beanValidator.validate(request).stream()
+                .map(v -> v.getPropertyPath().toString().replace(".<list element>", "") + " "
+                        + v.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName())
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    void validTeam_hasNoErrors() {
+        TeamRequest request = new TeamRequest("Lille", "LOSC", BigDecimal.TEN,
+                List.of(new PlayerRequest("Jonathan David", Position.FORWARD)));
+
+        assertThat(errors(request)).isEmpty();
+    }
+
+    @Test
+    void emptyName_isRejected() {
+        TeamRequest request = new TeamRequest("", "PSG", new BigDecimal("800000000"), null);
+
+        assertThat(errors(request)).containsExactly("name NotBlank");
+    }
+
+    @Test
+    void rejectsTheSameFieldsAsBeanValidation() {
+        List<Object> requests = List.of(
+                new TeamRequest(" ", null, BigDecimal.ZERO, List.of(new PlayerRequest("", Position.DEFENDER))),
+                new TeamRequest("Lens", "RCL", null, Arrays.asList(new PlayerRequest("Ok", null), new PlayerRequest(null, null))),
+                new TeamRequest("Nice", "OGCN", new BigDecimal("-1"), List.of()),
+                new TeamPartialUpdateRequest("N", new BigDecimal("-5")),
+                new TeamPartialUpdateRequest(null, null));
+
+        for (Object request : requests) {
+            assertThat(errors(request)).as(request.toString()).isEqualTo(beanValidationErrors(request));
+        }
+    }
+
+    @Test
+    void missingValue_isReportedAsNullRejectedValue() {
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(
+                new TeamRequest("Lille", "LOSC", null, null), "teamRequest");
+
+        validator.validate(result.getTarget(), result);
+
+        FieldError error = result.getFieldError("budget");
+        assertThat(error).isNotNull();
+        assertThat(error.getRejectedValue()).isNull();
+        assertThat(error.getDefaultMessage()).isEqualTo("must not be null");
+    }
+}
@@ -0,0 +1,109 @@
+package com.bnz.soccer.data;
+
+import com.bnz.soccer.data.repository.TeamRepository;
+import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
+import com.bnz.soccer.resources.record.TeamRequest;
+import com.bnz.soccer.services.TeamService;
+import com.bnz.soccer.services.impl.OutboxInvalidationBus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Another node is simulated by writing straight to the database, as a second instance would,
+ * and recording its invalidation in the outbox.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ClusterInvalidationIntegrationTest {
+
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private OutboxInvalidationBus bus;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void writeOnAnotherNode_evictsLocalCacheOnNextPoll() {
+        Long id = teamService.addTeam(new TeamRequest("Cluster Local", "CL", BigDecimal.TEN, List.of())).id();
+        assertThat(teamRepository.findById(id).orElseThrow().getName()).isEqualTo("Cluster Local");
+
+        jdbcTemplate.update("UPDATE team SET name = 'Cluster Remote' WHERE id = ?", id);
+        jdbcTemplate.update("INSERT INTO team_invalidation (node_id, team_id) VALUES ('other-node', ?)", id);
+
+        // Still served from this node's second-level cache until the outbox is polled
+        assertThat(teamRepository.findById(id).orElseThrow().getName()).isEqualTo("Cluster Local");
+
+        assertThat(bus.poll()).isPositive();
+
+        assertThat(teamRepository.findById(id).orElseThrow().getName()).isEqualTo("Cluster Remote");
+    }
+
+    @Test
+    void writeCommittedLongAfterItsInsert_isStillPolled() throws Exception {
+        Long id = teamService.addTeam(new TeamRequest("Cluster Slow", "CS", BigDecimal.TEN, List.of())).id();
+        Long other = teamService.addTeam(new TeamRequest("Cluster Fast", "CF", BigDecimal.TEN, List.of())).id();
+        assertThat(teamRepository.findById(id).orElseThrow().getName()).isEqualTo("Cluster Slow");
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Another node's transaction, open for longer than the grace period, but within the retention
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.update("UPDATE team SET name = 'Cluster Slow Remote' WHERE id = ?", id);
+                    jdbcTemplate.update("INSERT INTO team_invalidation (node_id, team_id, created_at) "
+                            + "VALUES ('other-node', ?, DATEADD(MINUTE, -30, CURRENT_TIMESTAMP))", id);
+                    written.countDown();
+                    await(release);
+                }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // A later row commits first and is polled past the uncommitted one
+        jdbcTemplate.update("INSERT INTO team_invalidation (node_id, team_id) VALUES ('other-node', ?)", other);
+        bus.poll();
+
+        release.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+        assertThat(teamRepository.findById(id).orElseThrow().getName()).isEqualTo("Cluster Slow");
+        bus.poll();
+
+        assertThat(teamRepository.findById(id).orElseThrow().getName()).isEqualTo("Cluster Slow Remote");
+    }
+
+    @Test
+    void localWrite_recordsOneOutboxRowPerTeam_inItsTransaction() {
+        Long id = teamService.addTeam(new TeamRequest("Cluster Writer", "CW", BigDecimal.TEN, List.of())).id();
+        teamService.updateTeamPartially(id, new TeamPartialUpdateRequest("Cluster Writer Renamed", null));
+        teamService.deleteTeams(List.of(id), false);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM team_invalidation WHERE team_id = ? AND node_id = ?",
+                Long.class, id, bus.getNodeId())).isEqualTo(3);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.bnz.soccer.data;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code /actuator/flightrecording} over HTTP, through the security filters: start, stop with a
+ * summary read from a real JDBC workload, download.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.security.user.name=admin", "spring.security.user.password=admin"})
+@ActiveProfiles("test")
+class FlightRecordingEndpointIntegrationTest {
+
+    private static final String CREDENTIALS = "Basic " + Base64.getEncoder()
+            .encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+    private static final Pattern NAME = Pattern.compile("\"name\":\"([^\"]+)\"");
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void recording_requiresAuthentication() throws Exception {
+        assertThat(send(request("").GET().build()).statusCode()).isEqualTo(401);
+        assertThat(send(request("").POST(HttpRequest.BodyPublishers.noBody()).build()).statusCode()).isEqualTo(401);
+    }
+
+    @Test
+    void recording_startStopAndDownload() throws Exception {
+        HttpResponse<String> started = send(authenticated("")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"duration\":\"PT1M\"}"))
+                .build());
+        assertThat(started.statusCode()).isEqualTo(200);
+        assertThat(started.body()).contains("\"state\":\"RUNNING\"");
+
+        HttpResponse<String> again = send(authenticated("")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                .build());
+        assertThat(again.statusCode()).isEqualTo(409);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(send(HttpRequest.newBuilder(URI.create(base() + "/api/teams")).build()).statusCode()).isEqualTo(200);
+        }
+
+        HttpResponse<String> stopped = send(authenticated("").DELETE().build());
+        assertThat(stopped.statusCode()).isEqualTo(200);
+        assertThat(stopped.body()).contains("\"state\":\"STOPPED\"").doesNotContain("\"jdbcExecutions\":0,");
+
+        Matcher name = NAME.matcher(stopped.body());
+        assertThat(name.find()).isTrue();
+        HttpResponse<byte[]> file = client.send(authenticated("/" + name.group(1)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(file.statusCode()).isEqualTo(200);
+        // JFR chunk magic
+        assertThat(new String(file.body(), 0, 3, StandardCharsets.US_ASCII)).isEqualTo("FLR");
+
+        assertThat(send(authenticated("/soccer-0").GET().build()).statusCode()).isEqualTo(404);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(base() + "/actuator/flightrecording" + path));
+    }
+
+    private HttpRequest.Builder authenticated(String path) {
+        return request(path).header("Authorization", CREDENTIALS);
+    }
+
+    private String base() {
+        return "http://localhost:" + port;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
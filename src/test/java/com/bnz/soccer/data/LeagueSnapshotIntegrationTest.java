@@ -0,0 +1,64 @@
+package com.bnz.soccer.data;
+
+import com.bnz.soccer.data.snapshot.LeagueSnapshot;
+import com.bnz.soccer.data.snapshot.LeagueSnapshotLoader;
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.enums.TeamSortField;
+import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.TeamResponse;
+import com.bnz.soccer.services.TeamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static com.bnz.soccer.data.TestTeams.team;
+import static com.bnz.soccer.data.TestTeams.uniquePrefix;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The snapshot must answer exactly like the database it was loaded from.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LeagueSnapshotIntegrationTest {
+
+    @Autowired
+    private LeagueSnapshotLoader loader;
+    @Autowired
+    private TeamService teamService;
+
+    @Test
+    void load_readsLiveTeamsWithRostersInIdOrder() {
+        Long id = teamService.addTeam(team("Snapshot", uniquePrefix(),
+                new PlayerRequest("Keeper", Position.GOALKEEPER),
+                new PlayerRequest("Striker", Position.FORWARD))).id();
+
+        LeagueSnapshot.Entry team = loader.load(List.of(id)).get(0);
+        assertThat(team.playerNames()).containsExactly("Keeper", "Striker");
+        assertThat(team.position(1)).isEqualTo(Position.FORWARD);
+
+        teamService.deleteTeam(id);
+
+        assertThat(loader.load(List.of(id))).isEmpty();
+    }
+
+    @Test
+    void everySort_matchesTheDatabaseOrder() {
+        LeagueSnapshot league = LeagueSnapshot.of(loader.loadAll());
+
+        for (TeamSortField field : TeamSortField.values()) {
+            for (String direction : List.of("asc", "desc")) {
+                List<Long> expected = teamService.findWithAllPlayers(0, 20, field.property(), direction)
+                        .getContent().stream().map(TeamResponse::id).toList();
+
+                assertThat(league.page(field, direction.equals("desc"), 0, 20))
+                        .as(field + " " + direction)
+                        .extracting(LeagueSnapshot.Entry::id)
+                        .containsExactlyElementsOf(expected);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.bnz.soccer.data;
+
+import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.resources.record.TeamRequest;
+import com.bnz.soccer.services.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for a primary and its replica; each holds a team the
+ * other one does not, which shows where every call was routed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:soccer-routing-primary;DB_CLOSE_DELAY=-1",
+        "soccer.datasource.replica.url=jdbc:h2:mem:soccer-routing-replica;DB_CLOSE_DELAY=-1",
+        "soccer.datasource.replica.username=sa",
+        // Ehcache managers are shared per JVM: keep this context's entities in regions of its own
+        "spring.jpa.properties.hibernate.cache.region_prefix=replica-routing",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    private static final long REPLICA_ONLY_ID = 1_000L;
+
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        // The replica pool is read-only; seed it through a plain connection
+        JdbcTemplate replicaWriter = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:soccer-routing-replica;DB_CLOSE_DELAY=-1", "sa", ""));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replicaWriter.getDataSource());
+        replicaWriter.update("INSERT INTO team (id, name, acronym, budget) OVERRIDING SYSTEM VALUE VALUES (?, 'Replica only', 'RO', 1)", REPLICA_ONLY_ID);
+    }
+
+    @Test
+    void readOnlyTransactions_areServedByReplica() {
+        assertThat(teamService.findTeam(REPLICA_ONLY_ID).name()).isEqualTo("Replica only");
+        assertThat(teamService.findTeams(List.of(REPLICA_ONLY_ID))).hasSize(1);
+    }
+
+    @Test
+    void readsFromTheReplica_areNotPutInTheSecondLevelCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long entityPuts = statistics.getSecondLevelCachePutCount();
+        long queryPuts = statistics.getQueryCachePutCount();
+
+        teamService.findTeam(REPLICA_ONLY_ID);
+        teamService.findTeams(List.of(REPLICA_ONLY_ID));
+        teamService.findWithAllPlayers(0, 10, "name", "asc");
+        teamService.filterTeams("Replica", null);
+
+        assertThat(entityManagerFactory.getCache().contains(Team.class, REPLICA_ONLY_ID)).isFalse();
+        assertThat(statistics.getSecondLevelCachePutCount()).isEqualTo(entityPuts);
+        assertThat(statistics.getQueryCachePutCount()).isEqualTo(queryPuts);
+    }
+
+    @Test
+    void writes_goToPrimary() {
+        Long id = teamService.addTeam(new TeamRequest("Primary only", "PO", BigDecimal.TEN, List.of())).id();
+
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM team WHERE id = ?", Long.class, id)).isEqualTo(1);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM team WHERE name = 'Primary only'", Long.class)).isZero();
+    }
+}
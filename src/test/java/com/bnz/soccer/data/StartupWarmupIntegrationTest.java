@@ -0,0 +1,36 @@
+package com.bnz.soccer.data;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The warmup runs before the context reports ready: the pool is full and the time spent is exported.
+ */
+@SpringBootTest(properties = {"soccer.warmup.enabled=true", "soccer.warmup.iterations=20"})
+@ActiveProfiles("test")
+class StartupWarmupIntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private HikariDataSource dataSource;
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    void warmup_hasRunByTheTimeTheApplicationIsReady() {
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(meterRegistry.get("soccer.warmup.duration").timeGauge().value(TimeUnit.MILLISECONDS)).isPositive();
+        assertThat(dataSource.getHikariPoolMXBean().getTotalConnections()).isEqualTo(dataSource.getMaximumPoolSize());
+    }
+}
@@ -0,0 +1,156 @@
+package com.bnz.soccer.data;
+
+import com.bnz.soccer.data.config.StatementBudgetInspector;
+import com.bnz.soccer.exceptions.StatementBudgetExceededException;
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.services.TeamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.bnz.soccer.data.TestTeams.team;
+import static com.bnz.soccer.data.TestTeams.uniquePrefix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Each {@code @StatementBudget} endpoint stays within its budget however many teams and players it returns.
+ * The test profile runs the guard in fail mode, so an N+1 regression turns these requests into errors.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StatementBudgetIntegrationTest {
+
+    private static final int TEAMS = 12;
+
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private StatementBudgetInspector inspector;
+
+    private MockMvc mockMvc;
+    private String prefix;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        // Security filters left out: only the budget interceptor matters here
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        String acronymPrefix = uniquePrefix();
+        prefix = "Budget " + acronymPrefix;
+        ids = new ArrayList<>();
+        for (int t = 0; t < TEAMS; t++) {
+            ids.add(teamService.addTeam(team("Budget", acronymPrefix + t,
+                    new PlayerRequest("Keeper " + t, Position.GOALKEEPER),
+                    new PlayerRequest("Striker " + t, Position.FORWARD))).id());
+        }
+    }
+
+    @Test
+    void readEndpoints_stayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/teams").param("size", "50"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/teams").param("fields", "id,name").param("include", "players").param("size", "50"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/teams/filter").param("name", prefix))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(jsonPath("$.content[0].players.length()").value(2));
+        mockMvc.perform(get("/api/teams/" + ids.get(0)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/teams").param("ids", ids.stream().map(String::valueOf).toArray(String[]::new)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(TEAMS));
+        mockMvc.perform(get("/api/teams/changes").param("since", "0"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void writeEndpoints_stayWithinBudget() throws Exception {
+        mockMvc.perform(patch("/api/teams/" + ids.get(0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"budget\": 42}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/teams/" + ids.get(1)))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/teams").param("ids", String.valueOf(ids.get(2)), String.valueOf(ids.get(3)))
+                        .param("hard", "true"))
+                .andExpect(status().isNoContent());
+        Long playerId = teamService.findTeam(ids.get(4)).players().get(0).id();
+        mockMvc.perform(post("/api/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerId\": " + playerId + ", \"fromTeamId\": " + ids.get(4)
+                                + ", \"toTeamId\": " + ids.get(5) + ", \"fee\": 1}"))
+                .andExpect(status().isOk());
+
+        // Six players moved along the remaining teams, one more player UPDATE each
+        StringBuilder batch = new StringBuilder("{\"transfers\": [");
+        for (int t = 6; t < TEAMS; t++) {
+            Long moved = teamService.findTeam(ids.get(t)).players().get(0).id();
+            batch.append(t == 6 ? "" : ", ").append("{\"playerId\": ").append(moved)
+                    .append(", \"fromTeamId\": ").append(ids.get(t))
+                    .append(", \"toTeamId\": ").append(ids.get(t == TEAMS - 1 ? 6 : t + 1)).append(", \"fee\": 1}");
+        }
+        mockMvc.perform(post("/api/transfers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch.append("]}").toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(TEAMS - 6));
+    }
+
+    @Test
+    void statementOverBudget_failsInTests() {
+        try (StatementBudgetInspector.Scope ignored = inspector.open("test", 1)) {
+            assertThatThrownBy(() -> teamService.findWithAllPlayers(0, 5, "name", "asc"))
+                    .isInstanceOf(StatementBudgetExceededException.class);
+        }
+    }
+
+    @Test
+    void nestedScope_countsItsOwnStatements() {
+        try (StatementBudgetInspector.Scope outer = inspector.open("outer", 100)) {
+            try (StatementBudgetInspector.Scope inner = inspector.open("inner", 100)) {
+                teamService.findTeams(ids);
+                assertThat(inner.count()).isPositive();
+            }
+            assertThat(outer.count()).isZero();
+        }
+    }
+
+    @Test
+    void logMode_countsViolationPerEndpoint() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StatementBudgetInspector logging = new StatementBudgetInspector(StatementBudgetInspector.Mode.LOG,
+                new StaticListableBeanFactory(Map.of("registry", registry)).getBeanProvider(MeterRegistry.class));
+
+        try (StatementBudgetInspector.Scope ignored = logging.open("TeamController.getTeam", 1)) {
+            logging.inspect("select * from player where team_id = ?");
+            logging.inspect("select * from player where team_id = ?");
+        }
+
+        assertThat(registry.counter("soccer.sql.budget.violations", "endpoint", "TeamController.getTeam").count())
+                .isEqualTo(1);
+    }
+}
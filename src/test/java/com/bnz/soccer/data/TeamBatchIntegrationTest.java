@@ -0,0 +1,151 @@
+package com.bnz.soccer.data;
+
+import com.bnz.soccer.exceptions.TeamNotFoundException;
+import com.bnz.soccer.resources.enums.BatchMode;
+import com.bnz.soccer.resources.record.TeamBatchResponse;
+import com.bnz.soccer.resources.record.TeamOperation;
+import com.bnz.soccer.resources.record.TeamOperationResult;
+import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
+import com.bnz.soccer.resources.record.TeamRequest;
+import com.bnz.soccer.resources.record.TeamResponse;
+import com.bnz.soccer.services.TeamBatchService;
+import com.bnz.soccer.services.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bnz.soccer.data.TestTeams.BUDGET;
+import static com.bnz.soccer.data.TestTeams.uniquePrefix;
+import static com.bnz.soccer.resources.enums.TeamOperationType.CREATE;
+import static com.bnz.soccer.resources.enums.TeamOperationType.DELETE;
+import static com.bnz.soccer.resources.enums.TeamOperationType.PATCH;
+import static com.bnz.soccer.resources.enums.TeamOperationType.REPLACE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Team batches against the database: order, all-or-nothing and best-effort outcomes, and
+ * statements grouped into JDBC batches rather than sent one per row.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TeamBatchIntegrationTest {
+
+    @Autowired
+    private TeamBatchService teamBatchService;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String prefix;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        prefix = uniquePrefix();
+        ids = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            ids.add(teamService.addTeam(team(prefix + t, 2)).id());
+        }
+    }
+
+    private static TeamRequest team(String acronym, int players) {
+        return TestTeams.team("Batch", acronym, players);
+    }
+
+    @Test
+    void atomic_appliesEveryOperationInOrder() {
+        // The deleted team's acronym is free again for the creation that follows
+        TeamBatchResponse response = teamBatchService.apply(BatchMode.ATOMIC, List.of(
+                new TeamOperation(PATCH, ids.get(0), null, new TeamPartialUpdateRequest(null, new BigDecimal("5000"))),
+                new TeamOperation(REPLACE, ids.get(1), team(prefix + "R", 3), null),
+                new TeamOperation(DELETE, ids.get(2), null, null),
+                new TeamOperation(CREATE, null, team(prefix + 2, 4), null)));
+
+        assertThat(response.applied()).isTrue();
+        assertThat(response.succeeded()).isEqualTo(4);
+        assertThat(response.results()).extracting(TeamOperationResult::status).containsExactly(200, 200, 204, 201);
+        assertThat(teamService.findTeam(ids.get(0)).budget()).isEqualByComparingTo("5000");
+        TeamResponse replaced = teamService.findTeam(ids.get(1));
+        assertThat(replaced.acronym()).isEqualTo(prefix + "R");
+        assertThat(replaced.players()).hasSize(3);
+        assertThatThrownBy(() -> teamService.findTeam(ids.get(2))).isInstanceOf(TeamNotFoundException.class);
+        TeamResponse created = teamService.findTeam(response.results().get(3).id());
+        assertThat(created.acronym()).isEqualTo(prefix + 2);
+        assertThat(created.players()).hasSize(4);
+    }
+
+    @Test
+    void atomic_appliesNothingWhenAnOperationFails() {
+        TeamBatchResponse response = teamBatchService.apply(BatchMode.ATOMIC, List.of(
+                new TeamOperation(PATCH, ids.get(0), null, new TeamPartialUpdateRequest(null, new BigDecimal("5000"))),
+                new TeamOperation(DELETE, ids.get(1), null, null),
+                new TeamOperation(PATCH, ids.get(1), null, new TeamPartialUpdateRequest("Ghost", null))));
+
+        assertThat(response.applied()).isFalse();
+        assertThat(response.results()).extracting(TeamOperationResult::status).containsExactly(424, 424, 404);
+        assertThat(teamService.findTeam(ids.get(0)).budget()).isEqualByComparingTo(BUDGET);
+        assertThat(teamService.findTeam(ids.get(1)).name()).isEqualTo("Batch " + prefix + 1);
+    }
+
+    @Test
+    void updatesOfATeamDeletedLater_areReportedAsSkipped() {
+        TeamBatchResponse response = teamBatchService.apply(BatchMode.ATOMIC, List.of(
+                new TeamOperation(PATCH, ids.get(0), null, new TeamPartialUpdateRequest("Doomed", null)),
+                new TeamOperation(REPLACE, ids.get(0), team(prefix + "D", 1), null),
+                new TeamOperation(PATCH, ids.get(1), null, new TeamPartialUpdateRequest("Kept", null)),
+                new TeamOperation(DELETE, ids.get(0), null, null)));
+
+        assertThat(response.applied()).isTrue();
+        assertThat(response.results()).extracting(TeamOperationResult::status).containsExactly(410, 410, 200, 204);
+        assertThat(response.results().get(0).detail()).isEqualTo("Skipped: the team is deleted by operation 3");
+        assertThat(response.succeeded()).isEqualTo(2);
+        assertThat(response.skipped()).isEqualTo(2);
+        assertThat(response.failed()).isZero();
+        assertThatThrownBy(() -> teamService.findTeam(ids.get(0))).isInstanceOf(TeamNotFoundException.class);
+    }
+
+    @Test
+    void bestEffort_skipsFailingOperations() {
+        TeamBatchResponse response = teamBatchService.apply(BatchMode.BEST_EFFORT, List.of(
+                new TeamOperation(CREATE, null, team(prefix + 0, 1), null),
+                new TeamOperation(CREATE, null, new TeamRequest("", prefix + "X", BigDecimal.TEN, null), null),
+                new TeamOperation(REPLACE, null, team(prefix + "Y", 1), null),
+                new TeamOperation(PATCH, ids.get(0), null, new TeamPartialUpdateRequest("Renamed", null))));
+
+        assertThat(response.applied()).isTrue();
+        assertThat(response.succeeded()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(3);
+        assertThat(response.results()).extracting(TeamOperationResult::status).containsExactly(409, 400, 400, 200);
+        assertThat(response.results().get(1).detail()).isEqualTo("team.name: must not be blank");
+        assertThat(teamService.findTeam(ids.get(0)).name()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void rosterWrites_areSentAsJdbcBatches() {
+        List<TeamOperation> operations = new ArrayList<>();
+        for (int t = 0; t < 20; t++) {
+            operations.add(new TeamOperation(CREATE, null, team(prefix + "C" + t, 10), null));
+        }
+        ids.forEach(id -> operations.add(new TeamOperation(REPLACE, id, team(prefix + "N" + id, 10), null)));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        TeamBatchResponse response = teamBatchService.apply(BatchMode.ATOMIC, operations);
+
+        // 23 teams and 230 players written, about 290 statements row by row. New teams have IDENTITY keys:
+        // one INSERT each, which also sends its roster as one batch; the replaced rosters share a batch
+        assertThat(response.succeeded()).isEqualTo(23);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(60);
+    }
+}
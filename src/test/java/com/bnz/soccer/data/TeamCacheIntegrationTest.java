@@ -0,0 +1,198 @@
+package com.bnz.soccer.data;
+
+import com.bnz.soccer.data.entity.Player;
+import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.data.repository.TeamRepository;
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
+import com.bnz.soccer.resources.record.TeamResponse;
+import com.bnz.soccer.services.TeamIngestService;
+import com.bnz.soccer.services.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.bnz.soccer.data.TestTeams.team;
+import static com.bnz.soccer.data.TestTeams.uniquePrefix;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every write path must leave the second-level and query caches consistent with the database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TeamCacheIntegrationTest {
+
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private TeamIngestService teamIngestService;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private TransactionTemplate tx;
+    private String prefix;
+    private String acronymPrefix;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        tx = new TransactionTemplate(transactionManager);
+        acronymPrefix = uniquePrefix();
+        prefix = "Cache " + acronymPrefix;
+    }
+
+    private Long createTeam(String suffix, String... players) {
+        return teamService.addTeam(team("Cache", acronymPrefix + suffix, Arrays.stream(players)
+                .map(name -> new PlayerRequest(name, Position.DEFENDER))
+                .toArray(PlayerRequest[]::new))).id();
+    }
+
+    private List<String> filteredNames() {
+        return teamService.filterTeams(prefix, null).getContent().stream().map(TeamResponse::name).toList();
+    }
+
+    private List<String> playerNames(Long teamId) {
+        return tx.execute(status -> teamRepository.findById(teamId).orElseThrow()
+                .getPlayers().stream().map(Player::getName).toList());
+    }
+
+    @Test
+    void findById_isServedFromSecondLevelCache() {
+        Long id = createTeam("A");
+        teamRepository.findById(id);
+        statistics.clear();
+
+        assertThat(teamRepository.findById(id)).isPresent();
+
+        assertThat(statistics.getDomainDataRegionStatistics("team").getHitCount()).isPositive();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void filterTeams_isServedFromQueryCache() {
+        createTeam("A", "Alpha");
+        filteredNames();
+        statistics.clear();
+
+        assertThat(filteredNames()).containsExactly(prefix + "A");
+
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void filterTeams_withMoreMatchesThanOnePage_countsThemAll() {
+        for (int i = 0; i < 12; i++) {
+            createTeam("T" + i, "Player " + i);
+        }
+
+        assertThat(teamService.filterTeams(prefix, null).getTotalElements()).isEqualTo(12);
+    }
+
+    @Test
+    void updateTeamPartially_returnsTeamWithLoadedRoster() {
+        Long id = createTeam("A", "Alpha");
+
+        Team updated = teamService.updateTeamPartially(id, new TeamPartialUpdateRequest(null, BigDecimal.TWO));
+
+        assertThat(updated.getPlayers()).extracting(Player::getName).containsExactly("Alpha");
+    }
+
+    @Test
+    void addTeam_invalidatesQueryCache() {
+        createTeam("A");
+        assertThat(filteredNames()).hasSize(1);
+
+        createTeam("B");
+
+        assertThat(filteredNames()).containsExactlyInAnyOrder(prefix + "A", prefix + "B");
+    }
+
+    @Test
+    void ingestDrain_invalidatesQueryCache() {
+        createTeam("A");
+        assertThat(filteredNames()).hasSize(1);
+
+        teamIngestService.submit(team("Cache", acronymPrefix + "B"));
+        teamIngestService.drain();
+
+        assertThat(filteredNames()).hasSize(2);
+    }
+
+    @Test
+    void updateTeamPartially_refreshesCachedEntityAndQueries() {
+        Long id = createTeam("A");
+        teamRepository.findById(id);
+        assertThat(filteredNames()).hasSize(1);
+
+        teamService.updateTeamPartially(id, new TeamPartialUpdateRequest(prefix + " Renamed", null));
+
+        assertThat(teamRepository.findById(id).orElseThrow().getName()).isEqualTo(prefix + " Renamed");
+        assertThat(filteredNames()).containsExactly(prefix + " Renamed");
+    }
+
+    @Test
+    void updateTeamFully_refreshesCachedRoster() {
+        Long id = createTeam("A", "Old Player");
+        assertThat(playerNames(id)).containsExactly("Old Player");
+
+        teamService.updateTeamFully(id, team("Cache", acronymPrefix + "A",
+                new PlayerRequest("New Player", Position.GOALKEEPER)));
+
+        assertThat(playerNames(id)).containsExactly("New Player");
+    }
+
+    @Test
+    void softDelete_evictsEntityAndQueries() {
+        Long id = createTeam("A");
+        teamRepository.findById(id);
+        assertThat(filteredNames()).hasSize(1);
+
+        teamService.deleteTeam(id);
+
+        assertThat(teamRepository.findById(id)).isEmpty();
+        assertThat(filteredNames()).isEmpty();
+    }
+
+    @Test
+    void hardDelete_evictsEntityRosterAndQueries() {
+        Long id = createTeam("A", "Alpha");
+        playerNames(id);
+        assertThat(filteredNames()).hasSize(1);
+
+        teamService.deleteTeams(List.of(id), true);
+
+        assertThat(teamRepository.findById(id)).isEmpty();
+        assertThat(filteredNames()).isEmpty();
+    }
+
+    @Test
+    void purge_leavesNoStaleEntries() {
+        Long id = createTeam("A", "Alpha");
+        teamService.deleteTeam(id);
+
+        teamService.purgeDeletedTeams(Instant.now().plusSeconds(1));
+
+        assertThat(teamRepository.findById(id)).isEmpty();
+        assertThat(teamService.findChangesSince(0, 1000).changes())
+                .noneMatch(change -> change.teamId().equals(id));
+    }
+}
@@ -0,0 +1,133 @@
+package com.bnz.soccer.data;
+
+import com.bnz.soccer.resources.record.TeamChange;
+import com.bnz.soccer.resources.record.TeamChangesResponse;
+import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
+import com.bnz.soccer.services.TeamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.bnz.soccer.data.TestTeams.team;
+import static com.bnz.soccer.data.TestTeams.uniquePrefix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code GET /api/teams/changes} against the database: a client that resumes from {@code nextSince}
+ * must see every write, hard deletes included, whatever order concurrent writers commit in.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TeamChangesIntegrationTest {
+
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        // Security filters left out: only the endpoints matter here
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        String prefix = uniquePrefix();
+        ids = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            ids.add(teamService.addTeam(team("Changes", prefix + t, 2)).id());
+        }
+    }
+
+    @Test
+    void writeCommittedLate_isStillAfterTheCursorOfAReaderThatSawALaterOne() throws Exception {
+        long since = everything(0).nextSince();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // The first writer starts, writes, and stays open while a second one commits
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    teamService.updateTeamPartially(ids.get(0), new TeamPartialUpdateRequest(null, new BigDecimal("2000")));
+                    written.countDown();
+                    await(release);
+                }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+        teamService.updateTeamPartially(ids.get(1), new TeamPartialUpdateRequest(null, new BigDecimal("3000")));
+
+        TeamChangesResponse before = everything(since);
+        assertThat(ours(before)).containsExactly(ids.get(1));
+
+        release.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+
+        assertThat(ours(everything(before.nextSince()))).containsExactly(ids.get(0));
+    }
+
+    @Test
+    void hardDelete_isReportedAsADeletion_untilPurged() throws Exception {
+        long since = everything(0).nextSince();
+        String deleted = "$.changes[?(@.teamId == " + ids.get(0) + ")]";
+
+        mockMvc.perform(delete("/api/teams").param("ids", String.valueOf(ids.get(0))).param("hard", "true"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/teams/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(deleted + ".deleted").value(contains(true)))
+                .andExpect(jsonPath(deleted + ".team").value(contains(nullValue())))
+                .andExpect(jsonPath("$.changes[?(@.teamId == " + ids.get(1) + ")]").isEmpty());
+        assertThat(ours(everything(since))).containsExactly(ids.get(0));
+
+        teamService.purgeDeletedTeams(Instant.now().plusSeconds(1));
+        assertThat(ours(everything(since))).isEmpty();
+    }
+
+    // Every change after since, paged through like a client would
+    private TeamChangesResponse everything(long since) {
+        List<TeamChange> changes = new ArrayList<>();
+        TeamChangesResponse page;
+        do {
+            page = teamService.findChangesSince(since, 500);
+            changes.addAll(page.changes());
+            since = page.nextSince();
+        } while (page.hasMore());
+        return new TeamChangesResponse(page.since(), page.nextSince(), false, changes);
+    }
+
+    private List<Long> ours(TeamChangesResponse response) {
+        return response.changes().stream().map(TeamChange::teamId).filter(ids::contains).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.bnz.soccer.data;
+
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.PlayerResponse;
+import com.bnz.soccer.resources.record.TeamFieldSelection;
+import com.bnz.soccer.services.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.bnz.soccer.data.TestTeams.team;
+import static com.bnz.soccer.data.TestTeams.uniquePrefix;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sparse reads must change the SQL, not just the JSON: no entity or collection is loaded
+ * unless players are asked for, and then only through one extra query.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TeamFieldSelectionIntegrationTest {
+
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String acronymPrefix = uniquePrefix();
+        prefix = "Sparse " + acronymPrefix;
+        teamService.addTeam(team("Sparse", acronymPrefix + "A",
+                new PlayerRequest("Alpha", Position.DEFENDER), new PlayerRequest("Beta", Position.FORWARD)));
+        teamService.addTeam(team("Sparse", acronymPrefix + "B"));
+        statistics.clear();
+    }
+
+    @Test
+    void filterTeamFields_selectsOnlyRequestedColumns_withoutLoadingPlayers() {
+        List<Map<String, Object>> rows = teamService.filterTeamFields(prefix, null,
+                TeamFieldSelection.of(List.of("name", "budget"), null)).getContent();
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsOnlyKeys("id", "name", "budget");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void filterTeamFields_withPlayers_embedsRosterWithOneExtraQuery() {
+        List<Map<String, Object>> rows = teamService.filterTeamFields(prefix, null,
+                TeamFieldSelection.of(List.of("name"), List.of("players"))).getContent();
+
+        Map<String, Object> teamA = rows.stream().filter(r -> r.get("name").equals(prefix + "A")).findFirst().orElseThrow();
+        assertThat(teamA).containsOnlyKeys("id", "name", "players");
+        assertThat((List<?>) teamA.get("players")).extracting(p -> ((PlayerResponse) p).name())
+                .containsExactlyInAnyOrder("Alpha", "Beta");
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
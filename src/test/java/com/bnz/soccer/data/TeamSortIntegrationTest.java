@@ -0,0 +1,100 @@
+package com.bnz.soccer.data;
+
+import com.bnz.soccer.resources.enums.BatchMode;
+import com.bnz.soccer.resources.enums.TeamOperationType;
+import com.bnz.soccer.resources.record.TeamOperation;
+import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
+import com.bnz.soccer.resources.record.TeamResponse;
+import com.bnz.soccer.resources.record.TransferRequest;
+import com.bnz.soccer.services.TeamBatchService;
+import com.bnz.soccer.services.TeamService;
+import com.bnz.soccer.services.TransferService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.bnz.soccer.data.TestTeams.team;
+import static com.bnz.soccer.data.TestTeams.uniquePrefix;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TeamSortIntegrationTest {
+
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private TransferService transferService;
+    @Autowired
+    private TeamBatchService teamBatchService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long createTeam(String acronym, int players) {
+        return teamService.addTeam(team("Sort", acronym, players)).id();
+    }
+
+    private int playerCount(Long id) {
+        return jdbcTemplate.queryForObject("SELECT player_count FROM team WHERE id = ?", Integer.class, id);
+    }
+
+    @Test
+    void playerCount_followsEveryRosterWrite() {
+        String prefix = uniquePrefix();
+        Long id = createTeam(prefix, 2);
+        assertThat(playerCount(id)).isEqualTo(2);
+
+        teamService.updateTeamFully(id, team("Sort", prefix, 3));
+
+        assertThat(playerCount(id)).isEqualTo(3);
+    }
+
+    @Test
+    void playerCount_followsTransfers_andTeamOnlyWritesLeaveTheRosterUnloaded() {
+        String prefix = uniquePrefix();
+        Long from = createTeam(prefix + "A", 2);
+        Long to = createTeam(prefix + "B", 1);
+        Long playerId = teamService.findTeam(from).players().get(0).id();
+
+        transferService.transfer(new TransferRequest(playerId, from, to, BigDecimal.ZERO));
+
+        assertThat(playerCount(from)).isEqualTo(1);
+        assertThat(playerCount(to)).isEqualTo(2);
+
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long collectionLoads = statistics.getCollectionLoadCount();
+
+        // A batch PATCH writes the team row without returning the roster
+        teamBatchService.apply(BatchMode.ATOMIC, List.of(
+                new TeamOperation(TeamOperationType.PATCH, to, null, new TeamPartialUpdateRequest("Renamed " + prefix, null))));
+
+        assertThat(statistics.getCollectionLoadCount()).isEqualTo(collectionLoads);
+        assertThat(playerCount(to)).isEqualTo(2);
+    }
+
+    @Test
+    void sortByPlayerCount_breaksTiesById() {
+        String prefix = uniquePrefix();
+        // Larger squads than any other test team, so these come first in descending order
+        Long first = createTeam(prefix + "A", 40);
+        Long second = createTeam(prefix + "B", 40);
+        Long third = createTeam(prefix + "C", 39);
+
+        List<Long> ids = teamService.findWithAllPlayers(0, 3, "playerCount", "desc").getContent().stream()
+                .map(TeamResponse::id)
+                .toList();
+
+        assertThat(ids).containsExactly(second, first, third);
+    }
+}
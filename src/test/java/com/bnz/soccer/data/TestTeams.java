@@ -0,0 +1,38 @@
+package com.bnz.soccer.data;
+
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.TeamRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Teams for the integration tests, which all share one database: a test draws a fresh prefix and
+ * starts its acronyms with it, so it only finds its own teams and never trips the unique acronym index.
+ * A team is named after its acronym, {@code "<label> <acronym>"}.
+ */
+final class TestTeams {
+
+    static final BigDecimal BUDGET = new BigDecimal("1000000");
+
+    private TestTeams() {
+    }
+
+    static String uniquePrefix() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    // A roster of defenders named "Player <acronym>-<n>"
+    static TeamRequest team(String label, String acronym, int players) {
+        return team(label, acronym, IntStream.range(0, players)
+                .mapToObj(p -> new PlayerRequest("Player " + acronym + "-" + p, Position.DEFENDER))
+                .toArray(PlayerRequest[]::new));
+    }
+
+    static TeamRequest team(String label, String acronym, PlayerRequest... players) {
+        return new TeamRequest(label + " " + acronym, acronym, BUDGET, List.of(players));
+    }
+}
@@ -0,0 +1,168 @@
+package com.bnz.soccer.data;
+
+import com.bnz.soccer.exceptions.TransferRejectedException;
+import com.bnz.soccer.resources.record.TeamResponse;
+import com.bnz.soccer.resources.record.TransferRequest;
+import com.bnz.soccer.resources.record.TransferResponse;
+import com.bnz.soccer.services.TeamService;
+import com.bnz.soccer.services.TransferService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bnz.soccer.data.TestTeams.BUDGET;
+import static com.bnz.soccer.data.TestTeams.team;
+import static com.bnz.soccer.data.TestTeams.uniquePrefix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Transfers must keep money and players conserved under contention, and opposite transfers
+ * between the same teams must queue on the team locks rather than deadlock.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransferConcurrencyIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferConcurrencyIntegrationTest.class);
+
+    private static final int TEAMS = 6;
+    private static final int PLAYERS_PER_TEAM = 8;
+
+    @Autowired
+    private TransferService transferService;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Long> teamIds;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = uniquePrefix();
+        teamIds = new ArrayList<>();
+        for (int t = 0; t < TEAMS; t++) {
+            teamIds.add(teamService.addTeam(team("Transfer", prefix + t, PLAYERS_PER_TEAM)).id());
+        }
+    }
+
+    private Long firstPlayerOf(Long teamId) {
+        return teamService.findTeam(teamId).players().get(0).id();
+    }
+
+    private String inTeams() {
+        return String.join(",", teamIds.stream().map(String::valueOf).toList());
+    }
+
+    @Test
+    void transfer_movesPlayerAndFee_andKeepsSquadSizes() {
+        Long playerId = firstPlayerOf(teamIds.get(0));
+
+        TransferResponse response = transferService.transfer(
+                new TransferRequest(playerId, teamIds.get(0), teamIds.get(1), new BigDecimal("250")));
+
+        assertThat(response.fromTeamBudget()).isEqualByComparingTo("1000250");
+        assertThat(response.toTeamBudget()).isEqualByComparingTo("999750");
+        TeamResponse buyer = teamService.findTeam(teamIds.get(1));
+        assertThat(buyer.players()).extracting(p -> p.id()).contains(playerId);
+        assertThat(buyer.budget()).isEqualByComparingTo("999750");
+        assertThat(teamService.findTeam(teamIds.get(0)).players()).hasSize(PLAYERS_PER_TEAM - 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT player_count FROM team WHERE id = ?", Integer.class,
+                teamIds.get(1))).isEqualTo(PLAYERS_PER_TEAM + 1);
+    }
+
+    @Test
+    void batch_appliesInOrder_orNotAtAll() {
+        Long playerId = firstPlayerOf(teamIds.get(0));
+
+        // Second leg depends on the first one
+        transferService.transferAll(List.of(
+                new TransferRequest(playerId, teamIds.get(0), teamIds.get(1), BigDecimal.TEN),
+                new TransferRequest(playerId, teamIds.get(1), teamIds.get(2), BigDecimal.ONE)));
+        assertThat(teamService.findTeam(teamIds.get(2)).players()).extracting(p -> p.id()).contains(playerId);
+
+        // The second transfer is stale: the first one must be rolled back with it
+        Long other = firstPlayerOf(teamIds.get(3));
+        assertThatThrownBy(() -> transferService.transferAll(List.of(
+                new TransferRequest(other, teamIds.get(3), teamIds.get(4), BigDecimal.TEN),
+                new TransferRequest(playerId, teamIds.get(0), teamIds.get(5), BigDecimal.TEN))))
+                .isInstanceOf(TransferRejectedException.class);
+        assertThat(teamService.findTeam(teamIds.get(3)).players()).extracting(p -> p.id()).contains(other);
+        assertThat(teamService.findTeam(teamIds.get(3)).budget()).isEqualByComparingTo(BUDGET);
+    }
+
+    @Test
+    void concurrentTransfers_neverDeadlock_andConserveMoneyAndPlayers() throws Exception {
+        int threads = 8;
+        int transfersPerThread = 60;
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                pool.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < transfersPerThread; i++) {
+                        Long from = teamIds.get(random.nextInt(TEAMS));
+                        Long to = teamIds.get(random.nextInt(TEAMS));
+                        if (from.equals(to)) {
+                            continue;
+                        }
+                        List<Long> roster = jdbcTemplate.queryForList(
+                                "SELECT id FROM player WHERE team_id = ?", Long.class, from);
+                        if (roster.isEmpty()) {
+                            continue;
+                        }
+                        try {
+                            transferService.transfer(new TransferRequest(roster.get(random.nextInt(roster.size())),
+                                    from, to, BigDecimal.valueOf(random.nextInt(1, 100))));
+                            applied.incrementAndGet();
+                        } catch (TransferRejectedException stale) {
+                            // Another thread moved the player first
+                            rejected.incrementAndGet();
+                        } catch (Throwable ex) {
+                            failures.add(ex);
+                        }
+                    }
+                });
+            }
+            pool.shutdown();
+            assertThat(pool.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info(String.format("%d transfers applied, %d rejected as stale, in %.2f s (%.0f/s)",
+                applied.get(), rejected.get(), seconds, applied.get() / seconds));
+
+        assertThat(failures).isEmpty();
+        assertThat(applied.get()).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(budget) FROM team WHERE id IN (" + inTeams() + ")",
+                BigDecimal.class)).isEqualByComparingTo(BUDGET.multiply(BigDecimal.valueOf(TEAMS)));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM player WHERE team_id IN (" + inTeams() + ")",
+                Integer.class)).isEqualTo(TEAMS * PLAYERS_PER_TEAM);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM team t WHERE t.id IN (" + inTeams() + ") "
+                + "AND t.player_count <> (SELECT COUNT(*) FROM player p WHERE p.team_id = t.id)", Integer.class)).isZero();
+        for (Long id : teamIds) {
+            assertThat(teamService.findTeam(id).players()).hasSize(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM player WHERE team_id = ?", Integer.class, id));
+        }
+    }
+}
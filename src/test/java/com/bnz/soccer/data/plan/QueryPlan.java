@@ -0,0 +1,102 @@
+package com.bnz.soccer.data.plan;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * H2's plan of one captured statement, from {@code EXPLAIN ANALYZE}: the statement is run with its
+ * captured bind values and the plan reports the rows each table access read. Writes are run too, so
+ * explain them on a connection that is rolled back.
+ */
+public record QueryPlan(String sql, String plan, List<Access> accesses) {
+
+    /**
+     * How one table is read: through {@code index}, or {@code TABLE.tableScan} for a full scan.
+     * {@code rowsRead} is null when H2 reports no count for the access.
+     */
+    public record Access(String table, String index, Long rowsRead) {
+
+        public boolean isFullScan() {
+            return index.endsWith(".tableScan");
+        }
+    }
+
+    private static final Pattern TABLE = Pattern.compile("\"PUBLIC\"\\.\"(\\w+)\"");
+    // Inside the plan H2 prints in a comment for a derived table, where the names are not quoted
+    private static final String DERIVED_PLAN = "/* (";
+    private static final Pattern DERIVED_TABLE = Pattern.compile("(?<!/\\* )\\bPUBLIC\\.(\\w+)");
+    private static final Pattern INDEX = Pattern.compile("/\\* PUBLIC\\.([\\w.]+)");
+    private static final Pattern SCAN_COUNT = Pattern.compile("/\\* scanCount: (\\d+) \\*/");
+
+    public static QueryPlan explain(Connection connection, StatementCapture.Captured statement) throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN ANALYZE " + statement.sql())) {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                explain.setObject(parameter.getKey(), parameter.getValue());
+            }
+            try (ResultSet result = explain.executeQuery()) {
+                result.next();
+                String plan = result.getString(1);
+                return new QueryPlan(statement.sql(), plan, accesses(plan));
+            }
+        }
+    }
+
+    public Optional<Access> access(String table) {
+        return accesses.stream().filter(access -> access.table().equals(table)).findFirst();
+    }
+
+    public boolean isIndexSorted() {
+        return plan.contains("/* index sorted */");
+    }
+
+    @Override
+    public String toString() {
+        return plan;
+    }
+
+    // Tables a derived table reads only show their access in its plan
+    private static List<Access> accesses(String plan) {
+        List<Access> accesses = accesses(plan, TABLE);
+        accesses(plan, DERIVED_TABLE).stream()
+                .filter(derived -> accesses.stream().noneMatch(access -> access.table().equals(derived.table())))
+                .forEach(accesses::add);
+        return accesses;
+    }
+
+    // Each table reference is followed by the index comment of its access, then its scan count
+    private static List<Access> accesses(String plan, Pattern tablePattern) {
+        List<Access> accesses = new ArrayList<>();
+        Matcher table = tablePattern.matcher(plan);
+        List<int[]> bounds = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        while (table.find()) {
+            bounds.add(new int[]{table.end(), plan.length()});
+            names.add(table.group(1));
+            if (bounds.size() > 1) {
+                bounds.get(bounds.size() - 2)[1] = table.start();
+            }
+        }
+        for (int i = 0; i < names.size(); i++) {
+            String segment = plan.substring(bounds.get(i)[0], bounds.get(i)[1]);
+            if (tablePattern == TABLE && segment.contains(DERIVED_PLAN)) {
+                segment = segment.substring(0, segment.indexOf(DERIVED_PLAN));
+            }
+            Matcher index = INDEX.matcher(segment);
+            if (!index.find()) {
+                continue; // a sequence, or the target of an INSERT
+            }
+            Matcher scanCount = SCAN_COUNT.matcher(segment);
+            accesses.add(new Access(names.get(i), index.group(1),
+                    scanCount.find() ? Long.valueOf(scanCount.group(1)) : null));
+        }
+        return accesses;
+    }
+}
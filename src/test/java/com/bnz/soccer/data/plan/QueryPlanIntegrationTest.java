@@ -0,0 +1,239 @@
+package com.bnz.soccer.data.plan;
+
+import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.data.repository.PlayerRepository;
+import com.bnz.soccer.data.repository.TeamRepository;
+import com.bnz.soccer.data.seed.SyntheticDataGenerator;
+import com.bnz.soccer.resources.enums.TeamSortField;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bnz.soccer.data.specifications.TeamSpecification.budgetGreaterThanOrEqualTo;
+import static com.bnz.soccer.data.specifications.TeamSpecification.nameContainsIgnoreCase;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * How H2 runs the SQL Hibernate generates for the repositories and specifications, on a league of
+ * {@value TEAMS} teams of {@value PLAYERS_PER_TEAM} players. Each repository call is captured with its
+ * bind values and replayed under {@code EXPLAIN ANALYZE}; the index each table is read through and the
+ * rows read must match the expectations below, and no statement may scan the whole player table.
+ * A schema, mapping or specification change that degrades a plan fails here.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:soccer-plan-test;DB_CLOSE_DELAY=-1",
+        "soccer.cluster.invalidation=none",
+        "soccer.seed.teams=" + QueryPlanIntegrationTest.TEAMS,
+        "soccer.seed.players-per-team=" + QueryPlanIntegrationTest.PLAYERS_PER_TEAM,
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql=INFO"})
+@ActiveProfiles("test")
+@Import(StatementCapture.class)
+class QueryPlanIntegrationTest {
+
+    static final int TEAMS = 5000;
+    static final int PLAYERS_PER_TEAM = 20;
+    // data.sql teams on top of the generated ones
+    private static final int ALL_TEAMS = TEAMS + 10;
+
+    private static final String PRIMARY_KEY = "PRIMARY_KEY";
+    private static final String PLAYER_TEAM_FK = "FK_TEAM_INDEX";
+
+    @Autowired
+    private StatementCapture capture;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private PlayerRepository playerRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Long> teamIds;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // Fresh selectivity statistics, so the plans do not depend on when H2 last sampled the tables
+        try (Connection connection = capture.connection(); Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+        teamIds = jdbcTemplate.queryForList("SELECT id FROM team WHERE acronym LIKE ? ORDER BY id LIMIT 10",
+                Long.class, SyntheticDataGenerator.ACRONYM_PREFIX + "%");
+    }
+
+    @Test
+    void pages_walkTheIndexOfTheirSortField() throws SQLException {
+        Pageable sixthPage = PageRequest.of(5, 20);
+        for (TeamSortField field : TeamSortField.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                Sort sort = Sort.by(direction, field.property(), "id");
+                List<QueryPlan> plans = plans(() -> teamRepository.findAll(PageRequest.of(5, 20, sort)));
+
+                assertThat(plans).hasSize(2);
+                QueryPlan page = plans.get(0);
+                // Read in index order and stopped after the page: no sort of every live team
+                assertThat(page.isIndexSorted()).as("%s", page).isTrue();
+                assertReads(page, "TEAM", "IDX_TEAM_" + field.name(), sixthPage.getOffset() + 2L * sixthPage.getPageSize());
+                // Counting live teams reads each one once
+                assertReads(plans.get(1), "TEAM", "TEAM.tableScan", ALL_TEAMS);
+            }
+        }
+    }
+
+    @Test
+    void rosters_areReachedFromTheTeamsThroughThePlayerForeignKey() throws SQLException {
+        long players = 2L * teamIds.size() * PLAYERS_PER_TEAM;
+
+        QueryPlan withPlayers = single(plans(() -> teamRepository.findWithPlayersByIdIn(teamIds)));
+        assertReads(withPlayers, "TEAM", PRIMARY_KEY, 2L * teamIds.size());
+        assertReads(withPlayers, "PLAYER", PLAYER_TEAM_FK, players);
+
+        QueryPlan byTeam = single(plans(() -> playerRepository.findByTeamIdIn(teamIds)));
+        assertReads(byTeam, "TEAM", PRIMARY_KEY, 2L * teamIds.size());
+        assertReads(byTeam, "PLAYER", PLAYER_TEAM_FK, players);
+    }
+
+    @Test
+    void filters_useTheBudgetIndex_andScanTeamsOnlyForAName() throws SQLException {
+        BigDecimal minBudget = BigDecimal.valueOf(800_000_000L);
+        long richTeams = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM team WHERE budget >= ?", Long.class, minBudget);
+        Pageable firstPage = PageRequest.of(0, 10);
+
+        for (String name : new String[]{null, "lyon"}) {
+            for (BigDecimal budget : new BigDecimal[]{null, minBudget}) {
+                Specification<Team> spec = nameContainsIgnoreCase(name).and(budgetGreaterThanOrEqualTo(budget));
+                List<List<QueryPlan>> shapes = List.of(
+                        plans(() -> teamRepository.findAll(spec, firstPage)),
+                        plans(() -> teamRepository.findFields(spec, List.of("id", "name"), firstPage)));
+
+                for (List<QueryPlan> plans : shapes) {
+                    assertThat(plans).as("name=%s, minBudget=%s", name, budget).hasSize(2);
+                    QueryPlan page = plans.get(0);
+                    QueryPlan count = plans.get(1);
+                    if (budget != null) {
+                        assertReads(page, "TEAM", "IDX_TEAM_BUDGET", richTeams);
+                        assertReads(count, "TEAM", "IDX_TEAM_BUDGET", richTeams + 10);
+                    } else {
+                        // A name inside the value (LIKE '%name%') cannot seek an index
+                        assertReads(page, "TEAM", "TEAM.tableScan", name == null ? 2L * firstPage.getPageSize() : ALL_TEAMS);
+                        assertReads(count, "TEAM", "TEAM.tableScan", ALL_TEAMS);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void lookups_readOnlyTheRowsAskedFor() throws SQLException {
+        List<Long> pair = teamIds.subList(0, 2);
+        String acronym = SyntheticDataGenerator.ACRONYM_PREFIX + 42;
+
+        assertReads(single(plans(() -> teamRepository.existsByAcronym(acronym))), "TEAM", "IDX_TEAM_ACRONYM", 2);
+        assertReads(single(plans(() -> teamRepository.findAllByAcronymIn(List.of(acronym, acronym + 1)))),
+                "TEAM", "IDX_TEAM_ACRONYM", 4);
+        assertReads(single(plans(() -> teamRepository.findAllById(pair))), "TEAM", PRIMARY_KEY, 4);
+        assertReads(single(plans(() -> teamRepository.lockAllByIdIn(pair))), "TEAM", PRIMARY_KEY, 4);
+        assertReads(single(plans(() -> teamRepository.findExistingIds(pair))), "TEAM", PRIMARY_KEY, 4);
+
+        QueryPlan revisions = single(plans(() -> teamRepository.findRevisionsSince(TEAMS / 2, 100)));
+        assertThat(revisions.isIndexSorted()).as("%s", revisions).isTrue();
+        assertReads(revisions, "TEAM", "IDX_TEAM_REVISION", 101);
+        assertReads(revisions, "TEAM_DELETION", "IDX_TEAM_DELETION_REVISION", 101);
+    }
+
+    @Test
+    void writes_touchOnlyTheirRows() throws SQLException {
+        List<Long> pair = teamIds.subList(0, 2);
+        Long playerId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM player WHERE team_id = ?", Long.class, pair.get(0));
+
+        QueryPlan softDelete = single(writes(() -> teamRepository.softDeleteAllById(pair, Instant.now())));
+        assertReads(softDelete, "TEAM", PRIMARY_KEY, 4);
+
+        List<QueryPlan> hardDelete = writes(() -> {
+            teamRepository.deletePlayersByTeamIds(pair);
+            teamRepository.deleteAllByIdIn(pair);
+        });
+        assertThat(hardDelete).hasSize(2);
+        assertReads(hardDelete.get(0), "PLAYER", PLAYER_TEAM_FK, 2L * pair.size() * PLAYERS_PER_TEAM);
+        assertReads(hardDelete.get(1), "TEAM", PRIMARY_KEY, 4);
+
+        QueryPlan move = single(writes(() -> playerRepository.moveToTeam(playerId,
+                teamRepository.getReferenceById(pair.get(0)), teamRepository.getReferenceById(pair.get(1)))));
+        assertReads(move, "PLAYER", PRIMARY_KEY, 2);
+
+        // Tombstones only, however many live teams there are
+        QueryPlan purgePlayers = single(writes(() -> teamRepository.purgePlayersOfDeletedTeams(Instant.now())));
+        assertReads(purgePlayers, "TEAM", "IDX_TEAM_DELETED_AT", 10);
+        assertReads(purgePlayers, "PLAYER", PLAYER_TEAM_FK, 10);
+        assertReads(single(writes(() -> teamRepository.purgeDeletedTeams(Instant.now()))), "TEAM", "IDX_TEAM_DELETED_AT", 10);
+    }
+
+    private static void assertReads(QueryPlan plan, String table, String index, long maxRows) {
+        QueryPlan.Access access = plan.access(table).orElseThrow(() -> new AssertionError(table + " not read by\n" + plan));
+        assertThat(access.index()).as("index of %s in\n%s", table, plan).startsWith(index);
+        assertThat(access.rowsRead()).as("rows of %s read by\n%s", table, plan).isNotNull().isLessThanOrEqualTo(maxRows);
+    }
+
+    private static QueryPlan single(List<QueryPlan> plans) {
+        assertThat(plans).hasSize(1);
+        return plans.get(0);
+    }
+
+    // Cache regions emptied first, so every query reaches the database
+    private List<QueryPlan> plans(Runnable work) throws SQLException {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return explain(capture.capture(() -> transaction.executeWithoutResult(status -> work.run())));
+    }
+
+    private List<QueryPlan> writes(Runnable work) throws SQLException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return explain(capture.capture(() -> transaction.executeWithoutResult(status -> {
+            work.run();
+            status.setRollbackOnly();
+        })));
+    }
+
+    // Replayed in one transaction that is rolled back, so explaining a write leaves the league as it was
+    private List<QueryPlan> explain(List<StatementCapture.Captured> captured) throws SQLException {
+        List<QueryPlan> plans = new ArrayList<>();
+        try (Connection connection = capture.connection()) {
+            connection.setAutoCommit(false);
+            try {
+                for (StatementCapture.Captured statement : captured) {
+                    QueryPlan plan = QueryPlan.explain(connection, statement);
+                    assertThat(plan.accesses())
+                            .as("full scan of player in\n%s", plan)
+                            .noneMatch(access -> access.table().equals("PLAYER") && access.isFullScan());
+                    plans.add(plan);
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+        return plans;
+    }
+}
@@ -0,0 +1,104 @@
+package com.bnz.soccer.data.plan;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records the SQL and bind values of the statements the application executes, so they can be replayed
+ * under {@code EXPLAIN}. Imported into a test context, it hands the Hikari pool an H2 data source whose
+ * connections and prepared statements are JDK proxies. Only statements run by the thread inside
+ * {@link #capture(Runnable)} are kept; background pollers are ignored.
+ */
+public class StatementCapture implements BeanPostProcessor {
+
+    public record Captured(String sql, Map<Integer, Object> parameters) {}
+
+    private final ThreadLocal<List<Captured>> current = new ThreadLocal<>();
+    private JdbcDataSource database;
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        // Before the pool starts, so every connection it opens goes through the proxies
+        if (bean instanceof HikariDataSource pool && pool.getDataSource() == null) {
+            database = new JdbcDataSource();
+            database.setURL(pool.getJdbcUrl());
+            database.setUser(pool.getUsername());
+            database.setPassword(pool.getPassword());
+            pool.setDataSource(dataSource(database));
+        }
+        return bean;
+    }
+
+    public List<Captured> capture(Runnable work) {
+        List<Captured> captured = new ArrayList<>();
+        current.set(captured);
+        try {
+            work.run();
+        } finally {
+            current.remove();
+        }
+        return Collections.unmodifiableList(captured);
+    }
+
+    /** A connection to the same database that bypasses both the pool and the capture. */
+    public Connection connection() throws SQLException {
+        return database.getConnection();
+    }
+
+    private DataSource dataSource(JdbcDataSource target) {
+        return proxy(DataSource.class, target, (method, result, args) ->
+                method.getName().equals("getConnection") ? connection((Connection) result) : result);
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, target, (method, result, args) ->
+                method.getName().equals("prepareStatement") ? statement((PreparedStatement) result, (String) args[0]) : result);
+    }
+
+    private PreparedStatement statement(PreparedStatement target, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, target, (method, result, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                List<Captured> captured = current.get();
+                if (captured != null) {
+                    captured.add(new Captured(sql, new TreeMap<>(parameters)));
+                }
+            }
+            return result;
+        });
+    }
+
+    private interface AfterCall {
+        Object apply(Method method, Object result, Object[] args) throws Exception;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, AfterCall after) {
+        return type.cast(Proxy.newProxyInstance(StatementCapture.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    try {
+                        return after.apply(method, method.invoke(target, args), args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                }));
+    }
+}
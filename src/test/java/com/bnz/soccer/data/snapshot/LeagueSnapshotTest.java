@@ -0,0 +1,84 @@
+package com.bnz.soccer.data.snapshot;
+
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.enums.TeamSortField;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeagueSnapshotTest {
+
+    private static LeagueSnapshot.Entry team(long id, String name, String budget, int players) {
+        long[] playerIds = new long[players];
+        String[] playerNames = new String[players];
+        byte[] positions = new byte[players];
+        for (int i = 0; i < players; i++) {
+            playerIds[i] = id * 100 + i;
+            playerNames[i] = ("Player " + i).intern();
+            positions[i] = LeagueSnapshot.Entry.encode(Position.DEFENDER);
+        }
+        return new LeagueSnapshot.Entry(id, name, name.substring(0, 3).toUpperCase(),
+                budget == null ? null : new BigDecimal(budget), id, playerIds, playerNames, positions);
+    }
+
+    private static List<Long> ids(List<LeagueSnapshot.Entry> teams) {
+        return teams.stream().map(LeagueSnapshot.Entry::id).toList();
+    }
+
+    private final LeagueSnapshot league = LeagueSnapshot.of(List.of(
+            team(3, "Nantes", "500", 2),
+            team(1, "Lille", "900", 3),
+            team(2, "Lens", null, 2),
+            team(4, "Nice", "500", 1)));
+
+    @Test
+    void find_usesIdOrder() {
+        assertThat(league.find(2).name()).isEqualTo("Lens");
+        assertThat(league.find(5)).isNull();
+    }
+
+    @Test
+    void page_ordersByFieldThenId_inTheSameDirection() {
+        assertThat(ids(league.page(TeamSortField.NAME, false, 0, 10))).containsExactly(2L, 1L, 3L, 4L);
+        assertThat(ids(league.page(TeamSortField.PLAYER_COUNT, true, 0, 10))).containsExactly(1L, 3L, 2L, 4L);
+        // Null budgets first ascending, last descending, like the database
+        assertThat(ids(league.page(TeamSortField.BUDGET, false, 0, 10))).containsExactly(2L, 3L, 4L, 1L);
+        assertThat(ids(league.page(TeamSortField.BUDGET, true, 1, 2))).containsExactly(4L, 3L);
+    }
+
+    @Test
+    void page_beyondTheLastTeam_isEmpty() {
+        assertThat(league.page(TeamSortField.NAME, false, 4, 10)).isEmpty();
+    }
+
+    @Test
+    void filter_matchesNameIgnoringCaseAndMinimumBudget_andCountsAllMatches() {
+        LeagueSnapshot.Matches matches = league.filter("N", new BigDecimal("500"), 1);
+
+        assertThat(ids(matches.teams())).containsExactly(3L);
+        assertThat(matches.total()).isEqualTo(2);
+        assertThat(league.filter(null, null, 10).total()).isEqualTo(4);
+    }
+
+    @Test
+    void with_replacesAddsAndRemoves_withoutTouchingTheOriginal() {
+        LeagueSnapshot next = league.with(List.of(team(3, "Nantes FC", "700", 2), team(9, "Metz", "100", 0)), List.of(1L));
+
+        assertThat(ids(next.page(TeamSortField.NAME, false, 0, 10))).containsExactly(2L, 9L, 3L, 4L);
+        assertThat(next.find(3).name()).isEqualTo("Nantes FC");
+        assertThat(league.find(3).name()).isEqualTo("Nantes");
+        assertThat(league.find(1)).isNotNull();
+    }
+
+    @Test
+    void footprint_countsSharedPlayerNamesOnce() {
+        LeagueSnapshot one = LeagueSnapshot.of(List.of(team(1, "Lille", "1", 20)));
+        LeagueSnapshot two = LeagueSnapshot.of(List.of(team(1, "Lille", "1", 20), team(2, "Lille", "1", 20)));
+
+        long perTeamWithoutNames = two.footprintBytes() - one.footprintBytes();
+        assertThat(perTeamWithoutNames).isPositive().isLessThan(one.footprintBytes());
+    }
+}
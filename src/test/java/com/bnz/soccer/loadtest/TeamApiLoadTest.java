@@ -0,0 +1,261 @@
+package com.bnz.soccer.loadtest;
+
+import com.bnz.soccer.data.seed.SyntheticDataGenerator;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mixed read/write load against {@code /api/teams} on the synthetic data set of the {@code loadtest}
+ * profile. Virtual-thread users run a closed loop for a fixed duration; the run logs throughput and
+ * p50/p99/p99.9 per endpoint, writes them to {@code target/loadtest/report.csv} and fails when an endpoint
+ * misses its p99 or error-rate objective.
+ * <p>
+ * Run with {@code mvn test -Ploadtest}. Tune with {@code -Dloadtest.users}, {@code -Dloadtest.duration},
+ * {@code -Dloadtest.warmup} (ISO-8601) and {@code -Dloadtest.slo.<scenario>.p99} (ms, scenario in lower case).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.security.user.name=loadtest",
+        "spring.security.user.password=loadtest",
+        // The loadtest profile quiets com.bnz.soccer; the results table is logged from here
+        "logging.level.com.bnz.soccer.loadtest=INFO"
+})
+@ActiveProfiles({"dev", "loadtest"})
+class TeamApiLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamApiLoadTest.class);
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 32);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private static final double MAX_ERROR_RATE = 0.001;
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("loadtest:loadtest".getBytes(StandardCharsets.UTF_8));
+
+    /** Request mix, with the default p99 objective of each endpoint in milliseconds. */
+    enum Scenario {
+        LIST(30, 250),
+        FILTER(25, 250),
+        GET_BY_ID(30, 50),
+        CREATE(10, 100),
+        PATCH(5, 100);
+
+        private final int weight;
+        private final long p99Millis;
+
+        Scenario(int weight, long defaultP99Millis) {
+            this.weight = weight;
+            this.p99Millis = Long.getLong("loadtest.slo." + name().toLowerCase() + ".p99", defaultP99Millis);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final AtomicLong created = new AtomicLong();
+    private long minId;
+    private long maxId;
+
+    @Test
+    void mixedWorkload_meetsLatencyObjectives() throws Exception {
+        minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM team", Long.class);
+        maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM team", Long.class);
+
+        run(WARMUP);
+        Map<Scenario, Recorder> results = run(DURATION);
+
+        List<String> violations = report(results);
+        assertThat(violations).isEmpty();
+    }
+
+    private Map<Scenario, Recorder> run(Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Map<Scenario, Recorder>> perUser = new ArrayList<>(USERS);
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < USERS; u++) {
+                Map<Scenario, Recorder> recorders = recorders();
+                perUser.add(recorders);
+                users.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Scenario scenario = pick();
+                        long start = System.nanoTime();
+                        int status = call(scenario);
+                        recorders.get(scenario).record(System.nanoTime() - start, status);
+                    }
+                });
+            }
+        }
+
+        Map<Scenario, Recorder> merged = recorders();
+        perUser.forEach(r -> r.forEach((scenario, recorder) -> merged.get(scenario).merge(recorder)));
+        merged.values().forEach(r -> r.seconds = duration.toNanos() / 1e9);
+        return merged;
+    }
+
+    // Returns the HTTP status, or 0 when no response came back
+    private int call(Scenario scenario) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest.Builder request = switch (scenario) {
+            case LIST -> get("/api/teams?page=" + random.nextInt(100) + "&size=20");
+            case FILTER -> get("/api/teams/filter?name=" + URLEncoder.encode(
+                    SyntheticDataGenerator.CITIES.get(random.nextInt(SyntheticDataGenerator.CITIES.size())),
+                    StandardCharsets.UTF_8));
+            case GET_BY_ID -> get("/api/teams/" + randomId());
+            case CREATE -> json("/api/teams").POST(HttpRequest.BodyPublishers.ofString("""
+                    {"name":"Load %1$d","acronym":"LT%1$d","budget":1000000,
+                     "players":[{"name":"Load Player","position":"MIDFIELDER"}]}"""
+                    .formatted(created.incrementAndGet() + System.nanoTime())));
+            case PATCH -> json("/api/teams/" + randomId()).method("PATCH",
+                    HttpRequest.BodyPublishers.ofString("{\"budget\":" + (1_000_000 + random.nextInt(1_000_000)) + "}"));
+        };
+        try {
+            return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            return 0;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(10));
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return get(path).header("Content-Type", "application/json").header("Authorization", AUTHORIZATION);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+    }
+
+    private static Scenario pick() {
+        int total = Arrays.stream(Scenario.values()).mapToInt(s -> s.weight).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Scenario scenario : Scenario.values()) {
+            roll -= scenario.weight;
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static Map<Scenario, Recorder> recorders() {
+        Map<Scenario, Recorder> recorders = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            recorders.put(scenario, new Recorder());
+        }
+        return recorders;
+    }
+
+    private static List<String> report(Map<Scenario, Recorder> results) throws IOException {
+        List<String> violations = new ArrayList<>();
+        List<String> csv = new ArrayList<>();
+        csv.add("scenario,requests,errors,throughput_rps,p50_ms,p99_ms,p999_ms,slo_p99_ms");
+
+        StringBuilder table = new StringBuilder(String.format("%-10s %9s %7s %10s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "SLO p99"));
+        results.forEach((scenario, r) -> {
+            double p50 = r.percentileMillis(0.50);
+            double p99 = r.percentileMillis(0.99);
+            double p999 = r.percentileMillis(0.999);
+            table.append(String.format("%-10s %9d %7d %10.1f %9.2f %9.2f %9.2f %9d%n",
+                    scenario, r.count, r.errors, r.count / r.seconds, p50, p99, p999, scenario.p99Millis));
+            csv.add(String.format(java.util.Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%d",
+                    scenario, r.count, r.errors, r.count / r.seconds, p50, p99, p999, scenario.p99Millis));
+
+            if (r.count == 0) {
+                violations.add(scenario + ": no requests completed");
+            } else if (p99 > scenario.p99Millis) {
+                violations.add("%s: p99 %.2f ms above objective %d ms".formatted(scenario, p99, scenario.p99Millis));
+            }
+            if (r.count > 0 && (double) r.errors / r.count > MAX_ERROR_RATE) {
+                violations.add("%s: %d errors out of %d requests, by status %s"
+                        .formatted(scenario, r.errors, r.count, r.errorStatuses));
+            }
+        });
+        log.info("Load test results:{}{}", System.lineSeparator(), table);
+
+        Path report = Path.of("target", "loadtest", "report.csv");
+        Files.createDirectories(report.getParent());
+        Files.write(report, csv);
+        return violations;
+    }
+
+    /** Latencies of one user (unshared, so recording needs no synchronisation), merged after the run. */
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<Integer, Integer> errorStatuses = new TreeMap<>();
+        private double seconds;
+
+        void record(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            // A team deleted or not yet visible is a valid answer, not a failure
+            if (status == 0 || (status >= 400 && status != 404)) {
+                errors++;
+                errorStatuses.merge(status, 1, Integer::sum);
+            }
+        }
+
+        void merge(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+            other.errorStatuses.forEach((status, n) -> errorStatuses.merge(status, n, Integer::sum));
+        }
+
+        double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.bnz.soccer.reactive;
+
+import com.bnz.soccer.resources.record.TeamResponse;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The reactive application against its own in-memory database, seeded by {@code data.sql}
+ * (PSG, OM and OL), over HTTP. It writes the invalidation outbox, as when sharing the servlet
+ * application's database.
+ */
+class ReactiveTeamApiTest {
+
+    private static final String NODE_ID = "reactive-test";
+
+    private static ConfigurableApplicationContext context;
+    private static WebTestClient client;
+
+    @BeforeAll
+    static void start() {
+        context = ReactiveSoccerApplication.application().run(
+                "--server.port=0",
+                "--spring.profiles.active=test",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///soccer-reactive-test?options=DB_CLOSE_DELAY=-1",
+                "--spring.security.user.name=admin",
+                "--spring.security.user.password=admin",
+                "--soccer.cluster.invalidation=outbox",
+                "--soccer.cluster.node-id=" + NODE_ID);
+        int port = ((ReactiveWebServerApplicationContext) context).getWebServer().getPort();
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    private static String newTeam(String acronym) {
+        return """
+                {"name": "Stade Rennais", "acronym": "%s", "budget": 1000,
+                 "players": [{"name": "Steve Mandanda", "position": "GOALKEEPER"},
+                             {"name": "Martin Terrier", "position": "FORWARD"}]}""".formatted(acronym);
+    }
+
+    @Test
+    void list_isPagedAndSortedLikeTheServletApi() {
+        client.get().uri("/api/teams?sortBy=budget&direction=desc&size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].acronym").isEqualTo("PSG")
+                .jsonPath("$.content[0].players.length()").isEqualTo(2)
+                .jsonPath("$.size").isEqualTo(1)
+                .jsonPath("$.totalElements").isNumber();
+    }
+
+    @Test
+    void list_withUnknownSortField_returnsBadRequest() {
+        client.get().uri("/api/teams?sortBy=revision")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON);
+    }
+
+    @Test
+    void get_unknownTeam_returnsProblem() {
+        client.get().uri("/api/teams/999999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("Team not found with id 999999");
+    }
+
+    @Test
+    void filter_byNameAndBudget() {
+        client.get().uri("/api/teams/filter?name=olympique&minBudget=210000000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].acronym").isEqualTo("OM");
+    }
+
+    @Test
+    void stream_emitsEveryTeamAsNdjson() {
+        List<TeamResponse> streamed = client.get().uri("/api/teams")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TeamResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(streamed).extracting(TeamResponse::acronym).contains("PSG", "OM", "OL");
+        assertThat(streamed).extracting(TeamResponse::id).isSorted();
+        assertThat(streamed).filteredOn(team -> team.acronym().equals("PSG"))
+                .singleElement()
+                .satisfies(psg -> assertThat(psg.players()).hasSize(2));
+    }
+
+    @Test
+    void create_requiresAuthentication() {
+        client.post().uri("/api/teams")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newTeam("SRFC"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void create_withInvalidTeam_returnsFieldErrors() {
+        client.post().uri("/api/teams")
+                .headers(headers -> headers.setBasicAuth("admin", "admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\": \"\", \"acronym\": \"X\", \"budget\": 10}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.fields[0].field").isEqualTo("name");
+    }
+
+    @Test
+    void writes_createUpdateReplaceAndDelete() {
+        String acronym = "R" + UUID.randomUUID().toString().substring(0, 6);
+        TeamResponse created = client.post().uri("/api/teams")
+                .headers(headers -> headers.setBasicAuth("admin", "admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newTeam(acronym))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TeamResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(created.players()).hasSize(2);
+
+        client.post().uri("/api/teams")
+                .headers(headers -> headers.setBasicAuth("admin", "admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newTeam(acronym))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        client.patch().uri("/api/teams/{id}", created.id())
+                .headers(headers -> headers.setBasicAuth("admin", "admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"budget\": 5000}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.budget").isEqualTo(5000)
+                .jsonPath("$.players.length()").isEqualTo(2);
+
+        client.put().uri("/api/teams/{id}", created.id())
+                .headers(headers -> headers.setBasicAuth("admin", "admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"name": "Rennes", "acronym": "%s", "budget": 2000,
+                         "players": [{"name": "Arnaud Kalimuendo", "position": "FORWARD"}]}""".formatted(acronym))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Rennes")
+                .jsonPath("$.players.length()").isEqualTo(1);
+
+        client.delete().uri("/api/teams/{id}", created.id())
+                .headers(headers -> headers.setBasicAuth("admin", "admin"))
+                .exchange()
+                .expectStatus().isNoContent();
+        client.get().uri("/api/teams/{id}", created.id())
+                .exchange()
+                .expectStatus().isNotFound();
+
+        // One invalidation per committed write, none for the rejected duplicate
+        Long invalidations = DatabaseClient.create(context.getBean(ConnectionFactory.class))
+                .sql("SELECT COUNT(*) FROM team_invalidation WHERE team_id = :id AND node_id = :node")
+                .bind("id", created.id())
+                .bind("node", NODE_ID)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+        assertThat(invalidations).isEqualTo(4);
+    }
+
+    @Test
+    void patch_withTheCurrentValues_writesNothing() {
+        String acronym = "R" + UUID.randomUUID().toString().substring(0, 6);
+        TeamResponse created = client.post().uri("/api/teams")
+                .headers(headers -> headers.setBasicAuth("admin", "admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newTeam(acronym))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TeamResponse.class)
+                .returnResult()
+                .getResponseBody();
+        DatabaseClient db = DatabaseClient.create(context.getBean(ConnectionFactory.class));
+        Long revision = db.sql("SELECT revision FROM team WHERE id = :id")
+                .bind("id", created.id())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+
+        client.patch().uri("/api/teams/{id}", created.id())
+                .headers(headers -> headers.setBasicAuth("admin", "admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\": \"Stade Rennais\", \"budget\": 1000.00}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.players.length()").isEqualTo(2);
+        client.patch().uri("/api/teams/999999")
+                .headers(headers -> headers.setBasicAuth("admin", "admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"budget\": 1000}")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        assertThat(db.sql("SELECT revision FROM team WHERE id = :id")
+                .bind("id", created.id())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block()).isEqualTo(revision);
+        assertThat(db.sql("SELECT COUNT(*) FROM team_invalidation WHERE team_id = :id")
+                .bind("id", created.id())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bnz.soccer.services;
+
+import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.resources.enums.ChangeType;
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.services.impl.ClusterCacheInvalidation;
+import com.bnz.soccer.services.impl.LoopbackInvalidationBus;
+import com.bnz.soccer.services.impl.MissingTeamCacheImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ClusterCacheInvalidationTest {
+
+    private final LoopbackInvalidationBus bus = new LoopbackInvalidationBus();
+    private Cache writerCache;
+    private Cache readerCache;
+    private final MissingTeamCache readerMissingTeams = new MissingTeamCacheImpl(Duration.ofMinutes(1), 100);
+    private ClusterCacheInvalidation writer;
+
+    @BeforeEach
+    void setUp() {
+        writerCache = mock(Cache.class);
+        readerCache = mock(Cache.class);
+        // Two nodes subscribed to the same loopback bus
+        writer = new ClusterCacheInvalidation(busProvider(), entityManagerFactory(writerCache),
+                new MissingTeamCacheImpl(Duration.ofMinutes(1), 100));
+        new ClusterCacheInvalidation(busProvider(), entityManagerFactory(readerCache), readerMissingTeams);
+    }
+
+    @Test
+    void teamChange_evictsTeamRosterAndQueriesOnEveryNode() {
+        readerMissingTeams.markMissing(5L);
+
+        writer.onTeamChange(TeamChangeEvent.of(ChangeType.UPDATED, 5L, Map.of("name", "Lens")));
+
+        verify(readerCache).evictEntityData(Team.class, 5L);
+        verify(readerCache).evictCollectionData(Team.class.getName() + ".players", 5L);
+        verify(readerCache).evictQueryRegion("team.queries");
+        assertThat(readerMissingTeams.isMissing(5L)).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectProvider<ClusterInvalidationBus> busProvider() {
+        ObjectProvider<ClusterInvalidationBus> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(bus);
+        return provider;
+    }
+
+    private static EntityManagerFactory entityManagerFactory(Cache cache) {
+        EntityManagerFactory emf = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(emf.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        return emf;
+    }
+}
@@ -0,0 +1,120 @@
+package com.bnz.soccer.services;
+
+import com.bnz.soccer.data.config.JdbcFlightRecorderEvents;
+import com.bnz.soccer.resources.enums.FlightRecordingState;
+import com.bnz.soccer.resources.record.FlightRecordingStatus;
+import com.bnz.soccer.resources.record.FlightRecordingSummary;
+import com.bnz.soccer.services.impl.FlightRecordingServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightRecordingServiceTest {
+
+    private final FlightRecordingServiceImpl service;
+
+    FlightRecordingServiceTest() throws Exception {
+        service = new FlightRecordingServiceImpl(Duration.ofMinutes(1), Duration.ofMinutes(2), DataSize.ofMegabytes(50));
+    }
+
+    @AfterEach
+    void close() {
+        service.close();
+    }
+
+    @Test
+    void recording_summarizesApplicationFramesAndJdbcWork() {
+        FlightRecordingStatus started = service.start(null);
+        assertThat(started.state()).isEqualTo(FlightRecordingState.RUNNING);
+        assertThat(started.duration()).isEqualTo(Duration.ofMinutes(1));
+
+        long checksum = burn(Duration.ofMillis(1500));
+        JdbcFlightRecorderEvents.Listener session = new JdbcFlightRecorderEvents.Listener();
+        for (int i = 0; i < 3; i++) {
+            session.jdbcExecuteStatementStart();
+            session.jdbcExecuteStatementEnd();
+        }
+        session.jdbcExecuteBatchStart();
+        session.jdbcExecuteBatchEnd();
+
+        FlightRecordingStatus stopped = service.stop();
+
+        assertThat(checksum).isNotZero();
+        assertThat(stopped.state()).isEqualTo(FlightRecordingState.STOPPED);
+        assertThat(stopped.size()).isPositive();
+        FlightRecordingSummary summary = stopped.summary();
+        assertThat(summary.executionSamples()).isPositive();
+        assertThat(summary.hottestFrames())
+                .extracting(FlightRecordingSummary.Frame::frame)
+                .anyMatch(frame -> frame.startsWith(FlightRecordingServiceTest.class.getName() + ".burn"));
+        assertThat(summary.topAllocatingFrames()).isNotEmpty()
+                .allSatisfy(frame -> assertThat(frame.frame()).startsWith("com.bnz.soccer."));
+        assertThat(summary.jdbcExecutions()).isEqualTo(4);
+
+        Path file = service.recording(stopped.name()).orElseThrow();
+        assertThat(file).exists();
+        assertThat(service.recording("soccer-0")).isEmpty();
+    }
+
+    @Test
+    void recording_stopsItselfAfterItsDuration() throws InterruptedException {
+        service.start(Duration.ofMillis(500));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (service.status().state() == FlightRecordingState.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+
+        FlightRecordingStatus status = service.status();
+        assertThat(status.state()).isEqualTo(FlightRecordingState.STOPPED);
+        assertThat(service.recording(status.name())).isPresent();
+    }
+
+    @Test
+    void oneRecordingAtATime_andTheNextOneReplacesTheLast() {
+        String first = service.start(null).name();
+        assertThatThrownBy(() -> service.start(null)).isInstanceOf(IllegalStateException.class);
+        service.stop();
+        Path firstFile = service.recording(first).orElseThrow();
+        assertThatThrownBy(service::stop).isInstanceOf(IllegalStateException.class);
+
+        service.start(null);
+
+        assertThat(firstFile).doesNotExist();
+        assertThat(service.recording(first)).isEmpty();
+    }
+
+    @Test
+    void duration_isBounded() {
+        assertThatThrownBy(() -> service.start(Duration.ofMinutes(3))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.start(Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.status()).isEqualTo(FlightRecordingStatus.idle());
+    }
+
+    // CPU and allocations attributed to this class
+    private static long burn(Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long checksum = 0;
+        List<long[]> retained = new ArrayList<>();
+        while (System.nanoTime() < deadline) {
+            long[] values = new long[256];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (checksum ^ i) * 31 + i;
+                checksum += values[i];
+            }
+            retained.add(values);
+            if (retained.size() > 1000) {
+                retained.clear();
+            }
+        }
+        return checksum;
+    }
+}
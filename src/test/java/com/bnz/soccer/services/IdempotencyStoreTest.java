@@ -0,0 +1,106 @@
+package com.bnz.soccer.services;
+
+import com.bnz.soccer.services.impl.IdempotencyStoreImpl;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStoreImpl store = new IdempotencyStoreImpl(100, Duration.ofHours(1));
+
+    @Test
+    void concurrentRetries_runTheActionOnce_andAllGetItsResult() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<IdempotencyStore.IdempotentResult<Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> store.execute(key("key"), "request", () -> {
+                    await(release);
+                    return runs.incrementAndGet();
+                })));
+            }
+            release.countDown();
+
+            for (Future<IdempotencyStore.IdempotentResult<Integer>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).value()).isEqualTo(1);
+            }
+            assertThat(runs).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedAttempt_isNotStored_soTheRetryRunsAgain() {
+        assertThatThrownBy(() -> store.execute(key("key"), "request", () -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotencyStore.IdempotentResult<String> retry = store.execute(key("key"), "request", () -> "created");
+
+        assertThat(retry.value()).isEqualTo("created");
+        assertThat(retry.replayed()).isFalse();
+    }
+
+    @Test
+    void store_isBounded_oldestKeysEvictedFirst() {
+        IdempotencyStoreImpl small = new IdempotencyStoreImpl(2, Duration.ofHours(1));
+        small.execute(key("a"), "request", () -> 1);
+        small.execute(key("b"), "request", () -> 2);
+        small.execute(key("c"), "request", () -> 3);
+
+        assertThat(small.execute(key("a"), "request", () -> 4).replayed()).isFalse();
+        assertThat(small.execute(key("c"), "request", () -> 5).replayed()).isTrue();
+    }
+
+    @Test
+    void keyRetriedAfterAFailure_isEvictedByTheAgeOfItsStoredAttempt() {
+        IdempotencyStoreImpl small = new IdempotencyStoreImpl(2, Duration.ofHours(1));
+        assertThatThrownBy(() -> small.execute(key("a"), "request", () -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+        small.execute(key("b"), "request", () -> 1);
+        small.execute(key("a"), "request", () -> 2);
+        small.execute(key("c"), "request", () -> 3);
+
+        assertThat(small.execute(key("a"), "request", () -> 4).replayed()).isTrue();
+        assertThat(small.execute(key("b"), "request", () -> 5).replayed()).isFalse();
+    }
+
+    @Test
+    void sameKey_fromAnotherPrincipal_runsAgain() {
+        store.execute(new IdempotencyStore.Key("alice", "POST /api/teams", "key"), "request", () -> 1);
+
+        IdempotencyStore.IdempotentResult<Integer> other =
+                store.execute(new IdempotencyStore.Key("bob", "POST /api/teams", "key"), "request", () -> 2);
+
+        assertThat(other.value()).isEqualTo(2);
+        assertThat(other.replayed()).isFalse();
+    }
+
+    private static IdempotencyStore.Key key(String value) {
+        return new IdempotencyStore.Key("user", "POST /api/teams", value);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bnz.soccer.services;
+
+import com.bnz.soccer.resources.enums.ChangeType;
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.services.impl.MissingTeamCacheImpl;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MissingTeamCacheTest {
+
+    private final MissingTeamCacheImpl cache = new MissingTeamCacheImpl(Duration.ofMinutes(1), 2);
+
+    @Test
+    void markedId_isMissingUntilItsTeamIsWritten() {
+        cache.markMissing(7L);
+        assertThat(cache.isMissing(7L)).isTrue();
+
+        cache.onTeamChange(TeamChangeEvent.of(ChangeType.CREATED, 7L, Map.of()));
+
+        assertThat(cache.isMissing(7L)).isFalse();
+    }
+
+    @Test
+    void entries_expireAfterTtl() {
+        MissingTeamCacheImpl expired = new MissingTeamCacheImpl(Duration.ZERO, 2);
+        expired.markMissing(7L);
+
+        assertThat(expired.isMissing(7L)).isFalse();
+    }
+
+    @Test
+    void fullCache_ignoresNewIds() {
+        cache.markMissing(1L);
+        cache.markMissing(2L);
+        cache.markMissing(3L);
+
+        assertThat(cache.isMissing(3L)).isFalse();
+
+        cache.forget(List.of(1L));
+        cache.markMissing(3L);
+        assertThat(cache.isMissing(3L)).isTrue();
+    }
+}
@@ -0,0 +1,110 @@
+package com.bnz.soccer.services;
+
+import com.bnz.soccer.data.snapshot.LeagueSnapshot;
+import com.bnz.soccer.data.snapshot.LeagueSnapshotLoader;
+import com.bnz.soccer.exceptions.TeamNotFoundException;
+import com.bnz.soccer.resources.enums.ChangeType;
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.resources.record.TeamResponse;
+import com.bnz.soccer.services.impl.LoopbackInvalidationBus;
+import com.bnz.soccer.services.impl.SnapshotTeamService;
+import com.bnz.soccer.services.impl.TeamServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SnapshotTeamServiceTest {
+
+    private final TeamServiceImpl delegate = mock(TeamServiceImpl.class);
+    private final LeagueSnapshotLoader loader = mock(LeagueSnapshotLoader.class);
+    private final LoopbackInvalidationBus bus = new LoopbackInvalidationBus();
+    private SnapshotTeamService snapshotService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<ClusterInvalidationBus> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(bus);
+        snapshotService = new SnapshotTeamService(delegate, loader, provider);
+    }
+
+    private static LeagueSnapshot.Entry team(long id, String name) {
+        return new LeagueSnapshot.Entry(id, name, name.substring(0, 3).toUpperCase(), new BigDecimal("1000"), id,
+                new long[]{id * 10}, new String[]{"Player of " + name},
+                new byte[]{LeagueSnapshot.Entry.encode(Position.FORWARD)});
+    }
+
+    @Test
+    void beforeTheFirstLoad_readsGoToTheDatabase() {
+        snapshotService.findTeam(1L);
+
+        verify(delegate).findTeam(1L);
+    }
+
+    @Test
+    void afterLoad_readsAreServedFromMemory() {
+        when(loader.loadAll()).thenReturn(List.of(team(2, "Lille"), team(1, "Nantes")));
+        snapshotService.load();
+
+        TeamResponse lille = snapshotService.findTeam(2L);
+        Page<TeamResponse> page = snapshotService.findWithAllPlayers(0, 1, "name", "desc");
+
+        assertThat(lille.players()).singleElement()
+                .satisfies(player -> assertThat(player.position()).isEqualTo(Position.FORWARD));
+        assertThat(page.getContent()).extracting(TeamResponse::name).containsExactly("Nantes");
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(snapshotService.findTeams(List.of(1L, 7L, 2L))).extracting(TeamResponse::id).containsExactly(1L, 2L);
+        assertThatThrownBy(() -> snapshotService.findTeam(7L)).isInstanceOf(TeamNotFoundException.class);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void committedChange_reloadsOnlyTheChangedTeam() {
+        when(loader.loadAll()).thenReturn(List.of(team(1, "Nantes"), team(2, "Lille")));
+        snapshotService.load();
+        when(loader.load(List.of(1L))).thenReturn(List.of(team(1, "Nantes Atlantique")));
+        when(loader.load(List.of(2L))).thenReturn(List.of());
+
+        snapshotService.onTeamChange(TeamChangeEvent.of(ChangeType.UPDATED, 1L, Map.of()));
+        snapshotService.onTeamChange(TeamChangeEvent.of(ChangeType.DELETED, 2L, Map.of()));
+
+        assertThat(snapshotService.findTeam(1L).name()).isEqualTo("Nantes Atlantique");
+        assertThatThrownBy(() -> snapshotService.findTeam(2L)).isInstanceOf(TeamNotFoundException.class);
+        verify(loader, times(1)).loadAll();
+    }
+
+    @Test
+    void changeOnAnotherNode_reloadsTheTeam() {
+        when(loader.loadAll()).thenReturn(List.of());
+        snapshotService.load();
+        when(loader.load(any())).thenReturn(List.of(team(5, "Metz")));
+
+        bus.broadcast(List.of(5L));
+
+        assertThat(snapshotService.findTeam(5L).name()).isEqualTo("Metz");
+    }
+
+    @Test
+    void footprint_isReportedAsAGauge() {
+        when(loader.loadAll()).thenReturn(List.of(team(1, "Nantes")));
+        snapshotService.load();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        snapshotService.bindTo(registry);
+
+        assertThat(registry.get("soccer.snapshot.footprint").gauge().value()).isPositive();
+        assertThat(registry.get("soccer.snapshot.teams").gauge().value()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,105 @@
+package com.bnz.soccer.services;
+
+import com.bnz.soccer.controllers.TeamController;
+import com.bnz.soccer.controllers.validation.TeamRequestValidator;
+import com.bnz.soccer.resources.enums.ChangeType;
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.services.impl.IdempotencyStoreImpl;
+import com.bnz.soccer.services.impl.TeamChangeFeedImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class TeamChangeFeedTest {
+
+    private TeamChangeFeedImpl feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new TeamChangeFeedImpl(3, 1000);
+    }
+
+    private void publish(long teamId) {
+        feed.onTeamChange(TeamChangeEvent.of(ChangeType.UPDATED, teamId, Map.of("budget", teamId)));
+    }
+
+    @Test
+    void since_assignsMonotonicSequences_andResumesAfterGivenSequence() {
+        publish(10L);
+        publish(11L);
+
+        List<TeamChangeEvent> events = feed.since(1);
+
+        assertThat(events).extracting(TeamChangeEvent::sequence).containsExactly(2L);
+        assertThat(events.get(0).teamId()).isEqualTo(11L);
+        assertThat(feed.since(0)).hasSize(2);
+    }
+
+    @Test
+    void since_whenBufferWrapped_returnsOnlyRetainedEvents() {
+        for (long id = 1; id <= 5; id++) {
+            publish(id);
+        }
+
+        assertThat(feed.since(0))
+                .extracting(TeamChangeEvent::sequence)
+                .containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void since_withLatestSequence_returnsNothing() {
+        publish(1L);
+
+        assertThat(feed.since(1)).isEmpty();
+    }
+
+    @Test
+    void subscribe_withCursorFromBeforeARestart_receivesResetAndTheRetainedEvents() throws Exception {
+        publish(1L);
+        publish(2L);
+
+        String stream = subscribe("57");
+
+        assertThat(stream).startsWith("event:reset\ndata:{\"oldestSequence\":1}");
+        assertThat(stream).contains("id:1\n", "id:2\n");
+    }
+
+    @Test
+    void subscribe_withCursorInsideTheFeed_resumesWithoutReset() throws Exception {
+        publish(1L);
+        publish(2L);
+
+        String stream = subscribe("1");
+
+        assertThat(stream).doesNotContain("reset", "id:1\n").contains("id:2\n");
+    }
+
+    // The stream as sent once the dispatcher has caught the new subscriber up with the last change
+    private String subscribe(String lastEventId) throws Exception {
+        TeamController controller = new TeamController(Mockito.mock(TeamService.class), Mockito.mock(TeamIngestService.class),
+                feed, new IdempotencyStoreImpl(100, Duration.ofHours(1)), new TeamRequestValidator(),
+                Mockito.mock(TeamBatchService.class));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        MockHttpServletResponse response = mockMvc.perform(get("/api/teams/events").header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!response.getContentAsString().contains("id:2\n") && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        return response.getContentAsString();
+    }
+}
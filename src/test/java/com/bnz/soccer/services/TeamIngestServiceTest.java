@@ -0,0 +1,141 @@
+package com.bnz.soccer.services;
+
+import com.bnz.soccer.data.entity.Team;
+import com.bnz.soccer.data.mapper.PlayerMapperImpl;
+import com.bnz.soccer.data.mapper.TeamMapperImpl;
+import com.bnz.soccer.data.repository.TeamRepository;
+import com.bnz.soccer.exceptions.IngestQueueFullException;
+import com.bnz.soccer.exceptions.IngestTicketNotFoundException;
+import com.bnz.soccer.resources.enums.IngestStatus;
+import com.bnz.soccer.resources.enums.Position;
+import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.resources.record.TeamIngestTicket;
+import com.bnz.soccer.resources.record.TeamRequest;
+import com.bnz.soccer.services.impl.TeamIngestServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamIngestServiceTest {
+
+    @Mock
+    private TeamRepository teamRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TeamIngestServiceImpl ingestService;
+
+    @BeforeEach
+    void setUp() {
+        TeamMapperImpl teamMapper = new TeamMapperImpl();
+        ReflectionTestUtils.setField(teamMapper, "playerMapper", new PlayerMapperImpl());
+
+        ingestService = new TeamIngestServiceImpl(teamRepository, teamMapper, transactionManager, eventPublisher, 2, 10, 100);
+    }
+
+    private static TeamRequest request(String name) {
+        return new TeamRequest(name, name.substring(0, 2).toUpperCase(), new BigDecimal("1000000"),
+                List.of(new PlayerRequest("Player of " + name, Position.MIDFIELDER)));
+    }
+
+    @Test
+    void submit_queuesRequest_withoutTouchingDatabase() {
+        TeamIngestTicket ticket = ingestService.submit(request("Lille"));
+
+        assertThat(ticket.status()).isEqualTo(IngestStatus.QUEUED);
+        assertThat(ingestService.getStatus(ticket.trackingId()).status()).isEqualTo(IngestStatus.QUEUED);
+        verifyNoInteractions(teamRepository);
+    }
+
+    @Test
+    void submit_whenQueueIsFull_throwsQueueFull() {
+        ingestService.submit(request("Lille"));
+        ingestService.submit(request("Nantes"));
+
+        assertThatThrownBy(() -> ingestService.submit(request("Rennes")))
+                .isInstanceOf(IngestQueueFullException.class);
+    }
+
+    @Test
+    void submit_rejectedWhileQueueIsFull_leavesTicketStoreBounded() {
+        ingestService = new TeamIngestServiceImpl(teamRepository, new TeamMapperImpl(), transactionManager, eventPublisher, 2, 10, 2);
+        TeamIngestTicket lille = ingestService.submit(request("Lille"));
+        TeamIngestTicket nantes = ingestService.submit(request("Nantes"));
+
+        for (int i = 0; i < 50; i++) {
+            assertThatThrownBy(() -> ingestService.submit(request("Rennes")))
+                    .isInstanceOf(IngestQueueFullException.class);
+        }
+
+        assertThat((Collection<?>) ReflectionTestUtils.getField(ingestService, "ticketOrder")).hasSize(2);
+        assertThat(ingestService.getStatus(lille.trackingId()).status()).isEqualTo(IngestStatus.QUEUED);
+        assertThat(ingestService.getStatus(nantes.trackingId()).status()).isEqualTo(IngestStatus.QUEUED);
+    }
+
+    @Test
+    void drain_persistsQueuedTeamsInOneBatch_andCompletesTickets() {
+        AtomicLong ids = new AtomicLong();
+        when(teamRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Team> teams = inv.getArgument(0);
+            teams.forEach(t -> t.setId(ids.incrementAndGet()));
+            return teams;
+        });
+
+        TeamIngestTicket lille = ingestService.submit(request("Lille"));
+        TeamIngestTicket nantes = ingestService.submit(request("Nantes"));
+
+        assertThat(ingestService.drain()).isEqualTo(2);
+
+        verify(teamRepository, times(1)).saveAll(anyList());
+        assertThat(ingestService.getStatus(lille.trackingId()).teamId()).isEqualTo(1L);
+        assertThat(ingestService.getStatus(nantes.trackingId()).status()).isEqualTo(IngestStatus.COMPLETED);
+        verify(eventPublisher, times(2)).publishEvent(any(TeamChangeEvent.class));
+    }
+
+    @Test
+    void drain_whenBatchFails_isolatesFailingEntry() {
+        when(teamRepository.saveAll(anyList())).thenThrow(new IllegalStateException("constraint violation"));
+        when(teamRepository.save(any(Team.class))).thenAnswer(inv -> {
+            Team t = inv.getArgument(0);
+            if (t.getName().equals("Nantes")) {
+                throw new IllegalStateException("constraint violation");
+            }
+            t.setId(5L);
+            return t;
+        });
+
+        TeamIngestTicket lille = ingestService.submit(request("Lille"));
+        TeamIngestTicket nantes = ingestService.submit(request("Nantes"));
+
+        assertThat(ingestService.drain()).isEqualTo(1);
+
+        assertThat(ingestService.getStatus(lille.trackingId()).status()).isEqualTo(IngestStatus.COMPLETED);
+        assertThat(ingestService.getStatus(nantes.trackingId()).status()).isEqualTo(IngestStatus.FAILED);
+    }
+
+    @Test
+    void getStatus_withUnknownTrackingId_throwsNotFound() {
+        assertThatThrownBy(() -> ingestService.getStatus("unknown"))
+                .isInstanceOf(IngestTicketNotFoundException.class);
+    }
+}
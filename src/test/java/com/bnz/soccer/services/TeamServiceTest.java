@@ -1,26 +1,37 @@
 package com.bnz.soccer.services;
 
+import com.bnz.soccer.data.entity.Player;
 import com.bnz.soccer.data.entity.Team;
 import com.bnz.soccer.data.mapper.PlayerMapperImpl;
 import com.bnz.soccer.data.mapper.TeamMapper;
 import com.bnz.soccer.data.mapper.TeamMapperImpl;
 import com.bnz.soccer.data.repository.PlayerRepository;
 import com.bnz.soccer.data.repository.TeamRepository;
+import com.bnz.soccer.data.repository.TeamRevisionView;
+import com.bnz.soccer.exceptions.TeamAlreadyExistsException;
+import com.bnz.soccer.resources.enums.ChangeType;
 import com.bnz.soccer.resources.enums.Position;
 import com.bnz.soccer.resources.record.PlayerRequest;
+import com.bnz.soccer.resources.record.TeamChangeEvent;
+import com.bnz.soccer.resources.record.TeamChangesResponse;
+import com.bnz.soccer.resources.record.TeamPartialUpdateRequest;
 import com.bnz.soccer.resources.record.TeamRequest;
 import com.bnz.soccer.resources.record.TeamResponse;
+import com.bnz.soccer.services.impl.MissingTeamCacheImpl;
 import com.bnz.soccer.services.impl.TeamServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,6 +46,8 @@ class TeamServiceTest {
     private TeamRepository teamRepository;
     @Mock
     private PlayerRepository playerRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private TeamMapper teamMapper;
     private TeamServiceImpl teamService;
@@ -48,7 +61,8 @@ class TeamServiceTest {
 
         teamMapper = realTeamMapper;
 
-        teamService = new TeamServiceImpl(teamRepository, playerRepository, teamMapper);
+        teamService = new TeamServiceImpl(teamRepository, playerRepository, teamMapper, realPlayerMapper, eventPublisher,
+                new MissingTeamCacheImpl(Duration.ofMinutes(1), 100));
     }
 
     @Test
@@ -79,22 +93,15 @@ class TeamServiceTest {
 
 
     @Test
-    void addTeam_withEmptyName_throwsException() {
-        TeamRequest dto = new TeamRequest(
-                "",
-                "PSG",
-                new BigDecimal("800000000"),
-                null
-        );
+    void addTeam_withExistingAcronym_throwsAlreadyExists() {
+        when(teamRepository.existsByAcronym("PSG")).thenReturn(true);
 
-        assertThatThrownBy(() -> teamService.addTeam(dto))
-                .isInstanceOf(IllegalArgumentException.class)
-                .hasMessage("Every field is required");
+        assertThatThrownBy(() -> teamService.addTeam(new TeamRequest("Paris", "PSG", BigDecimal.TEN, List.of())))
+                .isInstanceOf(TeamAlreadyExistsException.class);
 
-        verifyNoInteractions(teamRepository);
+        verify(teamRepository, never()).save(any(Team.class));
     }
 
-
     @Test
     void addTeam_mapsDtoToEntity_andSaves() {
         TeamRequest dto = new TeamRequest(
@@ -119,6 +126,52 @@ class TeamServiceTest {
         verify(teamRepository).save(any(Team.class));
     }
 
+    @Test
+    void findTeams_loadsTeamsAndPlayersInTwoQueries_inRequestedOrder() {
+        Team psg = new Team();
+        psg.setId(1L);
+        psg.setName("PSG");
+        Team om = new Team();
+        om.setId(2L);
+        om.setName("OM");
+        Player payet = new Player();
+        payet.setName("Dimitri Payet");
+        payet.setPosition(Position.MIDFIELDER);
+        payet.setTeam(om);
+
+        when(teamRepository.findAllById(java.util.Set.of(2L, 9L, 1L))).thenReturn(List.of(psg, om));
+        when(playerRepository.findByTeamIdIn(any())).thenReturn(List.of(payet));
+
+        List<TeamResponse> result = teamService.findTeams(List.of(2L, 9L, 1L, 2L));
+
+        assertThat(result).extracting(TeamResponse::id).containsExactly(2L, 1L);
+        assertThat(result.get(0).players()).extracting(p -> p.name()).containsExactly("Dimitri Payet");
+        verify(playerRepository, times(1)).findByTeamIdIn(any());
+    }
+
+    @Test
+    void findTeam_withUnknownId_throwsNotFound() {
+        when(teamRepository.findAllById(any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> teamService.findTeam(9L))
+                .isInstanceOf(com.bnz.soccer.exceptions.TeamNotFoundException.class);
+    }
+
+    @Test
+    void findTeam_withRecentlyMissingId_skipsRepository() {
+        when(teamRepository.findAllById(any())).thenReturn(List.of());
+        assertThatThrownBy(() -> teamService.findTeam(9L))
+                .isInstanceOf(com.bnz.soccer.exceptions.TeamNotFoundException.class);
+
+        assertThatThrownBy(() -> teamService.updateTeamPartially(9L, new TeamPartialUpdateRequest("Lens", null)))
+                .isInstanceOf(com.bnz.soccer.exceptions.TeamNotFoundException.class);
+        assertThatThrownBy(() -> teamService.deleteTeam(9L))
+                .isInstanceOf(com.bnz.soccer.exceptions.TeamNotFoundException.class);
+
+        verify(teamRepository, times(1)).findAllById(any());
+        verifyNoMoreInteractions(teamRepository);
+    }
+
     @Test
     void filterTeams_withNameAndBudget_returnsFilteredPage() {
         Team t = new Team();
@@ -128,10 +181,10 @@ class TeamServiceTest {
                 any(PageRequest.class)
         )).thenReturn(new PageImpl<>(List.of(t)));
 
-        Page<Team> result = teamService.filterTeams("OM", BigDecimal.valueOf(10_000_000));
+        Page<TeamResponse> result = teamService.filterTeams("OM", BigDecimal.valueOf(10_000_000));
 
         assertThat(result.getContent()).hasSize(1);
-        assertThat(result.getContent().get(0).getName()).isEqualTo("OM");
+        assertThat(result.getContent().get(0).name()).isEqualTo("OM");
         verify(teamRepository).findAll(
                 ArgumentMatchers.<org.springframework.data.jpa.domain.Specification<Team>>any(),
                 any(Pageable.class)
@@ -155,6 +208,25 @@ class TeamServiceTest {
         assertThat(result.getBudget()).isEqualTo(BigDecimal.TEN);
     }
 
+    @Test
+    void updateTeamPartially_publishesOnlyChangedFields() {
+        Team existing = new Team();
+        existing.setId(1L);
+        existing.setName("Same Name");
+        existing.setBudget(BigDecimal.ONE);
+
+        when(teamRepository.findById(1L)).thenReturn(java.util.Optional.of(existing));
+        when(teamRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        teamService.updateTeamPartially(1L,
+                new com.bnz.soccer.resources.record.TeamPartialUpdateRequest("Same Name", BigDecimal.TEN));
+
+        ArgumentCaptor<TeamChangeEvent> event = ArgumentCaptor.forClass(TeamChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().type()).isEqualTo(ChangeType.UPDATED);
+        assertThat(event.getValue().changes()).containsOnlyKeys("budget");
+    }
+
     @Test
     void updateTeamPartially_withNonExistingTeam_throwsNotFound() {
         when(teamRepository.findById(99L)).thenReturn(java.util.Optional.empty());
@@ -171,19 +243,19 @@ class TeamServiceTest {
         existing.setId(1L);
         existing.setName("Old Name");
 
-        when(teamRepository.findById(1L)).thenReturn(java.util.Optional.of(existing));
+        when(teamRepository.lockAllByIdIn(List.of(1L))).thenReturn(List.of(existing));
         when(teamRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         TeamRequest dto = new TeamRequest("New Name", "NEW", BigDecimal.valueOf(1000), new ArrayList<>());
-        Team result = teamService.updateTeamFully(1L, dto);
+        TeamResponse result = teamService.updateTeamFully(1L, dto);
 
-        assertThat(result.getName()).isEqualTo("New Name");
-        assertThat(result.getAcronym()).isEqualTo("NEW");
+        assertThat(result.name()).isEqualTo("New Name");
+        assertThat(result.acronym()).isEqualTo("NEW");
     }
 
     @Test
     void updateTeamFully_withNonExistingTeam_throwsNotFound() {
-        when(teamRepository.findById(99L)).thenReturn(java.util.Optional.empty());
+        when(teamRepository.lockAllByIdIn(List.of(99L))).thenReturn(List.of());
 
         assertThatThrownBy(() ->
                 teamService.updateTeamFully(99L,
@@ -192,20 +264,134 @@ class TeamServiceTest {
     }
 
     @Test
-    void deleteTeam_withExistingId_deletesTeam() {
-        when(teamRepository.existsById(1L)).thenReturn(true);
+    void deleteTeam_withExistingId_softDeletesInOneStatement() {
+        when(teamRepository.softDeleteAllById(eq(List.of(1L)), any())).thenReturn(1);
 
         teamService.deleteTeam(1L);
 
-        verify(teamRepository).deleteById(1L);
+        verify(teamRepository).softDeleteAllById(eq(List.of(1L)), any());
+        verify(teamRepository, never()).existsById(any());
+        verify(teamRepository, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(any(TeamChangeEvent.class));
     }
 
     @Test
     void deleteTeam_withNonExistingId_throwsNotFound() {
-        when(teamRepository.existsById(1L)).thenReturn(false);
+        when(teamRepository.softDeleteAllById(eq(List.of(1L)), any())).thenReturn(0);
 
         assertThatThrownBy(() -> teamService.deleteTeam(1L))
                 .isInstanceOf(com.bnz.soccer.exceptions.TeamNotFoundException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteTeams_hard_issuesPlayerThenTeamDelete() {
+        when(teamRepository.findExistingIds(any())).thenReturn(List.of(1L, 2L));
+        when(teamRepository.deleteAllByIdIn(any())).thenReturn(2);
+
+        teamService.deleteTeams(List.of(1L, 2L, 2L), true);
+
+        var order = inOrder(teamRepository);
+        order.verify(teamRepository).recordDeletions(eq(java.util.Set.of(1L, 2L)), any());
+        order.verify(teamRepository).deletePlayersByTeamIds(java.util.Set.of(1L, 2L));
+        order.verify(teamRepository).deleteAllByIdIn(java.util.Set.of(1L, 2L));
+        verify(teamRepository, never()).deleteById(any());
+        verify(eventPublisher, times(2)).publishEvent(any(TeamChangeEvent.class));
+    }
+
+    @Test
+    void deleteTeams_soft_usesSingleUpdate() {
+        when(teamRepository.findExistingIds(any())).thenReturn(List.of(1L, 2L));
+        when(teamRepository.softDeleteAllById(eq(java.util.Set.of(1L, 2L)), any())).thenReturn(2);
+
+        teamService.deleteTeams(List.of(1L, 2L), false);
+
+        verify(teamRepository, never()).deletePlayersByTeamIds(any());
+        verify(teamRepository, never()).deleteAllByIdIn(any());
+    }
+
+    @Test
+    void deleteTeams_withUnknownId_writesNothing() {
+        when(teamRepository.findExistingIds(any())).thenReturn(List.of(1L));
+
+        assertThatThrownBy(() -> teamService.deleteTeams(List.of(1L, 9L), true))
+                .isInstanceOf(com.bnz.soccer.exceptions.TeamNotFoundException.class)
+                .hasMessageContaining("9");
+
+        verify(teamRepository, never()).deletePlayersByTeamIds(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteTeams_withTooManyIds_throwsIllegalArgument() {
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, 501).boxed().toList();
+
+        assertThatThrownBy(() -> teamService.deleteTeams(ids, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(teamRepository);
+    }
+
+    @Test
+    void purgeDeletedTeams_removesPlayersThenTeams() {
+        java.time.Instant cutoff = java.time.Instant.parse("2025-01-01T00:00:00Z");
+        when(teamRepository.purgeDeletedTeams(cutoff)).thenReturn(2);
+
+        assertThat(teamService.purgeDeletedTeams(cutoff)).isEqualTo(2);
+
+        var order = inOrder(teamRepository);
+        order.verify(teamRepository).purgePlayersOfDeletedTeams(cutoff);
+        order.verify(teamRepository).purgeDeletedTeams(cutoff);
+    }
+
+    private static TeamRevisionView revision(long id, long revision, boolean deleted) {
+        return new TeamRevisionView() {
+            public Long getId() { return id; }
+            public Long getRevision() { return revision; }
+            public Boolean getDeleted() { return deleted; }
+        };
+    }
+
+    @Test
+    void findChangesSince_returnsBodiesForLiveTeamsAndIdsForDeletedOnes() {
+        Team om = new Team();
+        om.setId(2L);
+        om.setName("OM");
+        om.setRevision(11L);
+        Team ol = new Team();
+        ol.setId(3L);
+        ol.setName("OL");
+        ol.setRevision(13L);
+        Player payet = new Player();
+        payet.setName("Dimitri Payet");
+        payet.setPosition(Position.MIDFIELDER);
+        payet.setTeam(om);
+
+        when(teamRepository.findRevisionsSince(10L, 101))
+                .thenReturn(List.of(revision(2L, 11L, false), revision(1L, 12L, true), revision(3L, 13L, false)));
+        when(teamRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(om, ol));
+        when(playerRepository.findByTeamIdIn(List.of(2L, 3L))).thenReturn(List.of(payet));
+
+        TeamChangesResponse result = teamService.findChangesSince(10L, 100);
+
+        assertThat(result.changes()).extracting(c -> c.teamId()).containsExactly(2L, 1L, 3L);
+        assertThat(result.changes().get(1).deleted()).isTrue();
+        assertThat(result.changes().get(1).team()).isNull();
+        assertThat(result.changes().get(0).team().players()).hasSize(1);
+        assertThat(result.changes().get(2).team().players()).isEmpty();
+        assertThat(result.nextSince()).isEqualTo(13L);
+        assertThat(result.hasMore()).isFalse();
+    }
+
+    @Test
+    void findChangesSince_withMoreChangesThanLimit_reportsHasMore() {
+        when(teamRepository.findRevisionsSince(0L, 2))
+                .thenReturn(List.of(revision(1L, 11L, true), revision(2L, 12L, true)));
+
+        TeamChangesResponse result = teamService.findChangesSince(0L, 1);
+
+        assertThat(result.changes()).hasSize(1);
+        assertThat(result.nextSince()).isEqualTo(11L);
+        assertThat(result.hasMore()).isTrue();
     }
 
     @org.junit.jupiter.params.ParameterizedTest
@@ -220,15 +406,23 @@ class TeamServiceTest {
         Page<Team> mockPage = new PageImpl<>(List.of(t));
         when(teamRepository.findAll(any(PageRequest.class))).thenReturn(mockPage);
 
-        Page<Team> result = teamService.findWithAllPlayers(page, size, sortBy, direction);
+        Page<TeamResponse> result = teamService.findWithAllPlayers(page, size, sortBy, direction);
 
         assertThat(result.getContent()).hasSize(1);
         verify(teamRepository).findAll(
-                PageRequest.of(page, size,
-                        direction.equalsIgnoreCase("desc")
-                                ? Sort.by(sortBy).descending()
-                                : Sort.by(sortBy).ascending())
+                PageRequest.of(page, size, Sort.by(
+                        direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC,
+                        sortBy, "id"))
         );
     }
 
+    @Test
+    void findWithAllPlayers_withUnknownSortField_throwsWithoutQuerying() {
+        assertThatThrownBy(() -> teamService.findWithAllPlayers(0, 10, "deletedAt", "asc"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("playerCount");
+
+        verifyNoInteractions(teamRepository);
+    }
+
 }